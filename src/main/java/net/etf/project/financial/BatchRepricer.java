@@ -0,0 +1,108 @@
+package net.etf.project.financial;
+
+import java.util.stream.IntStream;
+
+/**
+ * The BatchRepricer class prices many rentals at once from their {@link RentalColumns}, for example to see
+ * what the receipts of a month would have been with different prices, without running the simulation again.
+ * Every price is computed with the same arithmetic, in the same order, as {@link Receipt#calculateRentalPrice},
+ * so for the same {@link PricingEngine} the prices are exactly equal to the prices on the receipts.
+ * <p>
+ * The rentals are priced in one loop over the primitive columns. In parallel mode the columns are split into
+ * ranges of {@link #PARALLEL_RANGE_SIZE} rentals that are priced on the common fork-join pool; every range writes
+ * only its own part of the result, so the result does not depend on the mode.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class BatchRepricer
+{
+    /**
+     * The number of rentals priced by one task in parallel mode.
+     */
+    private static final int PARALLEL_RANGE_SIZE = 1 << 14;
+
+    /**
+     * The engine that holds the tariffs and the discount rates.
+     */
+    private final PricingEngine pricing;
+
+    /**
+     * Constructs a repricer that prices with the given engine.
+     *
+     * @param pricing the engine that holds the tariffs and the discount rates
+     */
+    public BatchRepricer(PricingEngine pricing)
+    {
+        this.pricing = pricing;
+    }
+
+    /**
+     * Prices all rentals of the columns.
+     *
+     * @param columns the columns of the rentals
+     * @param parallel {@code true} if the rentals should be priced on all available processors
+     * @return the final price of every rental in minor units, in the order of the columns
+     */
+    public long[] price(RentalColumns columns, boolean parallel)
+    {
+        long[] prices = new long[columns.size()];
+        if(parallel && columns.size() > PARALLEL_RANGE_SIZE)
+        {
+            int ranges = (columns.size() + PARALLEL_RANGE_SIZE - 1) / PARALLEL_RANGE_SIZE;
+            IntStream.range(0, ranges).parallel().forEach(range -> price(columns, prices, range * PARALLEL_RANGE_SIZE,
+                    Math.min(columns.size(), (range + 1) * PARALLEL_RANGE_SIZE)));
+        } else {
+            price(columns, prices, 0, columns.size());
+        }
+        return prices;
+    }
+
+    /**
+     * Prices the rentals of the columns in a range and writes the prices in minor units into the same range of an array.
+     *
+     * @param columns the columns of the rentals
+     * @param prices the array the prices are written to
+     * @param from the first rental of the range, inclusive
+     * @param to the last rental of the range, exclusive
+     */
+    public void price(RentalColumns columns, long[] prices, int from, int to)
+    {
+        byte[] types = columns.getTypes();
+        double[] durations = columns.getDurations();
+        boolean[] wideArea = columns.getWideArea();
+        boolean[] promotions = columns.getPromotions();
+        boolean[] malfunctions = columns.getMalfunctions();
+        int[] userRentalNumbers = columns.getUserRentalNumbers();
+
+        for(int i = from; i < to; i++)
+        {
+            long price = pricing.basePriceMinor(PricingEngine.tariffIndex(types[i], wideArea[i]), durations[i]);
+            if(userRentalNumbers[i] % 10 == 0)
+            {
+                price -= pricing.discountOf(price);
+            }
+            if(promotions[i])
+            {
+                price -= pricing.promotionOf(price);
+            }
+            prices[i] = malfunctions[i] ? 0 : price;
+        }
+    }
+
+    /**
+     * Adds up prices in minor units.
+     *
+     * @param prices the prices in minor units
+     * @return the sum of the prices in minor units
+     */
+    public static long total(long[] prices)
+    {
+        long total = 0;
+        for(long price : prices)
+        {
+            total += price;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,101 @@
+package net.etf.project.financial;
+
+import net.etf.project.gui.MainApplication;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * The FileReceiptStorage class stores every receipt as a separate text file in the receipt folder,
+ * named after the vehicle and the date and time of the rental. All files of a batch are written first,
+ * and only then forced to the disk.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class FileReceiptStorage implements ReceiptStorage
+{
+    /**
+     * The folder the receipt files are written to.
+     */
+    private final Path folder;
+
+    /**
+     * Constructs a storage for the given folder.
+     *
+     * @param folder the folder the receipt files are written to
+     */
+    public FileReceiptStorage(String folder)
+    {
+        this.folder = Paths.get(folder);
+    }
+
+    /**
+     * Writes every receipt of a batch to its own file and forces all files of the batch to the disk.
+     * A receipt that cannot be written is reported and the rest of the batch is still written.
+     *
+     * @param batch the receipts to store
+     */
+    @Override
+    public void store(List<Receipt> batch)
+    {
+        List<FileChannel> channels = new ArrayList<>(batch.size());
+        try {
+            for(Receipt receipt : batch)
+            {
+                ByteBuffer text = ByteBuffer.wrap(receipt.getReceiptText().getBytes(Charset.defaultCharset()));
+                try {
+                    FileChannel channel = FileChannel.open(folder.resolve(receipt.getFileName()),
+                            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                    channels.add(channel);
+                    while(text.hasRemaining())
+                    {
+                        channel.write(text);
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            for(FileChannel channel : channels)
+            {
+                try {
+                    channel.force(false);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            for(FileChannel channel : channels)
+            {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes all files in the receipt folder, one by one.
+     */
+    @Override
+    public void clear()
+    {
+        MainApplication.clearFolder(folder.toString());
+    }
+
+    /**
+     * Does nothing, because no file is kept open between batches.
+     */
+    @Override
+    public void close()
+    {
+    }
+}
@@ -0,0 +1,104 @@
+package net.etf.project.financial;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The Money class holds the helper methods for amounts of money, which are kept as a {@code long} number
+ * of minor units (cents) everywhere prices are stored or added up. Adding amounts is then exact integer
+ * addition, so a total over millions of receipts is the same in every order and matches the sum of the
+ * amounts printed on the receipts. Amounts are converted to decimal numbers only to be shown.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class Money
+{
+    /**
+     * The number of minor units in one unit of money.
+     */
+    public static final int MINOR_UNITS = 100;
+
+    /**
+     * The number of decimal places of an amount shown in units.
+     */
+    private static final int SCALE = 2;
+
+    /**
+     * How many units in the last place of a product are close enough to a half to be rounded exactly.
+     * The error of a double product of two decimal numbers is below two units in the last place.
+     */
+    private static final int TIE_ULPS = 4;
+
+    /**
+     * Converts an amount in units, such as a price computed from a tariff, to minor units,
+     * rounded half up to the nearest minor unit. The amount is taken as the decimal number it is printed as,
+     * so {@code 0.145} is 15 minor units, although the double closest to it is a little below.
+     *
+     * @param amount the amount in units
+     * @return the amount in minor units
+     */
+    public static long ofUnits(double amount)
+    {
+        double scaled = amount * MINOR_UNITS;
+        if(!isNearHalf(scaled))
+        {
+            return Math.round(scaled);
+        }
+        return BigDecimal.valueOf(amount).movePointRight(SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Returns a share of an amount, rounded half up to the nearest minor unit.
+     * The rate is taken as the decimal number it is printed as, so 35 percent of 90 is 32 minor units.
+     *
+     * @param amount the amount in minor units
+     * @param rate the share, for example 0.1 for ten percent
+     * @return the share of the amount in minor units
+     */
+    public static long share(long amount, double rate)
+    {
+        double product = amount * rate;
+        if(!isNearHalf(product))
+        {
+            return Math.round(product);
+        }
+        return BigDecimal.valueOf(amount).multiply(BigDecimal.valueOf(rate)).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Converts an amount in minor units to units, for showing it in a table.
+     *
+     * @param amount the amount in minor units
+     * @return the amount in units
+     */
+    public static double toUnits(long amount)
+    {
+        return (double) amount / MINOR_UNITS;
+    }
+
+    /**
+     * Formats an amount in minor units as a decimal number with two decimal places, for example {@code 12.50}.
+     *
+     * @param amount the amount in minor units
+     * @return the formatted amount
+     */
+    public static String format(long amount)
+    {
+        return BigDecimal.valueOf(amount, SCALE).toPlainString();
+    }
+
+    /**
+     * Checks whether a double product may be a decimal half that the rounding error of the product has moved.
+     * Other products round the same with {@link Math#round(double)} as exactly, so only these are rounded
+     * with {@link BigDecimal}, and pricing a large batch stays cheap.
+     *
+     * @param value the product
+     * @return {@code true} if the fraction of the value is within a few units in the last place of a half
+     */
+    private static boolean isNearHalf(double value)
+    {
+        double fraction = value - Math.floor(value);
+        return Math.abs(fraction - 0.5) <= TIE_ULPS * Math.ulp(value);
+    }
+}
@@ -0,0 +1,194 @@
+package net.etf.project.financial;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.vehicles.VehicleType;
+
+/**
+ * The PricingEngine class prices rentals from a tariff table that is built once from the configured prices.
+ * For every vehicle type and area of the city (narrow or wide, as given by the {@link net.etf.project.simulation.Zone}
+ * of the route) the table holds the unit price and the distance coefficient, next to each other in one flat array,
+ * so the base price of a rental is two array reads and two multiplications. Discounts are applied with the
+ * configured rates. The engine does no lookups and no I/O, and it is immutable and can be shared by all threads.
+ * <p>
+ * The base price is the unit price multiplied by the duration, then by the distance coefficient, rounded once
+ * to {@link Money minor units}. The discount for the tenth rental and then the promotion are computed from it
+ * in minor units, so the amounts on a receipt always add up exactly.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class PricingEngine
+{
+    /**
+     * The index of the narrow area in the tariff table.
+     */
+    public static final int NARROW_AREA = 0;
+
+    /**
+     * The index of the wide area in the tariff table.
+     */
+    public static final int WIDE_AREA = 1;
+
+    /**
+     * The number of areas in the tariff table.
+     */
+    private static final int AREAS = 2;
+
+    /**
+     * The number of values stored for every tariff: the unit price and the distance coefficient.
+     */
+    private static final int TARIFF_WIDTH = 2;
+
+    /**
+     * The tariff table; the tariff {@link #tariffIndex(VehicleType, boolean)} has the unit price
+     * at {@code TARIFF_WIDTH * index} and the distance coefficient right after it.
+     */
+    private final double[] tariffs;
+
+    /**
+     * The share of the price taken off the tenth rental of a user.
+     */
+    private final double discountRate;
+
+    /**
+     * The share of the price taken off a rental with a promotion.
+     */
+    private final double promotionRate;
+
+    /**
+     * Constructs an engine from the unit prices of the vehicle types and the distance coefficients of the areas.
+     *
+     * @param unitPrices the unit price of every vehicle type, indexed by {@link VehicleType#ordinal()}
+     * @param distanceNarrow the distance coefficient of the narrow area
+     * @param distanceWide the distance coefficient of the wide area
+     * @param discountRate the share of the price taken off the tenth rental of a user
+     * @param promotionRate the share of the price taken off a rental with a promotion
+     * @throws IllegalArgumentException if there is not one unit price for every vehicle type
+     */
+    public PricingEngine(double[] unitPrices, double distanceNarrow, double distanceWide, double discountRate, double promotionRate)
+    {
+        VehicleType[] types = VehicleType.values();
+        if(unitPrices.length != types.length)
+        {
+            throw new IllegalArgumentException("Expected " + types.length + " unit prices, got " + unitPrices.length);
+        }
+        this.tariffs = new double[types.length * AREAS * TARIFF_WIDTH];
+        for(VehicleType type : types)
+        {
+            for(int area = 0; area < AREAS; area++)
+            {
+                int index = (type.ordinal() * AREAS + area) * TARIFF_WIDTH;
+                tariffs[index] = unitPrices[type.ordinal()];
+                tariffs[index + 1] = area == WIDE_AREA ? distanceWide : distanceNarrow;
+            }
+        }
+        this.discountRate = discountRate;
+        this.promotionRate = promotionRate;
+    }
+
+    /**
+     * Builds an engine from the prices and discounts loaded from the properties file into {@link MainApplication}.
+     *
+     * @return the engine
+     */
+    public static PricingEngine fromConfiguration()
+    {
+        double[] unitPrices = new double[VehicleType.values().length];
+        unitPrices[VehicleType.CAR.ordinal()] = MainApplication.CAR_UNIT_PRICE;
+        unitPrices[VehicleType.BICYCLE.ordinal()] = MainApplication.BIKE_UNIT_PRICE;
+        unitPrices[VehicleType.SCOOTER.ordinal()] = MainApplication.SCOOTER_UNIT_PRICE;
+        return new PricingEngine(unitPrices, MainApplication.DISTANCE_NARROW, MainApplication.DISTANCE_WIDE,
+                MainApplication.DISCOUNT, MainApplication.DISCOUNT_PROM);
+    }
+
+    /**
+     * Returns the index of the tariff of a vehicle type in an area.
+     *
+     * @param type the type of the vehicle
+     * @param wideArea whether the route of the rental enters the wide area
+     * @return the index of the tariff
+     */
+    public static int tariffIndex(VehicleType type, boolean wideArea)
+    {
+        return tariffIndex(type.ordinal(), wideArea);
+    }
+
+    /**
+     * Returns the index of the tariff of a vehicle type, given by its ordinal, in an area.
+     *
+     * @param typeOrdinal the {@link VehicleType#ordinal()} of the type of the vehicle
+     * @param wideArea whether the route of the rental enters the wide area
+     * @return the index of the tariff
+     */
+    public static int tariffIndex(int typeOrdinal, boolean wideArea)
+    {
+        return typeOrdinal * AREAS + (wideArea ? WIDE_AREA : NARROW_AREA);
+    }
+
+    /**
+     * Returns the price of a rental before discounts: the unit price times the duration times the distance coefficient.
+     *
+     * @param tariffIndex the index of the tariff, see {@link #tariffIndex(VehicleType, boolean)}
+     * @param duration the duration of the rental in seconds
+     * @return the price before discounts
+     */
+    public double basePrice(int tariffIndex, double duration)
+    {
+        int index = tariffIndex * TARIFF_WIDTH;
+        return tariffs[index] * duration * tariffs[index + 1];
+    }
+
+    /**
+     * Returns the price of a rental before discounts in minor units, see {@link #basePrice(int, double)}.
+     *
+     * @param tariffIndex the index of the tariff, see {@link #tariffIndex(VehicleType, boolean)}
+     * @param duration the duration of the rental in seconds
+     * @return the price before discounts in minor units
+     */
+    public long basePriceMinor(int tariffIndex, double duration)
+    {
+        return Money.ofUnits(basePrice(tariffIndex, duration));
+    }
+
+    /**
+     * Returns the discount for the tenth rental of a user.
+     *
+     * @param price the price of the rental before the discount, in minor units
+     * @return the discount in minor units
+     */
+    public long discountOf(long price)
+    {
+        return Money.share(price, discountRate);
+    }
+
+    /**
+     * Returns the promotion discount of a rental.
+     *
+     * @param price the price of the rental before the promotion, in minor units
+     * @return the promotion discount in minor units
+     */
+    public long promotionOf(long price)
+    {
+        return Money.share(price, promotionRate);
+    }
+
+    /**
+     * Returns the share of the price taken off the tenth rental of a user.
+     *
+     * @return the discount rate
+     */
+    public double getDiscountRate()
+    {
+        return discountRate;
+    }
+
+    /**
+     * Returns the share of the price taken off a rental with a promotion.
+     *
+     * @return the promotion rate
+     */
+    public double getPromotionRate()
+    {
+        return promotionRate;
+    }
+}
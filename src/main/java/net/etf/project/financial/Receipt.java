@@ -1,17 +1,14 @@
 package net.etf.project.financial;
 
 import net.etf.project.model.rental.Rental;
-import net.etf.project.model.vehicles.Bicycle;
-import net.etf.project.model.vehicles.Car;
-import net.etf.project.model.vehicles.Scooter;
-import net.etf.project.model.vehicles.Vehicle;
+import net.etf.project.model.vehicles.VehicleType;
 import net.etf.project.gui.MainApplication;
+import net.etf.project.util.DateTimeUtils;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 
 /**
  * The Receipt class generates and stores financial information for a specific vehicle rental.
@@ -27,19 +24,19 @@ public class Receipt
     private Rental rental;
 
     /**
-     * The total price of the rental.
+     * The total price of the rental, in minor units.
      */
-    private double totalPrice;
+    private long totalPrice;
 
     /**
-     * The discount applied to the rental, if any.
+     * The discount applied to the rental, if any, in minor units.
      */
-    private double discount;
+    private long discount;
 
     /**
-     * The promotion applied to the rental, if any.
+     * The promotion applied to the rental, if any, in minor units.
      */
-    private double promotion;
+    private long promotion;
 
     /**
      * Indicates whether the rental took place in a wide area.
@@ -61,33 +58,15 @@ public class Receipt
     /**
      * Generates a text file representing the receipt with details about the rental, total price,
      * any discounts or promotions, and the area (wide or narrow) of the ride.
+     * The file is written on the calling thread; the simulation hands receipts to a {@link ReceiptWriter} instead.
      */
     public void generateReceipt()
     {
-        String formattedDateTime = new SimpleDateFormat("dd-MM-yyyy_HH-mm-ss").format(rental.getRentalDateTime());
-        String filePath = MainApplication.RECEIPT_FOLDER_PATH  + File.separator + "receipt_" + rental.getRentalVehicleId()+ "_" + formattedDateTime + ".txt";
+        String filePath = MainApplication.RECEIPT_FOLDER_PATH  + File.separator + getFileName();
 
         try(BufferedWriter writer = new BufferedWriter(new FileWriter(filePath)))
         {
-            writer.write("Receipt for rental:\n");
-            writer.write(rental.toString() + "\n");
-            writer.write("Total price: " + totalPrice + "\n");
-            if(inWideArea)
-            {
-                writer.write("Ride area: Wide area\n");
-            }
-            else
-            {
-                writer.write("Ride area: Narrow area\n");
-            }
-            if(rental.isHasDiscount())
-            {
-                writer.write("Discount applied : " + discount + " ( " +  (MainApplication.DISCOUNT * 100) + " % )\n");
-            }
-            if(rental.isHasPromotion())
-            {
-                writer.write("Promotion applied : " + promotion + " ( " + (MainApplication.DISCOUNT_PROM * 100) + " % )\n");
-            }
+            writer.write(getReceiptText());
         }catch(IOException e)
         {
             e.printStackTrace();
@@ -95,52 +74,79 @@ public class Receipt
     }
 
     /**
-     * Calculates the total price for the rental, including discounts, promotions, and area factors.
+     * Returns the name of the receipt file, made of the vehicle ID and the date and time of the rental.
      *
-     * @param rental The rental for which the price is calculated.
-     * @return The final rental price after applying any applicable discounts and promotions.
+     * @return The name of the receipt file.
      */
-    public double calculateRentalPrice(Rental rental)
+    public String getFileName()
     {
-        Vehicle vehicle = rental.findVehicleById();
-        if(vehicle == null)
-        {
-            throw new IllegalArgumentException("Vehicle with ID: " + rental.getRentalVehicleId() + " is not found.");
-        }
-        double unitPrice;
+        String formattedDateTime = DateTimeUtils.formatReceiptDateTime(rental.getRentalDateTime());
+        return "receipt_" + rental.getRentalVehicleId()+ "_" + formattedDateTime + ".txt";
+    }
 
-        if(vehicle instanceof Car)
+    /**
+     * Returns the text of the receipt with details about the rental, total price,
+     * any discounts or promotions, and the area (wide or narrow) of the ride.
+     *
+     * @return The text of the receipt.
+     */
+    public String getReceiptText()
+    {
+        StringBuilder text = new StringBuilder(256);
+        text.append("Receipt for rental:\n");
+        text.append(rental.toString()).append("\n");
+        text.append("Total price: ").append(Money.format(totalPrice)).append("\n");
+        if(inWideArea)
         {
-            unitPrice = MainApplication.CAR_UNIT_PRICE;
-        } else if (vehicle instanceof Bicycle)
+            text.append("Ride area: Wide area\n");
+        }
+        else
         {
-            unitPrice = MainApplication.BIKE_UNIT_PRICE;
-        } else if (vehicle instanceof Scooter)
+            text.append("Ride area: Narrow area\n");
+        }
+        if(rental.isHasDiscount())
         {
-            unitPrice = MainApplication.SCOOTER_UNIT_PRICE;
-        } else
+            text.append("Discount applied : ").append(Money.format(discount)).append(" ( ").append(MainApplication.DISCOUNT * 100).append(" % )\n");
+        }
+        if(rental.isHasPromotion())
         {
-            throw new IllegalArgumentException("Unknown vehicle type: " + vehicle.getClass());
+            text.append("Promotion applied : ").append(Money.format(promotion)).append(" ( ").append(MainApplication.DISCOUNT_PROM * 100).append(" % )\n");
         }
+        return text.toString();
+    }
 
-        double basePrice = unitPrice * rental.getRentalDuration();
-
-        double distanceFactor = rental.isInWideArea() ? MainApplication.DISTANCE_WIDE : MainApplication.DISTANCE_NARROW;
-
-        double finalPrice = basePrice * distanceFactor;
-
+    /**
+     * Calculates the total price for the rental, including discounts, promotions, and area factors.
+     * The tariff is read from the {@link MainApplication#pricingEngine}, and the discount for the tenth rental
+     * is based on the number of the rental the user was given when the rental was completed.
+     *
+     * All amounts are in minor units, see {@link Money}.
+     *
+     * @param rental The rental for which the price is calculated.
+     * @return The final rental price in minor units after applying any applicable discounts and promotions.
+     */
+    public long calculateRentalPrice(Rental rental)
+    {
+        VehicleType type = MainApplication.vehicleRegistry.getType(rental.getRentalVehicleId());
+        if(type == null)
+        {
+            throw new IllegalArgumentException("Vehicle with ID: " + rental.getRentalVehicleId() + " is not found.");
+        }
         if(rental.isHasMalfunction())
             return 0;
 
+        PricingEngine pricing = MainApplication.pricingEngine;
+        long finalPrice = pricing.basePriceMinor(PricingEngine.tariffIndex(type, rental.isInWideArea()), rental.getRentalDuration());
+
         if(rental.isTenthRental())
         {
-            discount = finalPrice * MainApplication.DISCOUNT;
+            discount = pricing.discountOf(finalPrice);
             finalPrice -= discount;
         }
 
         if(rental.isHasPromotion())
         {
-            promotion = finalPrice * MainApplication.DISCOUNT_PROM;
+            promotion = pricing.promotionOf(finalPrice);
             finalPrice -= promotion;
         }
         return finalPrice;
@@ -167,54 +173,54 @@ public class Receipt
     /**
      * Returns the total price of the rental.
      *
-     * @return The total price.
+     * @return The total price in minor units.
      */
-    public double getTotalPrice() {
+    public long getTotalPrice() {
         return totalPrice;
     }
 
     /**
      * Sets the total price of the rental.
      *
-     * @param totalPrice The total price to be set.
+     * @param totalPrice The total price in minor units to be set.
      */
-    public void setTotalPrice(double totalPrice) {
+    public void setTotalPrice(long totalPrice) {
         this.totalPrice = totalPrice;
     }
 
     /**
      * Returns the discount applied to the rental.
      *
-     * @return The discount amount.
+     * @return The discount amount in minor units.
      */
-    public double getDiscount() {
+    public long getDiscount() {
         return discount;
     }
 
     /**
      * Sets the discount amount for the rental.
      *
-     * @param discount The discount amount to be set.
+     * @param discount The discount amount in minor units to be set.
      */
-    public void setDiscount(double discount) {
+    public void setDiscount(long discount) {
         this.discount = discount;
     }
 
     /**
      * Returns the promotion applied to the rental.
      *
-     * @return The promotion amount.
+     * @return The promotion amount in minor units.
      */
-    public double getPromotion() {
+    public long getPromotion() {
         return promotion;
     }
 
     /**
      * Sets the promotion amount for the rental.
      *
-     * @param promotion The promotion amount to be set.
+     * @param promotion The promotion amount in minor units to be set.
      */
-    public void setPromotion(double promotion) {
+    public void setPromotion(long promotion) {
         this.promotion = promotion;
     }
 
@@ -0,0 +1,587 @@
+package net.etf.project.financial;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * The ReceiptJournal class stores receipts in a few large append-only segment files instead of one file per receipt.
+ * The text of every receipt is appended to the current segment, {@code receipts-NNNNN.seg}, and when a segment
+ * reaches its size limit a new one is started. The segments are plain text, the receipts one after another.
+ * <p>
+ * Next to every segment there is a compact index, {@code receipts-NNNNN.idx}, with one binary entry per receipt:
+ * the vehicle ID, the time of the rental, the user, and the offset and length of the receipt in the segment.
+ * The index is also kept in memory, so finding one receipt by vehicle and time, or all receipts of a user,
+ * needs no search on disk, and reading a receipt is a single positioned read. When the journal is opened,
+ * the index files of the existing segments are read back.
+ * <p>
+ * A batch is appended to the segment and forced to the disk before its index entries are written and forced,
+ * so an index entry never points to data that is not on the disk. If the application stops in the middle of a batch,
+ * the index can end with an incomplete entry and the segment with receipts that have no entry; when the journal is
+ * opened, both files are cut back to the last complete entry, so new receipts are appended right after it.
+ * Clearing the journal deletes a few segment files instead of every receipt file.
+ * <p>
+ * Receipts are written by one thread; finding and reading receipts is thread safe.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class ReceiptJournal implements ReceiptStorage
+{
+    /**
+     * The name prefix of segment and index files.
+     */
+    private static final String PREFIX = "receipts-";
+
+    /**
+     * The extension of segment files.
+     */
+    private static final String SEGMENT_EXTENSION = ".seg";
+
+    /**
+     * The extension of index files.
+     */
+    private static final String INDEX_EXTENSION = ".idx";
+
+    /**
+     * The position of one receipt in the journal.
+     */
+    private static final class Entry
+    {
+        /**
+         * The number of the segment.
+         */
+        final int segment;
+
+        /**
+         * The offset of the receipt in the segment, in bytes.
+         */
+        final long offset;
+
+        /**
+         * The length of the receipt, in bytes.
+         */
+        final int length;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param segment the number of the segment
+         * @param offset the offset of the receipt in the segment
+         * @param length the length of the receipt
+         */
+        Entry(int segment, long offset, int length)
+        {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * An input stream that counts the bytes read through it, so the end of the last complete index entry is known.
+     */
+    private static final class CountingInputStream extends FilterInputStream
+    {
+        /**
+         * The number of bytes read so far.
+         */
+        long count;
+
+        /**
+         * Constructs a counting stream over another stream.
+         *
+         * @param in the stream to read from
+         */
+        CountingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int b = super.read();
+            if(b >= 0)
+            {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            int read = super.read(b, off, len);
+            if(read > 0)
+            {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException
+        {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    /**
+     * The folder of the journal.
+     */
+    private final Path folder;
+
+    /**
+     * The size in bytes after which a new segment is started.
+     */
+    private final long maxSegmentSize;
+
+    /**
+     * The receipts by vehicle ID and rental time, see {@link #key(String, long)}.
+     */
+    private final Map<String, Entry> byRental = new HashMap<>();
+
+    /**
+     * The receipts of every user, in the order in which they were stored.
+     */
+    private final Map<String, List<Entry>> byUser = new HashMap<>();
+
+    /**
+     * The channels used to read the segments, opened when a segment is first read.
+     */
+    private final Map<Integer, FileChannel> readers = new HashMap<>();
+
+    /**
+     * The number of the segment receipts are appended to.
+     */
+    private int segment;
+
+    /**
+     * The size of the current segment in bytes.
+     */
+    private long segmentSize;
+
+    /**
+     * The channel receipts are appended to.
+     */
+    private FileChannel segmentChannel;
+
+    /**
+     * The channel index entries are appended to.
+     */
+    private FileChannel indexChannel;
+
+    /**
+     * Opens the journal in the given folder, reading the indexes of the existing segments.
+     * New receipts are appended to the last existing segment.
+     *
+     * @param folder the folder of the journal
+     * @param maxSegmentSize the size in bytes after which a new segment is started
+     * @throws IOException if the folder or the existing segments cannot be read
+     * @throws IllegalArgumentException if the segment size is not positive
+     */
+    public ReceiptJournal(String folder, long maxSegmentSize) throws IOException
+    {
+        if(maxSegmentSize <= 0)
+        {
+            throw new IllegalArgumentException("Segment size must be positive: " + maxSegmentSize);
+        }
+        this.folder = Paths.get(folder);
+        this.maxSegmentSize = maxSegmentSize;
+        Files.createDirectories(this.folder);
+        for(int existing : listSegments())
+        {
+            loadIndex(existing);
+            segment = existing;
+        }
+        openSegment(segment);
+    }
+
+    /**
+     * Appends a batch of receipts to the current segment, forces it to the disk,
+     * and then appends and forces the index entries of the batch.
+     *
+     * @param batch the receipts to store
+     * @throws IOException if the receipts cannot be written
+     */
+    @Override
+    public void store(List<Receipt> batch) throws IOException
+    {
+        byte[][] texts = new byte[batch.size()][];
+        long batchSize = 0;
+        for(int i = 0; i < texts.length; i++)
+        {
+            texts[i] = batch.get(i).getReceiptText().getBytes(Charset.defaultCharset());
+            batchSize += texts[i].length;
+        }
+        if(segmentSize > 0 && segmentSize + batchSize > maxSegmentSize)
+        {
+            closeSegment();
+            openSegment(segment + 1);
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((int) batchSize);
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream(texts.length * 48);
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        Entry[] entries = new Entry[texts.length];
+        long offset = segmentSize;
+        for(int i = 0; i < texts.length; i++)
+        {
+            Receipt receipt = batch.get(i);
+            data.put(texts[i]);
+            index.writeUTF(receipt.getRental().getRentalVehicleId());
+            index.writeLong(receipt.getRental().getRentalDateTime().getTime());
+            index.writeUTF(receipt.getRental().getUserName());
+            index.writeLong(offset);
+            index.writeInt(texts[i].length);
+            entries[i] = new Entry(segment, offset, texts[i].length);
+            offset += texts[i].length;
+        }
+
+        data.flip();
+        writeFully(segmentChannel, data);
+        segmentChannel.force(false);
+        writeFully(indexChannel, ByteBuffer.wrap(indexBytes.toByteArray()));
+        indexChannel.force(false);
+        segmentSize = offset;
+
+        synchronized (this)
+        {
+            for(int i = 0; i < entries.length; i++)
+            {
+                Receipt receipt = batch.get(i);
+                addEntry(receipt.getRental().getRentalVehicleId(), receipt.getRental().getRentalDateTime().getTime(),
+                        receipt.getRental().getUserName(), entries[i]);
+            }
+        }
+    }
+
+    /**
+     * Finds the receipt of a rental and reads it with one positioned read.
+     *
+     * @param vehicleId the ID of the rented vehicle
+     * @param rentalDateTime the date and time of the rental
+     * @return the text of the receipt, or null if there is no such receipt
+     * @throws IOException if the segment cannot be read
+     */
+    public String find(String vehicleId, Date rentalDateTime) throws IOException
+    {
+        Entry entry;
+        synchronized (this)
+        {
+            entry = byRental.get(key(vehicleId, rentalDateTime.getTime()));
+        }
+        return entry == null ? null : read(entry);
+    }
+
+    /**
+     * Reads all receipts of a user, in the order in which they were stored.
+     *
+     * @param userName the name of the user
+     * @return the texts of the receipts, empty if the user has none
+     * @throws IOException if a segment cannot be read
+     */
+    public List<String> findByUser(String userName) throws IOException
+    {
+        List<Entry> entries;
+        synchronized (this)
+        {
+            entries = new ArrayList<>(byUser.getOrDefault(userName, Collections.emptyList()));
+        }
+        List<String> receipts = new ArrayList<>(entries.size());
+        for(Entry entry : entries)
+        {
+            receipts.add(read(entry));
+        }
+        return receipts;
+    }
+
+    /**
+     * Returns the number of receipts in the journal. A later receipt of the same vehicle and time
+     * replaces the earlier one, as a later file with the same name does in the {@code files} storage.
+     *
+     * @return the number of receipts
+     */
+    public synchronized int size()
+    {
+        return byRental.size();
+    }
+
+    /**
+     * Returns the number of segments of the journal.
+     *
+     * @return the number of segments
+     */
+    public synchronized int getSegmentCount()
+    {
+        return segment + 1;
+    }
+
+    /**
+     * Drops all segments and their indexes and starts again with an empty first segment.
+     *
+     * @throws IOException if a segment cannot be deleted
+     */
+    @Override
+    public synchronized void clear() throws IOException
+    {
+        closeSegment();
+        closeReaders();
+        for(int existing : listSegments())
+        {
+            Files.deleteIfExists(segmentPath(existing));
+            Files.deleteIfExists(indexPath(existing));
+            System.out.println("Dropped receipt segment: " + segmentPath(existing).getFileName());
+        }
+        byRental.clear();
+        byUser.clear();
+        openSegment(0);
+    }
+
+    /**
+     * Closes the segment, the index and all reading channels.
+     *
+     * @throws IOException if a channel cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        closeSegment();
+        closeReaders();
+    }
+
+    /**
+     * Reads one receipt from its segment.
+     *
+     * @param entry the position of the receipt
+     * @return the text of the receipt
+     * @throws IOException if the segment cannot be read
+     */
+    private String read(Entry entry) throws IOException
+    {
+        FileChannel reader;
+        synchronized (this)
+        {
+            reader = readers.get(entry.segment);
+            if(reader == null)
+            {
+                reader = FileChannel.open(segmentPath(entry.segment), StandardOpenOption.READ);
+                readers.put(entry.segment, reader);
+            }
+        }
+        ByteBuffer text = ByteBuffer.allocate(entry.length);
+        long position = entry.offset;
+        while(text.hasRemaining())
+        {
+            int read = reader.read(text, position);
+            if(read < 0)
+            {
+                throw new EOFException("Receipt ends after the end of segment " + entry.segment + ".");
+            }
+            position += read;
+        }
+        return new String(text.array(), Charset.defaultCharset());
+    }
+
+    /**
+     * Reads the index of a segment into memory. An entry cut off at the end of the index is dropped from the index,
+     * and the bytes of the segment after the last indexed receipt are dropped from the segment, so the next
+     * entry and the next receipt are appended where the complete ones end.
+     *
+     * @param number the number of the segment
+     * @throws IOException if the index cannot be read or cut back
+     */
+    private void loadIndex(int number) throws IOException
+    {
+        Path path = indexPath(number);
+        long indexSize = 0;
+        long segmentEnd = 0;
+        if(Files.exists(path))
+        {
+            CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+            try(DataInputStream index = new DataInputStream(counter))
+            {
+                while(true)
+                {
+                    String vehicleId = index.readUTF();
+                    long time = index.readLong();
+                    String userName = index.readUTF();
+                    long offset = index.readLong();
+                    int length = index.readInt();
+                    addEntry(vehicleId, time, userName, new Entry(number, offset, length));
+                    indexSize = counter.count;
+                    segmentEnd = Math.max(segmentEnd, offset + length);
+                }
+            } catch (EOFException e) {
+                // end of the index, the bytes after indexSize are an incomplete entry
+            }
+        }
+        truncate(path, indexSize);
+        truncate(segmentPath(number), segmentEnd);
+    }
+
+    /**
+     * Cuts a file back to the given size if it is longer, and reports the dropped bytes.
+     *
+     * @param path the file
+     * @param size the size the file is cut back to
+     * @throws IOException if the file cannot be cut back
+     */
+    private static void truncate(Path path, long size) throws IOException
+    {
+        if(!Files.exists(path) || Files.size(path) <= size)
+        {
+            return;
+        }
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+        {
+            long dropped = channel.size() - size;
+            channel.truncate(size);
+            channel.force(false);
+            System.out.println("Dropped " + dropped + " bytes of an unfinished batch from " + path.getFileName() + ".");
+        }
+    }
+
+    /**
+     * Adds an entry to the in-memory index.
+     *
+     * @param vehicleId the ID of the rented vehicle
+     * @param time the time of the rental in milliseconds
+     * @param userName the name of the user
+     * @param entry the position of the receipt
+     */
+    private void addEntry(String vehicleId, long time, String userName, Entry entry)
+    {
+        byRental.put(key(vehicleId, time), entry);
+        byUser.computeIfAbsent(userName, user -> new ArrayList<>()).add(entry);
+    }
+
+    /**
+     * Opens a segment and its index for appending.
+     *
+     * @param number the number of the segment
+     * @throws IOException if the files cannot be opened
+     */
+    private void openSegment(int number) throws IOException
+    {
+        segment = number;
+        segmentChannel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        segmentSize = segmentChannel.size();
+        segmentChannel.position(segmentSize);
+        indexChannel = FileChannel.open(indexPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Closes the current segment and its index.
+     *
+     * @throws IOException if a channel cannot be closed
+     */
+    private void closeSegment() throws IOException
+    {
+        if(segmentChannel != null)
+        {
+            segmentChannel.close();
+            segmentChannel = null;
+        }
+        if(indexChannel != null)
+        {
+            indexChannel.close();
+            indexChannel = null;
+        }
+    }
+
+    /**
+     * Closes all reading channels.
+     *
+     * @throws IOException if a channel cannot be closed
+     */
+    private void closeReaders() throws IOException
+    {
+        for(FileChannel reader : readers.values())
+        {
+            reader.close();
+        }
+        readers.clear();
+    }
+
+    /**
+     * Returns the numbers of the existing segments in ascending order.
+     *
+     * @return the numbers of the segments
+     * @throws IOException if the folder cannot be listed
+     */
+    private List<Integer> listSegments() throws IOException
+    {
+        List<Integer> numbers = new ArrayList<>();
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(folder, PREFIX + "*" + SEGMENT_EXTENSION))
+        {
+            for(Path file : files)
+            {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Integer.parseInt(name.substring(PREFIX.length(), name.length() - SEGMENT_EXTENSION.length())));
+                } catch (NumberFormatException e) {
+                    System.out.println("Unexpected file in receipt folder: " + name + ". File is skipped.");
+                }
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    /**
+     * Returns the path of a segment file.
+     *
+     * @param number the number of the segment
+     * @return the path of the segment
+     */
+    private Path segmentPath(int number)
+    {
+        return folder.resolve(String.format("%s%05d%s", PREFIX, number, SEGMENT_EXTENSION));
+    }
+
+    /**
+     * Returns the path of an index file.
+     *
+     * @param number the number of the segment
+     * @return the path of the index
+     */
+    private Path indexPath(int number)
+    {
+        return folder.resolve(String.format("%s%05d%s", PREFIX, number, INDEX_EXTENSION));
+    }
+
+    /**
+     * Returns the key of a receipt in {@link #byRental}.
+     *
+     * @param vehicleId the ID of the rented vehicle
+     * @param time the time of the rental in milliseconds
+     * @return the key of the receipt
+     */
+    private static String key(String vehicleId, long time)
+    {
+        return vehicleId + '@' + time;
+    }
+
+    /**
+     * Writes the whole buffer to a channel.
+     *
+     * @param channel the channel to write to
+     * @param buffer the bytes to write
+     * @throws IOException if the bytes cannot be written
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package net.etf.project.financial;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The ReceiptStorage interface describes where the {@link ReceiptWriter} puts the receipts of completed rentals.
+ * A storage is chosen with {@link #create(String, String, long)}:
+ * <ul>
+ *     <li>{@code files} - every receipt is a separate text file in the receipt folder,</li>
+ *     <li>{@code journal} - receipts are appended to a few large segment files with an index, see {@link ReceiptJournal}.</li>
+ * </ul>
+ * A storage is used by the single writer thread, so implementations do not have to be thread safe for writing.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public interface ReceiptStorage
+{
+    /**
+     * Stores a batch of receipts and forces them to the disk before returning.
+     *
+     * @param batch the receipts to store
+     * @throws IOException if the receipts cannot be written
+     */
+    void store(List<Receipt> batch) throws IOException;
+
+    /**
+     * Deletes all stored receipts, so a new simulation starts with an empty storage.
+     *
+     * @throws IOException if the stored receipts cannot be deleted
+     */
+    void clear() throws IOException;
+
+    /**
+     * Releases the files held open by the storage.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    void close() throws IOException;
+
+    /**
+     * Creates a storage for the given storage mode.
+     *
+     * @param mode the storage mode, "files" or "journal"
+     * @param folder the folder the receipts are stored in
+     * @param segmentSize the largest size of a journal segment in bytes, used by the {@code journal} mode
+     * @return the storage
+     * @throws IOException if the journal cannot be opened
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    static ReceiptStorage create(String mode, String folder, long segmentSize) throws IOException
+    {
+        if("files".equalsIgnoreCase(mode))
+        {
+            return new FileReceiptStorage(folder);
+        }
+        if("journal".equalsIgnoreCase(mode))
+        {
+            return new ReceiptJournal(folder, segmentSize);
+        }
+        throw new IllegalArgumentException("Unknown receipt storage mode: " + mode);
+    }
+}
@@ -0,0 +1,206 @@
+package net.etf.project.financial;
+
+import java.util.*;
+
+/**
+ * The ReceiptStore class keeps the receipts of completed rentals in memory with indexes for the common queries:
+ * by user, by vehicle and by the time of the rental. Users and vehicles are found in a hash map, and the receipts
+ * of every user, of every vehicle and of the whole company are kept in maps sorted by the time of the rental.
+ * A query for a time range, such as all receipts of one user in June, finds the start of the range in
+ * logarithmic time and then reads only the receipts inside it.
+ * <p>
+ * Time ranges include the start and exclude the end. Receipts with the same rental time are returned in the order
+ * in which they were added. All methods are thread safe and return new lists.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class ReceiptStore
+{
+    /**
+     * All receipts by the time of the rental in milliseconds.
+     */
+    private final NavigableMap<Long, List<Receipt>> byTime = new TreeMap<>();
+
+    /**
+     * The receipts of every user by the time of the rental.
+     */
+    private final Map<String, NavigableMap<Long, List<Receipt>>> byUser = new HashMap<>();
+
+    /**
+     * The receipts of every vehicle by the time of the rental.
+     */
+    private final Map<String, NavigableMap<Long, List<Receipt>>> byVehicle = new HashMap<>();
+
+    /**
+     * The number of receipts in the store.
+     */
+    private int size;
+
+    /**
+     * Adds a receipt to the store and to all of its indexes.
+     *
+     * @param receipt the receipt to add
+     */
+    public synchronized void add(Receipt receipt)
+    {
+        long time = receipt.getRental().getRentalDateTime().getTime();
+        addTo(byTime, time, receipt);
+        addTo(byUser.computeIfAbsent(receipt.getRental().getUserName(), user -> new TreeMap<>()), time, receipt);
+        addTo(byVehicle.computeIfAbsent(receipt.getRental().getRentalVehicleId(), id -> new TreeMap<>()), time, receipt);
+        size++;
+    }
+
+    /**
+     * Returns the number of receipts in the store.
+     *
+     * @return the number of receipts
+     */
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns all receipts in the order of the rental time.
+     *
+     * @return all receipts
+     */
+    public synchronized List<Receipt> findAll()
+    {
+        return collect(byTime);
+    }
+
+    /**
+     * Returns the receipts of rentals in a time range, in the order of the rental time.
+     *
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @return the receipts in the range
+     */
+    public synchronized List<Receipt> findBetween(Date from, Date to)
+    {
+        return collect(range(byTime, from, to));
+    }
+
+    /**
+     * Returns all receipts of a user, in the order of the rental time.
+     *
+     * @param userName the name of the user
+     * @return the receipts of the user, empty if the user has none
+     */
+    public synchronized List<Receipt> findByUser(String userName)
+    {
+        return collect(byUser.get(userName));
+    }
+
+    /**
+     * Returns the receipts of a user in a time range, in the order of the rental time.
+     *
+     * @param userName the name of the user
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @return the receipts of the user in the range
+     */
+    public synchronized List<Receipt> findByUser(String userName, Date from, Date to)
+    {
+        return collect(range(byUser.get(userName), from, to));
+    }
+
+    /**
+     * Returns all receipts of a vehicle, in the order of the rental time.
+     *
+     * @param vehicleId the ID of the vehicle
+     * @return the receipts of the vehicle, empty if the vehicle has none
+     */
+    public synchronized List<Receipt> findByVehicle(String vehicleId)
+    {
+        return collect(byVehicle.get(vehicleId));
+    }
+
+    /**
+     * Returns the receipts of a vehicle in a time range, in the order of the rental time.
+     *
+     * @param vehicleId the ID of the vehicle
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @return the receipts of the vehicle in the range
+     */
+    public synchronized List<Receipt> findByVehicle(String vehicleId, Date from, Date to)
+    {
+        return collect(range(byVehicle.get(vehicleId), from, to));
+    }
+
+    /**
+     * Returns the names of all users with at least one receipt.
+     *
+     * @return the names of the users
+     */
+    public synchronized Set<String> getUsers()
+    {
+        return new HashSet<>(byUser.keySet());
+    }
+
+    /**
+     * Removes all receipts from the store.
+     */
+    public synchronized void clear()
+    {
+        byTime.clear();
+        byUser.clear();
+        byVehicle.clear();
+        size = 0;
+    }
+
+    /**
+     * Adds a receipt to a time index.
+     *
+     * @param index the index
+     * @param time the time of the rental in milliseconds
+     * @param receipt the receipt
+     */
+    private static void addTo(NavigableMap<Long, List<Receipt>> index, long time, Receipt receipt)
+    {
+        index.computeIfAbsent(time, t -> new ArrayList<>(1)).add(receipt);
+    }
+
+    /**
+     * Returns the part of a time index inside a range.
+     *
+     * @param index the index, or null
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @return the part of the index, or null if the index is null
+     */
+    private static NavigableMap<Long, List<Receipt>> range(NavigableMap<Long, List<Receipt>> index, Date from, Date to)
+    {
+        if(index == null)
+        {
+            return null;
+        }
+        if(from.getTime() >= to.getTime())
+        {
+            return Collections.emptyNavigableMap();
+        }
+        return index.subMap(from.getTime(), true, to.getTime(), false);
+    }
+
+    /**
+     * Copies the receipts of a time index into a new list, in the order of the rental time.
+     *
+     * @param index the index, or null
+     * @return the receipts, empty if the index is null
+     */
+    private static List<Receipt> collect(NavigableMap<Long, List<Receipt>> index)
+    {
+        List<Receipt> receipts = new ArrayList<>();
+        if(index != null)
+        {
+            for(List<Receipt> sameTime : index.values())
+            {
+                receipts.addAll(sameTime);
+            }
+        }
+        return receipts;
+    }
+}
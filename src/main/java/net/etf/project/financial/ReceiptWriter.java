@@ -0,0 +1,252 @@
+package net.etf.project.financial;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The ReceiptWriter class writes the receipts of completed rentals to a {@link ReceiptStorage} on its own thread,
+ * so the simulation threads never wait for the disk. Rental threads put receipts into a bounded queue;
+ * when the queue is full they wait until the writer catches up, so a slow disk slows the simulation down
+ * instead of using more and more memory.
+ * <p>
+ * The writer thread takes the receipts from the queue in batches and hands every batch to the storage,
+ * which writes the whole batch before forcing it to the disk.
+ * {@link #shutdown()} writes the receipts that are still in the queue before it returns. A receipt is either
+ * accepted before the writer is shut down and then written, or rejected with an exception, never lost in between.
+ * <p>
+ * While receipts are being written, the writer prints the number of receipts waiting in the queue every
+ * {@link #STATUS_INTERVAL} milliseconds, so a queue that keeps growing because the disk is too slow can be seen
+ * during the run and not only in the statistics printed at the end.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class ReceiptWriter
+{
+    /**
+     * How long the writer thread waits for a receipt before it checks whether it was shut down, in milliseconds.
+     */
+    private static final long POLL_TIMEOUT = 100;
+
+    /**
+     * How often the writer thread prints the depth of the queue while it is writing receipts, in milliseconds.
+     */
+    private static final long STATUS_INTERVAL = 5000;
+
+    /**
+     * The storage the receipts are written to.
+     */
+    private final ReceiptStorage storage;
+
+    /**
+     * The receipts waiting to be written.
+     */
+    private final BlockingQueue<Receipt> queue;
+
+    /**
+     * The largest number of receipts written in one batch.
+     */
+    private final int batchSize;
+
+    /**
+     * The thread that writes the receipts.
+     */
+    private final Thread writerThread;
+
+    /**
+     * Whether the writer still accepts receipts.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Submitting threads hold the read lock while they check {@link #running} and put a receipt into the queue,
+     * and {@link #shutdown()} takes the write lock to stop the writer, so no receipt is put into the queue
+     * after the writer thread has decided to stop.
+     */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    /**
+     * The number of receipts written so far.
+     */
+    private volatile long writtenReceipts;
+
+    /**
+     * The number of batches written so far.
+     */
+    private volatile long writtenBatches;
+
+    /**
+     * The largest number of receipts that were waiting in the queue at the same time.
+     */
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    /**
+     * Constructs a writer for the given storage and starts its thread.
+     *
+     * @param storage the storage the receipts are written to
+     * @param queueCapacity the largest number of receipts waiting to be written
+     * @param batchSize the largest number of receipts written in one batch
+     * @throws IllegalArgumentException if the queue capacity or the batch size is not positive
+     */
+    public ReceiptWriter(ReceiptStorage storage, int queueCapacity, int batchSize)
+    {
+        if(queueCapacity <= 0 || batchSize <= 0)
+        {
+            throw new IllegalArgumentException("Receipt queue capacity and batch size must be positive.");
+        }
+        this.storage = storage;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.writerThread = new Thread(this::writeReceipts, "receipt-writer");
+        this.writerThread.start();
+    }
+
+    /**
+     * Puts a receipt into the queue, waiting while the queue is full.
+     *
+     * @param receipt the receipt to write
+     * @throws IllegalStateException if the writer has been shut down
+     */
+    public void submit(Receipt receipt)
+    {
+        closeLock.readLock().lock();
+        try {
+            if(!running)
+            {
+                throw new IllegalStateException("Receipt writer has been shut down.");
+            }
+            queue.put(receipt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to write a receipt.", e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * Returns the number of receipts waiting to be written.
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth()
+    {
+        return queue.size();
+    }
+
+    /**
+     * Returns the largest number of receipts that were waiting to be written at the same time.
+     *
+     * @return the largest queue depth
+     */
+    public int getMaxQueueDepth()
+    {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Returns the number of receipts written so far.
+     *
+     * @return the number of written receipts
+     */
+    public long getWrittenReceipts()
+    {
+        return writtenReceipts;
+    }
+
+    /**
+     * Stops accepting receipts, waits until all receipts in the queue have been written, closes the storage
+     * and prints the statistics of the writer. Receipts submitted before this method is called are written;
+     * receipts submitted after it are rejected.
+     */
+    public void shutdown()
+    {
+        // Waits for the threads that are putting a receipt into the queue, a full queue is emptied by the writer thread
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The writer thread stops early only if it is interrupted; the receipts it left are written here
+        List<Receipt> batch = new ArrayList<>(batchSize);
+        while(queue.drainTo(batch, batchSize) > 0)
+        {
+            writeBatch(batch);
+        }
+        try {
+            storage.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        System.out.println("Receipt writer: " + writtenReceipts + " receipts in " + writtenBatches
+                + " batches, largest queue depth " + maxQueueDepth.get() + ".");
+    }
+
+    /**
+     * The loop of the writer thread: takes batches of receipts from the queue and writes them,
+     * until the writer is shut down and the queue is empty.
+     */
+    private void writeReceipts()
+    {
+        List<Receipt> batch = new ArrayList<>(batchSize);
+        long nextStatus = System.currentTimeMillis() + STATUS_INTERVAL;
+        long receiptsAtLastStatus = 0;
+        while(running || !queue.isEmpty())
+        {
+            try {
+                Receipt first = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if(first != null)
+                {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if(now >= nextStatus)
+            {
+                if(writtenReceipts != receiptsAtLastStatus || getQueueDepth() > 0)
+                {
+                    System.out.println("Receipt writer: " + getQueueDepth() + " of " + (getQueueDepth() + queue.remainingCapacity())
+                            + " receipts waiting, largest queue depth " + getMaxQueueDepth() + ", " + writtenReceipts + " written.");
+                    receiptsAtLastStatus = writtenReceipts;
+                }
+                nextStatus = now + STATUS_INTERVAL;
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of receipts to the storage and empties the batch.
+     *
+     * @param batch the receipts to write
+     */
+    private void writeBatch(List<Receipt> batch)
+    {
+        try {
+            storage.store(batch);
+            writtenReceipts += batch.size();
+            writtenBatches++;
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package net.etf.project.financial;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.rental.Rental;
+import net.etf.project.model.vehicles.VehicleType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The RentalColumns class holds everything the price of a rental depends on, for a list of rentals,
+ * as one primitive array per property: the vehicle type, the duration, whether the route enters the wide area,
+ * the promotion and malfunction flags and the number of the rental among the rentals of its user.
+ * The columns are extracted once and can then be priced again and again by a {@link BatchRepricer},
+ * for example with changed prices, without touching the rentals or the vehicles.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class RentalColumns
+{
+    /**
+     * The {@link VehicleType#ordinal()} of the vehicle of every rental.
+     */
+    private final byte[] types;
+
+    /**
+     * The duration of every rental in seconds.
+     */
+    private final double[] durations;
+
+    /**
+     * Whether the route of every rental enters the wide area.
+     */
+    private final boolean[] wideArea;
+
+    /**
+     * Whether every rental has a promotion.
+     */
+    private final boolean[] promotions;
+
+    /**
+     * Whether the vehicle of every rental had a malfunction.
+     */
+    private final boolean[] malfunctions;
+
+    /**
+     * The number of every rental among the rentals of its user, counted from 1.
+     */
+    private final int[] userRentalNumbers;
+
+    /**
+     * Constructs empty columns for the given number of rentals.
+     *
+     * @param size the number of rentals
+     */
+    private RentalColumns(int size)
+    {
+        this.types = new byte[size];
+        this.durations = new double[size];
+        this.wideArea = new boolean[size];
+        this.promotions = new boolean[size];
+        this.malfunctions = new boolean[size];
+        this.userRentalNumbers = new int[size];
+    }
+
+    /**
+     * Extracts the columns of a list of rentals. A rental that has been completed keeps the number it was
+     * given by the simulation; the rentals that have not been completed yet are numbered per user
+     * in the order of the list, which is the order in which the simulation would complete them.
+     *
+     * @param rentals the rentals, in the order of the rental time
+     * @return the columns of the rentals
+     * @throws IllegalArgumentException if the vehicle of a rental is not found
+     */
+    public static RentalColumns of(List<Rental> rentals)
+    {
+        RentalColumns columns = new RentalColumns(rentals.size());
+        Map<String, Integer> rentalsPerUser = new HashMap<>();
+        for(int i = 0; i < rentals.size(); i++)
+        {
+            Rental rental = rentals.get(i);
+            VehicleType type = MainApplication.vehicleRegistry.getType(rental.getRentalVehicleId());
+            if(type == null)
+            {
+                throw new IllegalArgumentException("Vehicle with ID: " + rental.getRentalVehicleId() + " is not found.");
+            }
+            int counted = rentalsPerUser.merge(rental.getUserName(), 1, Integer::sum);
+            columns.types[i] = (byte) type.ordinal();
+            columns.durations[i] = rental.getRentalDuration();
+            columns.wideArea[i] = rental.isInWideArea();
+            columns.promotions[i] = rental.isHasPromotion();
+            columns.malfunctions[i] = rental.isHasMalfunction();
+            columns.userRentalNumbers[i] = rental.getUserRentalNumber() != 0 ? rental.getUserRentalNumber() : counted;
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the number of rentals in the columns.
+     *
+     * @return the number of rentals
+     */
+    public int size()
+    {
+        return types.length;
+    }
+
+    /**
+     * Returns the column of vehicle types, as {@link VehicleType#ordinal()} values.
+     *
+     * @return the vehicle types
+     */
+    byte[] getTypes()
+    {
+        return types;
+    }
+
+    /**
+     * Returns the column of durations in seconds.
+     *
+     * @return the durations
+     */
+    double[] getDurations()
+    {
+        return durations;
+    }
+
+    /**
+     * Returns the column of wide area flags.
+     *
+     * @return the wide area flags
+     */
+    boolean[] getWideArea()
+    {
+        return wideArea;
+    }
+
+    /**
+     * Returns the column of promotion flags.
+     *
+     * @return the promotion flags
+     */
+    boolean[] getPromotions()
+    {
+        return promotions;
+    }
+
+    /**
+     * Returns the column of malfunction flags.
+     *
+     * @return the malfunction flags
+     */
+    boolean[] getMalfunctions()
+    {
+        return malfunctions;
+    }
+
+    /**
+     * Returns the column of the numbers of the rentals among the rentals of their users.
+     *
+     * @return the numbers of the rentals
+     */
+    int[] getUserRentalNumbers()
+    {
+        return userRentalNumbers;
+    }
+}
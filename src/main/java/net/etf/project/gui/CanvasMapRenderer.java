@@ -0,0 +1,520 @@
+package net.etf.project.gui;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import net.etf.project.model.vehicles.Vehicle;
+import net.etf.project.simulation.CityMap;
+
+import java.util.BitSet;
+
+/**
+ * The CanvasMapRenderer class draws the city map on a single Canvas, so the size of the scene graph
+ * does not depend on the size of the map. The canvas is a viewport on the map that can be zoomed with the mouse
+ * wheel and panned by dragging; a double click shows the whole map again. Only the fields in view are drawn,
+ * so the cost of drawing depends on the size of the canvas and not on the size of the map.
+ * <p>
+ * The level of detail depends on the zoom:
+ * <ul>
+ *     <li>when a field is at least {@link #MIN_LABEL_SIZE} pixels wide, vehicles are drawn with their labels,</li>
+ *     <li>when a field is at least {@link #MIN_FIELD_SIZE} pixels wide, fields are drawn in the color of the vehicle
+ *     or of the part of the city, without labels,</li>
+ *     <li>otherwise the map is drawn as tiles of several fields, shaded by the number of vehicles in the tile.</li>
+ * </ul>
+ * A changed field is repainted immediately when fields are drawn one by one; when the map is drawn as tiles,
+ * the tile is marked and repainted once by {@link #flush()}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class CanvasMapRenderer implements MapRenderer
+{
+    /**
+     * The smallest field width, in pixels, at which the vehicle labels are drawn.
+     */
+    private static final double MIN_LABEL_SIZE = 30;
+
+    /**
+     * The smallest field width, in pixels, at which the fields are drawn one by one.
+     */
+    private static final double MIN_FIELD_SIZE = 4;
+
+    /**
+     * The smallest field width, in pixels, at which the field borders are drawn.
+     */
+    private static final double MIN_BORDER_SIZE = 8;
+
+    /**
+     * The largest field width, in pixels, to which the map can be zoomed in.
+     */
+    private static final double MAX_FIELD_SIZE = 120;
+
+    /**
+     * The smallest width, in pixels, of a density tile.
+     */
+    private static final double MIN_TILE_SIZE = 8;
+
+    /**
+     * The factor by which one step of the mouse wheel zooms the map.
+     */
+    private static final double ZOOM_STEP = 1.25;
+
+    /**
+     * The number of vehicles at which a density tile is shaded with the full density color.
+     */
+    private static final int FULL_DENSITY = 16;
+
+    /**
+     * The color of a density tile with the highest density.
+     */
+    private static final Color DENSITY_COLOR = Color.DARKRED;
+
+    /**
+     * The font of the vehicle labels.
+     */
+    private static final Font LABEL_FONT = Font.font(10);
+
+    /**
+     * The canvas on which the map is drawn.
+     */
+    private final Canvas canvas;
+
+    /**
+     * The graphics context of the canvas.
+     */
+    private final GraphicsContext graphics;
+
+    /**
+     * The number of columns of the map.
+     */
+    private final int columns;
+
+    /**
+     * The number of rows of the map.
+     */
+    private final int rows;
+
+    /**
+     * The field width, in pixels, at which the whole map fits the canvas. It is the lowest zoom.
+     */
+    private final double fitScale;
+
+    /**
+     * The map from which the vehicles are read when the view is repainted, or null before the simulation starts.
+     */
+    private CityMap map;
+
+    /**
+     * The current width of a field in pixels.
+     */
+    private double scale;
+
+    /**
+     * The column, possibly fractional, shown at the left edge of the canvas.
+     */
+    private double originX;
+
+    /**
+     * The row, possibly fractional, shown at the top edge of the canvas.
+     */
+    private double originY;
+
+    /**
+     * The number of fields along each side of a density tile, a power of two.
+     */
+    private int tileFields;
+
+    /**
+     * The number of tiles along the y-axis, used to index the dirty tiles.
+     */
+    private int tileRows;
+
+    /**
+     * The tiles changed since the last flush, the tile (tx, ty) has the index {@code tx * tileRows + ty}.
+     */
+    private final BitSet dirtyTiles = new BitSet();
+
+    /**
+     * The mouse position, in pixels, at the previous drag event.
+     */
+    private double dragX;
+
+    /**
+     * The mouse position, in pixels, at the previous drag event.
+     */
+    private double dragY;
+
+    /**
+     * Creates the canvas, shows the whole map and installs the zoom and pan handlers.
+     *
+     * @param width the width of the canvas in pixels
+     * @param height the height of the canvas in pixels
+     * @param columns the number of columns of the map
+     * @param rows the number of rows of the map
+     */
+    public CanvasMapRenderer(double width, double height, int columns, int rows)
+    {
+        this.canvas = new Canvas(width, height);
+        this.graphics = canvas.getGraphicsContext2D();
+        this.columns = columns;
+        this.rows = rows;
+        this.fitScale = Math.min(width / columns, height / rows);
+
+        graphics.setFont(LABEL_FONT);
+        graphics.setTextAlign(TextAlignment.CENTER);
+        graphics.setTextBaseline(VPos.CENTER);
+
+        canvas.setOnScroll(this::zoom);
+        canvas.setOnMousePressed(this::startDrag);
+        canvas.setOnMouseDragged(this::drag);
+        canvas.setOnMouseClicked(event -> {
+            if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2) {
+                setView(fitScale, 0, 0);
+            }
+        });
+        setView(fitScale, 0, 0);
+    }
+
+    /**
+     * Returns the canvas on which the map is drawn, so it can be placed in the scene.
+     *
+     * @return the canvas
+     */
+    public Canvas getCanvas()
+    {
+        return canvas;
+    }
+
+    /**
+     * Sets the map from which vehicles are read when the view is zoomed or panned, and repaints the view.
+     *
+     * @param map the map of the simulation
+     */
+    @Override
+    public void attachMap(CityMap map)
+    {
+        this.map = map;
+        repaint();
+    }
+
+    /**
+     * Draws a vehicle on a field if the field is in view, or marks its tile when the map is drawn as tiles.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @param vehicleId the ID of the vehicle
+     * @param batteryPercentage the battery percentage of the vehicle
+     */
+    @Override
+    public void showVehicle(int x, int y, String vehicleId, double batteryPercentage)
+    {
+        if (!isInView(x, y)) {
+            return;
+        }
+        if (scale < MIN_FIELD_SIZE) {
+            markTile(x, y);
+            return;
+        }
+        paintVehicle(x, y, vehicleId, batteryPercentage);
+    }
+
+    /**
+     * Draws an empty field if the field is in view, or marks its tile when the map is drawn as tiles.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     */
+    @Override
+    public void clearField(int x, int y)
+    {
+        if (!isInView(x, y)) {
+            return;
+        }
+        if (scale < MIN_FIELD_SIZE) {
+            markTile(x, y);
+            return;
+        }
+        paintField(x, y, MapRenderer.fieldColor(x, y));
+    }
+
+    /**
+     * Repaints the density tiles that have changed since the last flush.
+     */
+    @Override
+    public void flush()
+    {
+        for (int index = dirtyTiles.nextSetBit(0); index >= 0; index = dirtyTiles.nextSetBit(index + 1)) {
+            paintTile(index / tileRows, index % tileRows);
+        }
+        dirtyTiles.clear();
+    }
+
+    /**
+     * Zooms the map around the mouse position by one step of the mouse wheel.
+     *
+     * @param event the scroll event
+     */
+    private void zoom(ScrollEvent event)
+    {
+        if (event.getDeltaY() == 0) {
+            return;
+        }
+        double newScale = event.getDeltaY() > 0 ? scale * ZOOM_STEP : scale / ZOOM_STEP;
+        newScale = Math.max(fitScale, Math.min(MAX_FIELD_SIZE, newScale));
+        // Keep the field under the mouse at the same position on the canvas
+        double fieldX = originX + event.getX() / scale;
+        double fieldY = originY + event.getY() / scale;
+        setView(newScale, fieldX - event.getX() / newScale, fieldY - event.getY() / newScale);
+        event.consume();
+    }
+
+    /**
+     * Remembers the mouse position at the start of a drag.
+     *
+     * @param event the mouse event
+     */
+    private void startDrag(MouseEvent event)
+    {
+        dragX = event.getX();
+        dragY = event.getY();
+    }
+
+    /**
+     * Pans the map by the distance the mouse moved since the previous drag event.
+     *
+     * @param event the mouse event
+     */
+    private void drag(MouseEvent event)
+    {
+        double dx = event.getX() - dragX;
+        double dy = event.getY() - dragY;
+        dragX = event.getX();
+        dragY = event.getY();
+        setView(scale, originX - dx / scale, originY - dy / scale);
+    }
+
+    /**
+     * Changes the zoom and the position of the view, keeping the view inside the map, and repaints it.
+     *
+     * @param newScale the new width of a field in pixels
+     * @param newOriginX the new column at the left edge of the canvas
+     * @param newOriginY the new row at the top edge of the canvas
+     */
+    private void setView(double newScale, double newOriginX, double newOriginY)
+    {
+        scale = newScale;
+        originX = clamp(newOriginX, columns - canvas.getWidth() / scale);
+        originY = clamp(newOriginY, rows - canvas.getHeight() / scale);
+
+        tileFields = 1;
+        while (tileFields * scale < MIN_TILE_SIZE) {
+            tileFields *= 2;
+        }
+        tileRows = (rows + tileFields - 1) / tileFields;
+        dirtyTiles.clear();
+        repaint();
+    }
+
+    /**
+     * Limits the position of the view to the range from 0 to the given maximum.
+     *
+     * @param value the position
+     * @param max the largest position at which the view is still inside the map
+     * @return the limited position
+     */
+    private static double clamp(double value, double max)
+    {
+        return Math.max(0, Math.min(value, Math.max(0, max)));
+    }
+
+    /**
+     * Repaints everything in view: fields one by one when zoomed in, or density tiles when zoomed out.
+     */
+    private void repaint()
+    {
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        int firstX = (int) originX;
+        int firstY = (int) originY;
+        int lastX = Math.min(columns - 1, (int) (originX + canvas.getWidth() / scale));
+        int lastY = Math.min(rows - 1, (int) (originY + canvas.getHeight() / scale));
+
+        if (scale < MIN_FIELD_SIZE) {
+            for (int tx = firstX / tileFields; tx <= lastX / tileFields; tx++) {
+                for (int ty = firstY / tileFields; ty <= lastY / tileFields; ty++) {
+                    paintTile(tx, ty);
+                }
+            }
+            return;
+        }
+
+        for (int x = firstX; x <= lastX; x++) {
+            for (int y = firstY; y <= lastY; y++) {
+                Vehicle vehicle = vehicleAt(x, y);
+                if (vehicle == null) {
+                    paintField(x, y, MapRenderer.fieldColor(x, y));
+                } else {
+                    paintVehicle(x, y, vehicle.getVehicleID(), vehicle.getCurrentBatteryLevel());
+                }
+            }
+        }
+    }
+
+    /**
+     * Paints a field with a vehicle and, if the field is large enough, the vehicle's label.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @param vehicleId the ID of the vehicle
+     * @param batteryPercentage the battery percentage of the vehicle
+     */
+    private void paintVehicle(int x, int y, String vehicleId, double batteryPercentage)
+    {
+        paintField(x, y, MapRenderer.vehicleColor(vehicleId));
+        if (scale >= MIN_LABEL_SIZE) {
+            graphics.setFill(Color.BLACK);
+            graphics.fillText(MapRenderer.vehicleLabel(vehicleId, batteryPercentage),
+                    screenX(x + 0.5), screenY(y + 0.5), scale);
+        }
+    }
+
+    /**
+     * Fills a field with a color and draws its border, if the field is large enough.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @param color the color of the field
+     */
+    private void paintField(int x, int y, Color color)
+    {
+        double left = screenX(x);
+        double top = screenY(y);
+        graphics.setFill(color);
+        graphics.fillRect(left, top, scale, scale);
+        if (scale >= MIN_BORDER_SIZE) {
+            graphics.setStroke(Color.BLACK);
+            graphics.strokeRect(left + 0.5, top + 0.5, scale - 1, scale - 1);
+        }
+    }
+
+    /**
+     * Paints a density tile: in the color of its part of the city if it is empty, otherwise shaded
+     * towards the density color by the number of vehicles in it.
+     *
+     * @param tileX the x-coordinate of the tile
+     * @param tileY the y-coordinate of the tile
+     */
+    private void paintTile(int tileX, int tileY)
+    {
+        int x = tileX * tileFields;
+        int y = tileY * tileFields;
+        Color color = MapRenderer.fieldColor(x, y);
+        int vehicles = countVehicles(x, y);
+        if (vehicles > 0) {
+            color = color.interpolate(DENSITY_COLOR, 0.25 + 0.75 * Math.min(1.0, (double) vehicles / FULL_DENSITY));
+        }
+        double size = tileFields * scale;
+        graphics.setFill(color);
+        graphics.fillRect(screenX(x), screenY(y), size, size);
+    }
+
+    /**
+     * Counts the vehicles in the tile that starts at the given field. Tiles of at least one block are counted
+     * from the block counts of the map, smaller tiles field by field.
+     *
+     * @param x the x-coordinate of the first field of the tile
+     * @param y the y-coordinate of the first field of the tile
+     * @return the number of vehicles in the tile
+     */
+    private int countVehicles(int x, int y)
+    {
+        if (map == null) {
+            return 0;
+        }
+        int vehicles = 0;
+        if (tileFields >= CityMap.BLOCK_SIZE) {
+            int blocks = tileFields / CityMap.BLOCK_SIZE;
+            int blockX = x / CityMap.BLOCK_SIZE;
+            int blockY = y / CityMap.BLOCK_SIZE;
+            for (int bx = blockX; bx < blockX + blocks; bx++) {
+                for (int by = blockY; by < blockY + blocks; by++) {
+                    vehicles += map.getBlockVehicleCount(bx, by);
+                }
+            }
+            return vehicles;
+        }
+        for (int fx = x; fx < Math.min(x + tileFields, map.getWidth()); fx++) {
+            for (int fy = y; fy < Math.min(y + tileFields, map.getHeight()); fy++) {
+                vehicles += map.getVehicleCount(fx, fy);
+            }
+        }
+        return vehicles;
+    }
+
+    /**
+     * Marks the tile that contains a field for repainting on the next flush.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     */
+    private void markTile(int x, int y)
+    {
+        dirtyTiles.set((x / tileFields) * tileRows + y / tileFields);
+    }
+
+    /**
+     * Returns the vehicle shown on a field of the map.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @return the vehicle on the field, or null if the field is empty or the map is not attached yet
+     */
+    private Vehicle vehicleAt(int x, int y)
+    {
+        if (map == null || x >= map.getWidth() || y >= map.getHeight()) {
+            return null;
+        }
+        return map.getVehicleAt(x, y);
+    }
+
+    /**
+     * Checks whether a field is on the map and at least partly in view.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @return {@code true} if the field is visible, {@code false} otherwise
+     */
+    private boolean isInView(int x, int y)
+    {
+        return x >= 0 && x < columns && y >= 0 && y < rows
+                && x + 1 > originX && x < originX + canvas.getWidth() / scale
+                && y + 1 > originY && y < originY + canvas.getHeight() / scale;
+    }
+
+    /**
+     * Converts a column to a horizontal position on the canvas.
+     *
+     * @param x the column, possibly fractional
+     * @return the position in pixels
+     */
+    private double screenX(double x)
+    {
+        return (x - originX) * scale;
+    }
+
+    /**
+     * Converts a row to a vertical position on the canvas.
+     *
+     * @param y the row, possibly fractional
+     * @return the position in pixels
+     */
+    private double screenY(double y)
+    {
+        return (y - originY) * scale;
+    }
+}
@@ -0,0 +1,115 @@
+package net.etf.project.gui;
+
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * The GridPaneMapRenderer class draws the city map with a StackPane containing a rectangle and a label
+ * for every field, placed in a GridPane. It is suitable for small maps; every field is a separate node
+ * of the scene graph.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class GridPaneMapRenderer implements MapRenderer
+{
+    /**
+     * The width of the rectangle of a field.
+     */
+    private static final double FIELD_WIDTH = 46;
+
+    /**
+     * The height of the rectangle of a field.
+     */
+    private static final double FIELD_HEIGHT = 34;
+
+    /**
+     * The fields of the map, indexed by column (x-coordinate) and row (y-coordinate), so that
+     * a field is found in constant time instead of by searching the children of the grid pane.
+     */
+    private final StackPane[][] cells;
+
+    /**
+     * Creates the fields of the map in the given grid pane, with a white (wide part of the city)
+     * or light gray (narrow part of the city) background and black border. The map has
+     * {@link MainApplication#MAP_WIDTH} columns and {@link MainApplication#MAP_HEIGHT} rows.
+     *
+     * @param gridPane the grid pane that holds the fields
+     */
+    public GridPaneMapRenderer(GridPane gridPane)
+    {
+        cells = new StackPane[MainApplication.MAP_WIDTH][MainApplication.MAP_HEIGHT];
+        for (int i = 0; i < MainApplication.MAP_HEIGHT; i++) {
+            for (int j = 0; j < MainApplication.MAP_WIDTH; j++) {
+                Rectangle rect = new Rectangle(FIELD_WIDTH, FIELD_HEIGHT);
+                rect.setFill(MapRenderer.fieldColor(j, i));
+                rect.setStroke(Color.BLACK);
+
+                Label label = new Label("");
+                label.setStyle("-fx-font-size: 10px;");
+
+                StackPane stackPane = new StackPane();
+                stackPane.getChildren().addAll(rect, label);
+
+                gridPane.add(stackPane, j, i);
+                cells[j][i] = stackPane;
+            }
+        }
+    }
+
+    /**
+     * Colors the rectangle of the field by the vehicle type and shows the vehicle's ID and battery percentage.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @param vehicleId the ID of the vehicle
+     * @param batteryPercentage the battery percentage of the vehicle
+     */
+    @Override
+    public void showVehicle(int x, int y, String vehicleId, double batteryPercentage)
+    {
+        StackPane stackPane = getStackPaneAt(x, y);
+        if (stackPane != null) {
+            Rectangle rect = (Rectangle) stackPane.getChildren().get(0);
+            Label label = (Label) stackPane.getChildren().get(1);
+            rect.setFill(MapRenderer.vehicleColor(vehicleId));
+            label.setText(MapRenderer.vehicleLabel(vehicleId, batteryPercentage));
+        }
+    }
+
+    /**
+     * Resets the rectangle of the field to the color of its part of the city and clears the label.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     */
+    @Override
+    public void clearField(int x, int y)
+    {
+        StackPane stackPane = getStackPaneAt(x, y);
+        if (stackPane != null) {
+            Rectangle rect = (Rectangle) stackPane.getChildren().get(0);
+            Label label = (Label) stackPane.getChildren().get(1);
+            rect.setFill(MapRenderer.fieldColor(x, y));
+            label.setText("");
+        }
+    }
+
+    /**
+     * Returns the StackPane at the specified grid coordinates.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @return the StackPane at the specified coordinates, or null if no such cell exists
+     */
+    private StackPane getStackPaneAt(int x, int y)
+    {
+        if (x < 0 || x >= cells.length || y < 0 || y >= cells[x].length) {
+            return null;
+        }
+        return cells[x][y];
+    }
+}
@@ -8,22 +8,40 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
+import net.etf.project.financial.PricingEngine;
 import net.etf.project.financial.Receipt;
+import net.etf.project.financial.ReceiptStorage;
+import net.etf.project.financial.ReceiptStore;
+import net.etf.project.financial.ReceiptWriter;
 import net.etf.project.model.rental.Rental;
 import net.etf.project.model.vehicles.Vehicle;
+import net.etf.project.model.vehicles.VehicleRegistry;
 import net.etf.project.serialization.VehicleSerializer;
 import net.etf.project.simulation.CityMap;
+import net.etf.project.simulation.DiscreteEventSimulation;
+import net.etf.project.simulation.LShapedRoutePlanner;
+import net.etf.project.simulation.PipelinedRentalScheduler;
+import net.etf.project.simulation.RealTimeClock;
+import net.etf.project.simulation.RentalExecutor;
+import net.etf.project.simulation.RouteCache;
+import net.etf.project.simulation.RoutePlanner;
+import net.etf.project.simulation.SimulationClock;
+import net.etf.project.simulation.ZoneMap;
 import net.etf.project.statistics.DailyReport;
 import net.etf.project.statistics.DailyReportsGenerator;
 import net.etf.project.statistics.SummaryReport;
 import net.etf.project.util.RentalLoader;
 import net.etf.project.util.VehicleLoader;
 import net.etf.project.util.VehicleUtils;
+import net.etf.project.util.ZoneLoader;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * The {@code MainApplication} class is the main entry point of the application.
@@ -41,9 +59,13 @@ public class MainApplication extends Application {
      */
     private static Stage primaryStage;
     /**
-     * A list of all vehicles available in the simulation.
+     * The registry of all vehicles available in the simulation, indexed by vehicle ID and type.
      */
-    public static List<Vehicle> vehicles = new ArrayList<Vehicle>();
+    public static VehicleRegistry vehicleRegistry = new VehicleRegistry();
+    /**
+     * A read-only list of all vehicles available in the simulation, backed by {@link #vehicleRegistry}.
+     */
+    public static List<Vehicle> vehicles = vehicleRegistry.getVehicles();
     /**
      * A list of vehicles that have recorded malfunctions.
      */
@@ -58,12 +80,17 @@ public class MainApplication extends Application {
     public static List<Rental> rentals = new ArrayList<>();
     /**
      * A map tracking the number of rentals per user, where the key is the username.
+     * Rentals of different users are completed concurrently, so the map is a concurrent map.
      */
-    public static Map<String, Integer> userRentals = new HashMap<>();
+    public static Map<String, Integer> userRentals = new ConcurrentHashMap<>();
     /**
      * A list of all generated receipts in the system.
      */
     public static List<Receipt> receipts = new ArrayList<>();
+    /**
+     * The receipts of all completed rentals, indexed by user, vehicle and rental time.
+     */
+    public static ReceiptStore receiptStore = new ReceiptStore();
     /**
      * A list of daily reports summarizing daily financial activities.
      */
@@ -72,6 +99,27 @@ public class MainApplication extends Application {
      * The map used for vehicle movement simulation, representing the city grid.
      */
     public static CityMap simulationMap;
+    /**
+     * The clock through which all waiting in the real-time simulation goes.
+     */
+    public static SimulationClock simulationClock = new RealTimeClock();
+    /**
+     * The division of the city map into zones, shared by pricing, rendering and statistics.
+     */
+    public static ZoneMap zoneMap;
+    /**
+     * The planner of the routes of the rentals, usually a {@link RouteCache} in front of the planner
+     * selected by {@link #ROUTE_PLANNER}.
+     */
+    public static RoutePlanner routePlanner = new LShapedRoutePlanner();
+    /**
+     * The engine that prices the rentals from the tariff table built from the configured prices and discounts.
+     */
+    public static PricingEngine pricingEngine;
+    /**
+     * The writer that writes the receipts of completed rentals to the receipt folder on its own thread.
+     */
+    public static ReceiptWriter receiptWriter;
     /**
      * The summary report containing financial statistics and performance metrics.
      */
@@ -86,10 +134,50 @@ public class MainApplication extends Application {
      * The file path to the data file containing rental information.
      */
     public static  String RENTAL_DATA_PATH;
+    /**
+     * The mode used for loading rentals, either "sequential" or "parallel".
+     */
+    public static String RENTAL_LOADING_MODE;
+    /**
+     * The mode used for simulating rentals, either "realtime" (one thread per rental, shown on the map)
+     * or "headless" (discrete-event simulation without waiting).
+     */
+    public static String SIMULATION_MODE;
+    /**
+     * The way rentals are executed in the real-time simulation, either "platform", "virtual" or "pooled".
+     */
+    public static String RENTAL_EXECUTION_MODE;
+    /**
+     * The way groups of rentals with the same date and time are scheduled in the real-time simulation, either
+     * "barrier" (a group starts 5 seconds after the previous group has finished) or "pipelined"
+     * (a group starts 5 seconds after the previous group has started).
+     */
+    public static String GROUP_SCHEDULING_MODE;
+    /**
+     * The initial speed multiplier of the simulation clock, from 1 to 1000.
+     */
+    public static double SIMULATION_SPEED;
     /**
      * The folder path where receipts are saved.
      */
     public static String RECEIPT_FOLDER_PATH;
+    /**
+     * The largest number of receipts waiting to be written by the receipt writer.
+     */
+    public static int RECEIPT_QUEUE_CAPACITY;
+    /**
+     * The largest number of receipts the receipt writer writes in one batch.
+     */
+    public static int RECEIPT_BATCH_SIZE;
+    /**
+     * The receipt storage, either "files" (one text file per receipt) or "journal"
+     * (append-only segment files with an index).
+     */
+    public static String RECEIPT_STORAGE_MODE;
+    /**
+     * The size in bytes after which the receipt journal starts a new segment.
+     */
+    public static long RECEIPT_SEGMENT_SIZE;
     /**
      * The width of the city map grid used in the simulation.
      */
@@ -98,6 +186,29 @@ public class MainApplication extends Application {
      * The height of the city map grid used in the simulation.
      */
     public static int MAP_HEIGHT;
+    /**
+     * The renderer used for the city map, either "gridpane" (one node per field, for small maps)
+     * or "canvas" (a single canvas, for large maps).
+     */
+    public static String MAP_RENDERER;
+    /**
+     * The thickness, in fields, of the wide area along each edge of the city map.
+     */
+    public static int WIDE_AREA_BORDER;
+    /**
+     * The path of the zone layout file, looked up as a resource of the application and then as a file.
+     * When it is empty or cannot be loaded, the wide area is the border of the map given by {@link #WIDE_AREA_BORDER}.
+     */
+    public static String ZONE_FILE_PATH;
+    /**
+     * The route planner, either "lshaped" (along the y-axis first and then along the x-axis)
+     * or "astar" (a shortest route around the blocked fields of the zone layout).
+     */
+    public static String ROUTE_PLANNER;
+    /**
+     * The largest number of routes kept in the route cache.
+     */
+    public static int ROUTE_CACHE_SIZE;
     /**
      * Coefficient specified for the narrow area in the city.
      */
@@ -191,9 +302,23 @@ public class MainApplication extends Application {
 
             VEHICLE_DATA_PATH = properties.getProperty("vehicleDataPath");
             RENTAL_DATA_PATH = properties.getProperty("rentalDataPath");
+            RENTAL_LOADING_MODE = properties.getProperty("rentalLoadingMode", "sequential");
+            SIMULATION_MODE = properties.getProperty("simulationMode", "realtime");
+            RENTAL_EXECUTION_MODE = properties.getProperty("rentalExecutionMode", "platform");
+            GROUP_SCHEDULING_MODE = properties.getProperty("groupSchedulingMode", "barrier");
+            SIMULATION_SPEED = Double.parseDouble(properties.getProperty("simulationSpeed", "1"));
             RECEIPT_FOLDER_PATH = properties.getProperty("receiptFolderPath");
+            RECEIPT_QUEUE_CAPACITY = Integer.parseInt(properties.getProperty("receiptQueueCapacity", "1024"));
+            RECEIPT_BATCH_SIZE = Integer.parseInt(properties.getProperty("receiptBatchSize", "64"));
+            RECEIPT_STORAGE_MODE = properties.getProperty("receiptStorageMode", "files");
+            RECEIPT_SEGMENT_SIZE = Long.parseLong(properties.getProperty("receiptSegmentSize", "67108864"));
             MAP_WIDTH = Integer.parseInt(properties.getProperty("mapWidth"));
             MAP_HEIGHT = Integer.parseInt(properties.getProperty("mapHeight"));
+            MAP_RENDERER = properties.getProperty("mapRenderer", "gridpane");
+            WIDE_AREA_BORDER = Integer.parseInt(properties.getProperty("wideAreaBorder", "5"));
+            ZONE_FILE_PATH = properties.getProperty("zoneFilePath", "");
+            ROUTE_PLANNER = properties.getProperty("routePlanner", "lshaped");
+            ROUTE_CACHE_SIZE = Integer.parseInt(properties.getProperty("routeCacheSize", "1024"));
             DISTANCE_NARROW = Integer.parseInt(properties.getProperty("DISTANCE_NARROW"));
             DISTANCE_WIDE = Integer.parseInt(properties.getProperty("DISTANCE_WIDE"));
             DISCOUNT = Double.parseDouble(properties.getProperty("DISCOUNT"));
@@ -220,9 +345,23 @@ public class MainApplication extends Application {
 
             System.out.println("Vehicle data path: " + VEHICLE_DATA_PATH);
             System.out.println("Rental data path: " + RENTAL_DATA_PATH);
+            System.out.println("Rental loading mode: " + RENTAL_LOADING_MODE);
+            System.out.println("Simulation mode: " + SIMULATION_MODE);
+            System.out.println("Rental execution mode: " + RENTAL_EXECUTION_MODE);
+            System.out.println("Group scheduling mode: " + GROUP_SCHEDULING_MODE);
+            System.out.println("Simulation speed: " + SIMULATION_SPEED);
             System.out.println("Receipt folder path: " + RECEIPT_FOLDER_PATH);
+            System.out.println("Receipt queue capacity: " + RECEIPT_QUEUE_CAPACITY);
+            System.out.println("Receipt batch size: " + RECEIPT_BATCH_SIZE);
+            System.out.println("Receipt storage mode: " + RECEIPT_STORAGE_MODE);
+            System.out.println("Receipt segment size: " + RECEIPT_SEGMENT_SIZE);
             System.out.println("Map width: " + MAP_WIDTH);
             System.out.println("Map height: " + MAP_HEIGHT);
+            System.out.println("Map renderer: " + MAP_RENDERER);
+            System.out.println("Wide area border: " + WIDE_AREA_BORDER);
+            System.out.println("Zone file path: " + ZONE_FILE_PATH);
+            System.out.println("Route planner: " + ROUTE_PLANNER);
+            System.out.println("Route cache size: " + ROUTE_CACHE_SIZE);
             System.out.println("Distance narrow: " + DISTANCE_NARROW);
             System.out.println("Distance wide: " + DISTANCE_WIDE);
             System.out.println("Discount: " + DISCOUNT);
@@ -243,18 +382,38 @@ public class MainApplication extends Application {
             System.out.println("Reports table fxml: " + REPORTS_TABLE_FXML);
             System.out.println("Deserialization table fxml: " + DESERIALIZATION_TABLE_FXML);
 
+            simulationClock.setSpeed(SIMULATION_SPEED);
+            if(!ZONE_FILE_PATH.isBlank()) {
+                zoneMap = ZoneLoader.loadZones(ZONE_FILE_PATH, MAP_WIDTH, MAP_HEIGHT);
+            }
+            if(zoneMap == null) {
+                zoneMap = ZoneMap.withWideBorder(MAP_WIDTH, MAP_HEIGHT, WIDE_AREA_BORDER);
+            }
+            System.out.println("Zones: " + zoneMap.getZones());
+            routePlanner = new RouteCache(RoutePlanner.create(ROUTE_PLANNER, zoneMap), ROUTE_CACHE_SIZE);
+            pricingEngine = PricingEngine.fromConfiguration();
+
             System.out.println();
             System.out.println("PREPARING FOLDERS FOR NEW SIMULATION");
             System.out.println("------------------------------------");
-            clearFolder(RECEIPT_FOLDER_PATH);
+            ReceiptStorage receiptStorage = ReceiptStorage.create(RECEIPT_STORAGE_MODE, RECEIPT_FOLDER_PATH, RECEIPT_SEGMENT_SIZE);
+            receiptStorage.clear();
             clearFolder(SERIALIZATION_FOLDER_PATH);
+            receiptWriter = new ReceiptWriter(receiptStorage, RECEIPT_QUEUE_CAPACITY, RECEIPT_BATCH_SIZE);
 
             System.out.println();
             System.out.println("PARSING INFORMATION");
             System.out.println("--------------------------------------------------------------------------------------------------------");
 
             VehicleLoader.loadVehicles();
-            RentalLoader.loadRentals();
+            if("parallel".equalsIgnoreCase(RENTAL_LOADING_MODE))
+            {
+                RentalLoader.loadRentalsParallel();
+            }
+            else
+            {
+                RentalLoader.loadRentals();
+            }
 
             System.out.println("--------------------------------------------------------------------------------------------------------");
 
@@ -306,11 +465,24 @@ public class MainApplication extends Application {
 
         // Initialize map controller
         MapController mapController = fxmlLoader.getController();
-        simulationMap = new CityMap(mapController);
+        simulationMap = new CityMap();
+        mapController.startMapUpdates(simulationMap);
 
         // Start the simulation on a new thread
         new Thread(() -> {
-            simulateRentals(mapController);
+            if("headless".equalsIgnoreCase(SIMULATION_MODE))
+            {
+                simulateRentalsHeadless(mapController);
+            }
+            else if("pipelined".equalsIgnoreCase(GROUP_SCHEDULING_MODE))
+            {
+                simulateRentalsPipelined(mapController);
+            }
+            else
+            {
+                simulateRentals(mapController);
+            }
+            receiptWriter.shutdown();
             summaryReport = new SummaryReport();
             summaryReport.generateSummaryReport();
             summaryReport.printSummaryReport();
@@ -342,54 +514,83 @@ public class MainApplication extends Application {
     }
 
     /**
-     * Simulates vehicle rentals by running each rental in its own thread.
+     * Simulates vehicle rentals by running each rental on the executor selected by {@link #RENTAL_EXECUTION_MODE}.
      * Rentals are simulated in chronological order, with a 5-second pause between
      * different rental periods.
      */
     public static void simulateRentals(MapController mapController) {
         mapController.disableMenuItems();
         Date currentDateTime = null;
-        List<Thread> activeThreads = new ArrayList<>();
+        RentalExecutor executor = RentalExecutor.create(RENTAL_EXECUTION_MODE);
+        List<Future<?>> activeRentals = new ArrayList<>();
 
         for (Rental rental : rentals) {
             // If the rental time has changed, pause the simulation for 5 seconds
             if (currentDateTime == null || !rental.getRentalDateTime().equals(currentDateTime)) {
                 if (currentDateTime != null) {
-                    // Wait for active threads to complete before continuing
-                    for(Thread thread : activeThreads)
-                    {
-                        try {
-                            thread.join();
-                        }catch (InterruptedException e)
-                        {
-                            e.printStackTrace();
-                        }
-                    }
-                    activeThreads.clear();
+                    // Wait for active rentals to complete before continuing
+                    awaitRentals(activeRentals);
 
                     System.out.println("Pausing for 5 seconds...");
                     try {
-                        Thread.sleep(5000);
+                        simulationClock.sleep(5000);
                     } catch (InterruptedException e) {
                         e.printStackTrace();
                     }
                 }
                 currentDateTime = rental.getRentalDateTime();
             }
-            // Start a new thread for each rental
-            Thread rentalThread = new Thread(rental);
-            activeThreads.add(rentalThread);
-            rentalThread.start();
+            activeRentals.add(executor.submit(rental));
         }
-        // Wait for all active threads to complete
-        for(Thread thread : activeThreads)
-        {
-            try{
-                thread.join();
-            }catch (InterruptedException e){
+        // Wait for all active rentals to complete
+        awaitRentals(activeRentals);
+        executor.shutdown();
+        mapController.enableMenuItems();
+        System.out.println("Simulation complete.");
+    }
+
+    /**
+     * Waits for the given rentals to complete and clears the list.
+     *
+     * @param activeRentals the futures of the rentals that are running
+     */
+    private static void awaitRentals(List<Future<?>> activeRentals) {
+        for (Future<?> rental : activeRentals) {
+            try {
+                rental.get();
+            } catch (InterruptedException | ExecutionException e) {
                 e.printStackTrace();
             }
         }
+        activeRentals.clear();
+    }
+
+    /**
+     * Simulates vehicle rentals on the executor selected by {@link #RENTAL_EXECUTION_MODE}, starting every group
+     * of rentals 5 seconds after the previous group has started, without waiting for it to finish.
+     * Rentals of the same user are completed in chronological order.
+     */
+    public static void simulateRentalsPipelined(MapController mapController) {
+        mapController.disableMenuItems();
+        RentalExecutor executor = RentalExecutor.create(RENTAL_EXECUTION_MODE);
+        try {
+            new PipelinedRentalScheduler(executor, simulationClock).run(rentals);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        executor.shutdown();
+        mapController.enableMenuItems();
+        System.out.println("Simulation complete.");
+    }
+
+    /**
+     * Simulates vehicle rentals with a discrete-event simulation that processes the steps of all rentals
+     * in simulated time, without pausing and without showing the vehicles on the map.
+     * The receipts, malfunctions and discounts are the same as in {@link #simulateRentals(MapController)}.
+     */
+    public static void simulateRentalsHeadless(MapController mapController) {
+        mapController.disableMenuItems();
+        new DiscreteEventSimulation().run(rentals);
         mapController.enableMenuItems();
         System.out.println("Simulation complete.");
     }
@@ -1,23 +1,22 @@
 package net.etf.project.gui;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.control.Label;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextInputDialog;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.GridPane;
-import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
+import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
-import net.etf.project.model.vehicles.Bicycle;
-import net.etf.project.model.vehicles.Car;
-import net.etf.project.model.vehicles.Scooter;
+import net.etf.project.model.vehicles.Vehicle;
+import net.etf.project.simulation.CityMap;
+import net.etf.project.simulation.SimulationClock;
 
 
 import java.io.File;
@@ -40,6 +39,11 @@ public class MapController {
     @FXML
     private GridPane gridPane;
 
+    /**
+     * The renderer that draws the fields of the map.
+     */
+    private MapRenderer renderer;
+
     /**
      * Menu item for accessing the deserialization view.
      * This option allows the user to view deserialized vehicles from binary files.
@@ -99,30 +103,121 @@ public class MapController {
     }
 
     /**
-     * Initializes the map by creating a grid of rectangles with a white(wide part of the city) or light gray(narrow part of the city) background and black border.
-     * Each grid cell is wrapped in a StackPane containing a rectangle and a label.
+     * Pauses the simulation clock, stopping all vehicles until the simulation is resumed.
      */
-    @FXML
-    public void initialize() {
+    public void pauseSimulation() {
+        MainApplication.simulationClock.pause();
+    }
+
+    /**
+     * Resumes the simulation clock after a pause.
+     */
+    public void resumeSimulation() {
+        MainApplication.simulationClock.resume();
+    }
+
+    /**
+     * Asks for a simulated time and moves the simulation clock forward to it, so everything that would happen
+     * until then happens at once. The time is given in seconds since the start of the simulation.
+     */
+    public void skipToTime() {
+        SimulationClock clock = MainApplication.simulationClock;
+        TextInputDialog dialog = new TextInputDialog(String.valueOf(clock.now() / 1000 + 60));
+        dialog.setTitle("Skip to time");
+        dialog.setHeaderText("Current simulated time: " + clock.now() / 1000 + " s");
+        dialog.setContentText("Skip to simulated time (seconds since start):");
+        dialog.showAndWait().ifPresent(text -> {
+            try {
+                long time = Math.round(Double.parseDouble(text.trim()) * 1000);
+                clock.skipTo(time);
+                System.out.println("Simulation skipped to " + clock.now() / 1000 + " s");
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid simulated time: " + text + ". Time is not changed.");
+            }
+        });
+    }
 
-        for (int i = 0; i < MainApplication.MAP_WIDTH; i++) {
-            for (int j = 0; j < MainApplication.MAP_HEIGHT; j++) {
-                Rectangle rect = new Rectangle(46,34 );
-                if ((i >= 0 && i <= 4 || i >= 15 && i <= 19) || (j >= 0 && j <= 4 || j >= 15 && j <= 19)) {
-                    rect.setFill(Color.WHITE);
-                } else {
-                    rect.setFill(Color.LIGHTGRAY);
-                }
-                rect.setStroke(Color.BLACK);
+    /**
+     * Makes the simulation ten times faster, up to the highest supported speed.
+     */
+    public void speedUpSimulation() {
+        changeSimulationSpeed(10);
+    }
 
-                Label label = new Label("");
-                label.setStyle("-fx-font-size: 10px;");
+    /**
+     * Makes the simulation ten times slower, down to real time.
+     */
+    public void slowDownSimulation() {
+        changeSimulationSpeed(0.1);
+    }
 
-                StackPane stackPane = new StackPane();
-                stackPane.getChildren().addAll(rect, label);
+    /**
+     * Multiplies the speed of the simulation clock by the given factor, keeping it in the supported range.
+     *
+     * @param factor the factor by which the speed is multiplied
+     */
+    private void changeSimulationSpeed(double factor) {
+        SimulationClock clock = MainApplication.simulationClock;
+        double speed = Math.round(clock.getSpeed() * factor);
+        clock.setSpeed(Math.max(SimulationClock.MIN_SPEED, Math.min(SimulationClock.MAX_SPEED, speed)));
+        System.out.println("Simulation speed: x" + clock.getSpeed());
+    }
 
-                gridPane.add(stackPane, j, i);
+    /**
+     * Initializes the map with the renderer selected by {@link MainApplication#MAP_RENDERER}. The default renderer creates
+     * a grid of rectangles with a white(wide part of the city) or light gray(narrow part of the city) background and black border,
+     * where each grid cell is wrapped in a StackPane containing a rectangle and a label. The canvas renderer draws the
+     * same map on a single zoomable and pannable canvas placed instead of the grid, which is suitable for large maps.
+     */
+    @FXML
+    public void initialize() {
+        int columns = MainApplication.MAP_WIDTH;
+        int rows = MainApplication.MAP_HEIGHT;
+        if ("canvas".equalsIgnoreCase(MainApplication.MAP_RENDERER)) {
+            CanvasMapRenderer canvasRenderer = new CanvasMapRenderer(gridPane.getPrefWidth(), gridPane.getPrefHeight(), columns, rows);
+            Canvas canvas = canvasRenderer.getCanvas();
+            canvas.setLayoutX(gridPane.getLayoutX());
+            canvas.setLayoutY(gridPane.getLayoutY());
+            Pane parent = (Pane) gridPane.getParent();
+            parent.getChildren().set(parent.getChildren().indexOf(gridPane), canvas);
+            renderer = canvasRenderer;
+        } else {
+            renderer = new GridPaneMapRenderer(gridPane);
+        }
+    }
+
+    /**
+     * Starts redrawing the fields of the given map that have changed, once per frame.
+     * All changes made to a field between two frames are drawn together, so the number of GUI updates
+     * does not grow with the number of vehicles moving on the map.
+     *
+     * @param map the map whose changes are drawn
+     */
+    public void startMapUpdates(CityMap map) {
+        renderer.attachMap(map);
+        AnimationTimer mapUpdateTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                map.drainUpdates((x, y) -> showField(map, x, y));
+                renderer.flush();
             }
+        };
+        mapUpdateTimer.start();
+    }
+
+    /**
+     * Draws a field of the map with the vehicle that is currently on it, or as an empty field.
+     *
+     * @param map the map
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     */
+    private void showField(CityMap map, int x, int y) {
+        Vehicle vehicle = map.getVehicleAt(x, y);
+        if (vehicle == null) {
+            removeVehicleFromField(x, y);
+        } else {
+            addVehicleToField(x, y, vehicle.getVehicleID(), vehicle.getCurrentBatteryLevel());
         }
     }
 
@@ -136,28 +231,7 @@ public class MapController {
      * @param batteryPercentage the battery percentage of the vehicle
      */
     public void addVehicleToField(int x, int y, String vehicleId, double batteryPercentage) {
-        StackPane stackPane = getStackPaneAt(x, y);
-        if (stackPane != null) {
-            Rectangle rect = (Rectangle) stackPane.getChildren().get(0);
-            Label label = (Label) stackPane.getChildren().get(1);
-
-            Object vehicle = MainApplication.vehicles.stream()
-                    .filter(v -> v.getVehicleID().equals(vehicleId))
-                    .findFirst()
-                    .orElse(null);
-
-            if (vehicle instanceof Car) {
-                rect.setFill(Color.LIGHTSKYBLUE);
-            } else if (vehicle instanceof Bicycle) {
-                rect.setFill(Color.LIGHTGREEN);
-            } else if (vehicle instanceof Scooter) {
-                rect.setFill(Color.LIGHTCORAL);
-            } else {
-                rect.setFill(Color.GRAY);
-            }
-            String formattedBattery = String.format("%.1f", batteryPercentage);
-            label.setText(vehicleId + " (" + formattedBattery + "%)");
-        }
+        renderer.showVehicle(x, y, vehicleId, batteryPercentage);
     }
 
     /**
@@ -168,34 +242,7 @@ public class MapController {
      * @param y the y-coordinate of the cell
      */
     public void removeVehicleFromField(int x, int y) {
-        StackPane stackPane = getStackPaneAt(x, y);
-        if (stackPane != null) {
-            Rectangle rect = (Rectangle) stackPane.getChildren().get(0);
-            Label label = (Label) stackPane.getChildren().get(1);
-            if ((x >= 0 && x <= 4 || x >= 15 && x <= 19) || (y >= 0 && y <= 4 || y >= 15 && y <= 19)) {
-                rect.setFill(Color.WHITE);
-            } else {
-                rect.setFill(Color.LIGHTGRAY);
-            }
-            label.setText("");
-        }
-    }
-
-    /**
-     * Returns the StackPane at the specified grid coordinates.
-     *
-     * @param x the x-coordinate of the cell
-     * @param y the y-coordinate of the cell
-     * @return the StackPane at the specified coordinates, or null if no such cell exists
-     */
-    private StackPane getStackPaneAt(int x, int y)
-    {
-        for (Node node : gridPane.getChildren()) {
-            if (GridPane.getColumnIndex(node) == x && GridPane.getRowIndex(node) == y) {
-                return (StackPane) node;
-            }
-        }
-        return null;
+        renderer.clearField(x, y);
     }
 
     /**
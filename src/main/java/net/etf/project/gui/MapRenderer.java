@@ -0,0 +1,100 @@
+package net.etf.project.gui;
+
+import javafx.scene.paint.Color;
+import net.etf.project.model.vehicles.VehicleType;
+import net.etf.project.simulation.CityMap;
+
+/**
+ * The MapRenderer interface draws the fields of the city map. The MapController decides which fields have changed
+ * and the renderer draws them, either with one scene-graph node per field ({@link GridPaneMapRenderer})
+ * or on a single canvas ({@link CanvasMapRenderer}). The renderer is selected with the {@code mapRenderer}
+ * property. Fields are addressed by column (x-coordinate) and row (y-coordinate).
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public interface MapRenderer
+{
+    /**
+     * Draws a vehicle on a field, with its ID and battery percentage and the color of its type.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @param vehicleId the ID of the vehicle
+     * @param batteryPercentage the battery percentage of the vehicle
+     */
+    void showVehicle(int x, int y, String vehicleId, double batteryPercentage);
+
+    /**
+     * Draws a field without a vehicle, in the color of its part of the city.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     */
+    void clearField(int x, int y);
+
+    /**
+     * Gives the renderer access to the map of the simulation, for renderers that redraw fields on their own,
+     * for example when the view is zoomed or panned. The default implementation does nothing.
+     *
+     * @param map the map of the simulation
+     */
+    default void attachMap(CityMap map)
+    {
+    }
+
+    /**
+     * Finishes drawing the changes of one frame, after all changed fields have been passed to the renderer.
+     * The default implementation does nothing.
+     */
+    default void flush()
+    {
+    }
+
+    /**
+     * Returns the background color of an empty field: white for the wide part of the city
+     * and light gray for the narrow part of the city.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @return the color of the empty field
+     */
+    static Color fieldColor(int x, int y)
+    {
+        if (MainApplication.zoneMap.isWide(x, y)) {
+            return Color.WHITE;
+        }
+        return Color.LIGHTGRAY;
+    }
+
+    /**
+     * Returns the color of a field with a vehicle: blue for cars, green for bicycles and coral for scooters.
+     *
+     * @param vehicleId the ID of the vehicle
+     * @return the color of the field
+     */
+    static Color vehicleColor(String vehicleId)
+    {
+        VehicleType type = MainApplication.vehicleRegistry.getType(vehicleId);
+        if (type == VehicleType.CAR) {
+            return Color.LIGHTSKYBLUE;
+        } else if (type == VehicleType.BICYCLE) {
+            return Color.LIGHTGREEN;
+        } else if (type == VehicleType.SCOOTER) {
+            return Color.LIGHTCORAL;
+        }
+        return Color.GRAY;
+    }
+
+    /**
+     * Returns the text shown on a field with a vehicle.
+     *
+     * @param vehicleId the ID of the vehicle
+     * @param batteryPercentage the battery percentage of the vehicle
+     * @return the text of the field
+     */
+    static String vehicleLabel(String vehicleId, double batteryPercentage)
+    {
+        return vehicleId + " (" + String.format("%.1f", batteryPercentage) + "%)";
+    }
+}
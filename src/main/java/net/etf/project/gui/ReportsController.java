@@ -1,5 +1,7 @@
 package net.etf.project.gui;
 
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -14,6 +16,8 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import javafx.util.Callback;
+import net.etf.project.financial.Money;
 import net.etf.project.model.vehicles.Vehicle;
 import net.etf.project.statistics.DailyReport;
 import net.etf.project.statistics.SummaryReport;
@@ -21,6 +25,7 @@ import net.etf.project.statistics.SummaryReport;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ResourceBundle;
+import java.util.function.ToLongFunction;
 
 import static net.etf.project.gui.MainApplication.*;
 
@@ -172,30 +177,43 @@ public class ReportsController implements Initializable
         listSummary.addAll(summaryReport);
         listDaily.addAll(dailyReports);
 
-        incomeSummary.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalIncome"));
-        discountsSummary.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalDiscounts"));
-        promotionsSummary.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalPromotions"));
-        wideAreaSummary.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalWideAreaIncome"));
-        narrowAreaSummary.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalNarrowAreaIncome"));
-        maintenanceSummary.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalMaintenanceCost"));
-        repairSummary.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalRepairCost"));
-        companyCosts.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalCompanyCosts"));
-        tax.setCellValueFactory(new PropertyValueFactory<SummaryReport, Double>("totalTax"));
+        incomeSummary.setCellValueFactory(amount(SummaryReport::getTotalIncome));
+        discountsSummary.setCellValueFactory(amount(SummaryReport::getTotalDiscounts));
+        promotionsSummary.setCellValueFactory(amount(SummaryReport::getTotalPromotions));
+        wideAreaSummary.setCellValueFactory(amount(SummaryReport::getTotalWideAreaIncome));
+        narrowAreaSummary.setCellValueFactory(amount(SummaryReport::getTotalNarrowAreaIncome));
+        maintenanceSummary.setCellValueFactory(amount(SummaryReport::getTotalMaintenanceCost));
+        repairSummary.setCellValueFactory(amount(SummaryReport::getTotalRepairCost));
+        companyCosts.setCellValueFactory(amount(SummaryReport::getTotalCompanyCosts));
+        tax.setCellValueFactory(amount(SummaryReport::getTotalTax));
 
         date.setCellValueFactory(new PropertyValueFactory<DailyReport, String>("date"));
-        incomeDaily.setCellValueFactory(new PropertyValueFactory<DailyReport, Double>("dailyIncome"));
-        discountsDaily.setCellValueFactory(new PropertyValueFactory<DailyReport, Double>("dailyDiscounts"));
-        promotionsDaily.setCellValueFactory(new PropertyValueFactory<DailyReport, Double>("dailyPromotions"));
-        wideAreaDaily.setCellValueFactory(new PropertyValueFactory<DailyReport, Double>("dailyWideAreaIncome"));
-        narrowAreaDaily.setCellValueFactory(new PropertyValueFactory<DailyReport, Double>("dailyNarrowAreaIncome"));
-        maintenanceDaily.setCellValueFactory(new PropertyValueFactory<DailyReport, Double>("dailyMaintenanceCost"));
-        repairDaily.setCellValueFactory(new PropertyValueFactory<DailyReport, Double>("dailyRepairCosts"));
+        incomeDaily.setCellValueFactory(amount(DailyReport::getDailyIncome));
+        discountsDaily.setCellValueFactory(amount(DailyReport::getDailyDiscounts));
+        promotionsDaily.setCellValueFactory(amount(DailyReport::getDailyPromotions));
+        wideAreaDaily.setCellValueFactory(amount(DailyReport::getDailyWideAreaIncome));
+        narrowAreaDaily.setCellValueFactory(amount(DailyReport::getDailyNarrowAreaIncome));
+        maintenanceDaily.setCellValueFactory(amount(DailyReport::getDailyMaintenanceCost));
+        repairDaily.setCellValueFactory(amount(DailyReport::getDailyRepairCosts));
 
         summaryTable.setItems(listSummary);
         dailyTable.setItems(listDaily);
 
     }
 
+    /**
+     * Creates a cell value factory for a column that shows an amount of money kept in minor units
+     * as a decimal number.
+     *
+     * @param amount the getter of the amount in minor units
+     * @param <T> the type of the rows of the table
+     * @return the cell value factory
+     */
+    private static <T> Callback<TableColumn.CellDataFeatures<T, Double>, ObservableValue<Double>> amount(ToLongFunction<T> amount)
+    {
+        return cell -> new ReadOnlyObjectWrapper<>(Money.toUnits(amount.applyAsLong(cell.getValue())));
+    }
+
     /**
      * Switches to the map scene when the user requests it.
      *
@@ -15,8 +15,9 @@ import net.etf.project.model.vehicles.Bicycle;
 import net.etf.project.model.vehicles.Car;
 import net.etf.project.model.vehicles.Scooter;
 import net.etf.project.model.vehicles.Vehicle;
+import net.etf.project.model.vehicles.VehicleType;
 
-import static net.etf.project.gui.MainApplication.vehicles;
+import static net.etf.project.gui.MainApplication.vehicleRegistry;
 
 import java.io.IOException;
 import java.net.URL;
@@ -171,16 +172,9 @@ public class VehicleController implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        for(Vehicle vehicle : vehicles)
-        {
-            if (vehicle instanceof Car) {
-                carsList.add(vehicle);
-            } else if (vehicle instanceof Bicycle) {
-                bicyclesList.add(vehicle);
-            } else if (vehicle instanceof Scooter) {
-                scootersList.add(vehicle);
-            }
-        }
+        carsList.addAll(vehicleRegistry.findByType(VehicleType.CAR));
+        bicyclesList.addAll(vehicleRegistry.findByType(VehicleType.BICYCLE));
+        scootersList.addAll(vehicleRegistry.findByType(VehicleType.SCOOTER));
 
         CarID.setCellValueFactory(new PropertyValueFactory<Car,String>("vehicleID"));
         CarPurchasePrice.setCellValueFactory(new PropertyValueFactory<Car,Double>("purchasePrice"));
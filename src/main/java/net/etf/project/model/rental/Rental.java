@@ -1,18 +1,15 @@
 package net.etf.project.model.rental;
 
-import javafx.application.Platform;
-import javafx.scene.paint.Color;
 import net.etf.project.financial.Receipt;
-import net.etf.project.model.vehicles.Car;
 import net.etf.project.model.vehicles.Vehicle;
+import net.etf.project.model.vehicles.VehicleType;
 import net.etf.project.gui.MainApplication;
-import net.etf.project.simulation.CityMap;
+import net.etf.project.simulation.RentalMovement;
+import net.etf.project.simulation.Route;
 
 import java.util.Date;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents a rental transaction for a vehicle, tracking details such as the rental date, user information,
@@ -68,6 +65,18 @@ public class Rental implements Runnable
      * Indicates if the vehicle has a discount.
      **/
     private boolean hasDiscount;
+    /**
+     * Whether the path of the vehicle enters the wide area, or null if it has not been checked yet.
+     **/
+    private volatile Boolean inWideArea;
+    /**
+     * The route of the vehicle from the start to the end location, or null if it has not been planned yet.
+     **/
+    private volatile Route route;
+    /**
+     * The number of this rental among the completed rentals of the user, or 0 if the rental has not been completed.
+     **/
+    private volatile int userRentalNumber;
 
     /**
      * Constructs a new Rental object with all necessary details such as the rental date, user information,
@@ -98,9 +107,7 @@ public class Rental implements Runnable
 
        //In case that the type of vehicle is car additional attributes are generated, if not default values are set
 
-       Optional<Vehicle> vehicle = MainApplication.vehicles.stream().filter(v -> v.getVehicleID().equals(rentalVehicleId) && v instanceof Car).findFirst();
-
-       if(vehicle.isPresent())
+       if(MainApplication.vehicleRegistry.getType(rentalVehicleId) == VehicleType.CAR)
        {
            if(isForeigner)
            {
@@ -120,74 +127,48 @@ public class Rental implements Runnable
     }
 
     /**
-     * Finds a vehicle by its ID from the list of vehicles.
+     * Finds a vehicle by its ID in the vehicle registry.
      *
      * @return The vehicle object with the matching ID, or null if not found.
      */
     public Vehicle findVehicleById()
     {
-        return MainApplication.vehicles.stream().filter(v -> v.getVehicleID().equals(rentalVehicleId)).findFirst().orElse(null);
+        return MainApplication.vehicleRegistry.findById(rentalVehicleId);
     }
 
     /**
-     * Checks if the vehicle enters a wide area, which is defined by certain coordinate ranges, during the rental.
+     * Returns the route of the vehicle from the start to the end location. The route is taken from the
+     * {@link MainApplication#routePlanner} once, and the same route is used for the movement, the wide area check and pricing.
      *
-     * @return True if the vehicle enters a wide area, false otherwise.
+     * @return The route of the vehicle.
      */
-    public boolean isInWideArea()
+    public Route getRoute()
     {
-        int startX = startLocation.getX();
-        int startY = startLocation.getY();
-        int endX = endLocation.getX();
-        int endY = endLocation.getY();
-
-        // Traverse Y-axis between start and end
-        int currentY = startY;
-        while(currentY != endY)
+        Route planned = route;
+        if(planned == null)
         {
-            if(isWideCoordinate(startX, currentY))
-            {
-                return true;
-            }
-            if(endY > startY)
-            {
-                currentY++;
-            }
-            else
-            {
-                currentY--;
-            }
+            planned = MainApplication.routePlanner.plan(startLocation.getX(), startLocation.getY(),
+                    endLocation.getX(), endLocation.getY());
+            route = planned;
         }
-        // Traverse X-axis between start and end
-        int currentX = startX;
-        while(currentX != endX)
-        {
-            if(isWideCoordinate(currentX,endY))
-            {
-                return true;
-            }
-            if(endX > startX)
-            {
-                currentX++;
-            }
-            else
-            {
-                currentX--;
-            }
-        }
-        return isWideCoordinate(endX, endY);
+        return planned;
     }
 
     /**
-     * Checks if the given coordinate falls within a wide area.
+     * Checks if the vehicle enters a wide area during the rental. The route of the vehicle is checked against
+     * the {@link MainApplication#zoneMap} once, and the result is kept for later calls.
      *
-     * @param x X-coordinate to check
-     * @param y Y-coordinate to check
-     * @return True if the coordinate is in the wide area, false otherwise.
+     * @return True if the vehicle enters a wide area, false otherwise.
      */
-    private boolean isWideCoordinate(int x, int y)
+    public boolean isInWideArea()
     {
-        return ( x >= 0 && x <= 4 || x >= 15 && x <= 19) || (y >= 0 && y <= 4 || y >= 15 && y <= 19);
+        Boolean wide = inWideArea;
+        if(wide == null)
+        {
+            wide = getRoute().entersWideArea(MainApplication.zoneMap);
+            inWideArea = wide;
+        }
+        return wide;
     }
 
     /**
@@ -197,9 +178,23 @@ public class Rental implements Runnable
      */
     public boolean isTenthRental()
     {
-        Integer rentalCount = MainApplication.userRentals.get(userName);
-        System.out.println("Rental check for user: " + userName + " - Number of rentals: " + rentalCount);
-        return rentalCount != null && rentalCount % 10 == 0;
+        int number = userRentalNumber;
+        if(number == 0)
+        {
+            Integer rentalCount = MainApplication.userRentals.get(userName);
+            number = rentalCount == null ? 0 : rentalCount;
+        }
+        return number != 0 && number % 10 == 0;
+    }
+
+    /**
+     * Returns the number of this rental among the completed rentals of the user, counted from 1.
+     *
+     * @return The number of the rental, or 0 if the rental has not been completed yet.
+     */
+    public int getUserRentalNumber()
+    {
+        return userRentalNumber;
     }
 
     /**
@@ -272,6 +267,8 @@ public class Rental implements Runnable
      */
     public void setStartLocation(Location startLocation) {
         this.startLocation = startLocation;
+        this.inWideArea = null;
+        this.route = null;
     }
 
     /**
@@ -290,6 +287,8 @@ public class Rental implements Runnable
      */
     public void setEndLocation(Location endLocation) {
         this.endLocation = endLocation;
+        this.inWideArea = null;
+        this.route = null;
     }
 
     /**
@@ -398,167 +397,78 @@ public class Rental implements Runnable
      * The method performs the following steps:<br>
      * 1. Finds the vehicle by its ID and places it on the map at the starting position.<br>
      * 2. Calculates the steps required to reach the destination and pauses between steps to simulate real-time movement.<br>
-     * 3. Updates the vehicle's position on the map step by step, using JavaFX's `Platform.runLater()` to ensure the GUI is updated correctly.<br>
+     * 3. Updates the vehicle's position on the map step by step; the GUI redraws the changed fields once per frame.<br>
      * 4. If a malfunction occurs, the vehicle moves only three steps before stopping.<br>
      * 5. Monitors battery level during movement and recharges if necessary.<br>
      * 6. Upon reaching the destination, the vehicle is removed from the map and the rental is marked as complete.<br>
      * 7. Generates a receipt and updates discount eligibility based on the number of rentals.
      *
-     * @see Platform#runLater(Runnable) Ensures that map updates occur on the correct thread.
-     * @see Vehicle#reduceBattery() Reduces the vehicle's battery level after each step of movement.
+     * @see RentalMovement Performs the movement of the vehicle step by step.
      * @see MainApplication#simulationMap Used to interact with the GUI map for vehicle visualization.
      */
     @Override
     public void run() {
-        Vehicle vehicle = findVehicleById();
-        if (vehicle == null) {
-            System.out.println("Vehicle not found.");
-            return;
-        }
-
-        int startX = startLocation.getX();
-        int startY = startLocation.getY();
-        int endX = endLocation.getX();
-        int endY = endLocation.getY();
-        int currentX = startX;
-        int currentY = startY;
-
-        int finalCurrentX = currentX;
-        int finalCurrentY = currentY;
-        Platform.runLater(() -> MainApplication.simulationMap.addVehicle(finalCurrentX, finalCurrentY, vehicle));
-        //MainApplication.simulationMap.display();
-
-        int steps = Math.abs(endX - startX) + Math.abs(endY - startY);
-        long pauseDuration = (long) (rentalDuration * 1000 / steps);
-
         try {
-            while (currentX != endX || currentY != endY) {
-                if(hasMalfunction){
-                    System.out.printf("Vehicle %s has a malfunction and will move only a few fields before stopping.%n", vehicle.getVehicleID());
-                    for(int i = 0; i < 3 && (currentX != endX || currentY != endY); i++){
-
-                        int finalCurrentX1 = currentX;
-                        int finalCurrentY1 = currentY;
-
-                        Platform.runLater(() -> MainApplication.simulationMap.removeVehicle(finalCurrentX1, finalCurrentY1, vehicle));
-                        int prevX = currentX;
-                        int prevY = currentY;
-
-                        if (currentY != endY) {
-                            if (endY > startY) currentY++;
-                            else currentY--;
-                        } else if (currentX != endX) {
-                            if (endX > startX) currentX++;
-                            else currentX--;
-                        }
-
-                        int finalNewX = currentX;
-                        int finalNewY = currentY;
-                        Platform.runLater(() -> MainApplication.simulationMap.addVehicle(finalNewX, finalNewY, vehicle));
-                        reduceBatteryAndCheck(vehicle,currentX,currentY);
-                        System.out.printf("Vehicle %s moved from (%d, %d) to (%d, %d)%n", vehicle.getVehicleID(), prevX, prevY, currentX, currentY);
-                        TimeUnit.MILLISECONDS.sleep(pauseDuration);
-                    }
-                    int finalCurrentX5 = currentX;
-                    int finalCurrentY5 = currentY;
-                    Platform.runLater(() -> MainApplication.simulationMap.removeVehicle(finalCurrentX5, finalCurrentY5, vehicle));
-
-                    System.out.printf("Vehicle %s has stopped due to a malfunction.%n", vehicle.getVehicleID());
-                    MainApplication.userRentals.put(userName, MainApplication.userRentals.getOrDefault(userName, 0) + 1);
-                    updateDiscount(userName);
-                    generateAndStoreReceipt();
-                    return;
-                }
-
-                int finalCurrentX2 = currentX;
-                int finalCurrentY2 = currentY;
-                Platform.runLater(() -> MainApplication.simulationMap.removeVehicle(finalCurrentX2, finalCurrentY2, vehicle));
-
-                int prevX = currentX;
-                int prevY = currentY;
-
-                if (currentY != endY) {
-                    if (endY > startY) currentY++;
-                    else currentY--;
-                } else if (currentX != endX) {
-                    if (endX > startX) currentX++;
-                    else currentX--;
-                }
-
-                int finalNewX = currentX;
-                int finalNewY = currentY;
-                Platform.runLater(() -> MainApplication.simulationMap.addVehicle(finalNewX, finalNewY, vehicle));
-                System.out.printf("Vehicle %s moved from (%d, %d) to (%d, %d)%n", vehicle.getVehicleID(), prevX, prevY, currentX, currentY);
-                if (!reduceBatteryAndCheck(vehicle, currentX, currentY)) {
-                    System.out.printf("Vehicle %s battery depleted, recharging...%n", vehicle.getVehicleID());
-                    vehicle.batteryCharging();
-                    System.out.printf("Vehicle %s fully charged, reappearing on the map.%n", vehicle.getVehicleID());
-                    int finalCurrentX3 = currentX;
-                    int finalCurrentY3 = currentY;
-                    Platform.runLater(() -> MainApplication.simulationMap.addVehicle(finalCurrentX3, finalCurrentY3, vehicle));
-                }
-                TimeUnit.MILLISECONDS.sleep(pauseDuration);
+            if (simulateMovement()) {
+                completeRental();
             }
-
-            int finalCurrentX4 = currentX;
-            int finalCurrentY4 = currentY;
-            Platform.runLater(() -> {
-                MainApplication.simulationMap.removeVehicle(finalCurrentX4, finalCurrentY4, vehicle);
-                MainApplication.simulationMap.addVehicle(endX, endY, vehicle);
-                MainApplication.simulationMap.removeVehicle(endX,endY,vehicle);
-            });
-            System.out.printf("Vehicle %s reached destination (%d, %d)%n", vehicle.getVehicleID(), endX, endY);
-
-            MainApplication.userRentals.put(userName, MainApplication.userRentals.getOrDefault(userName, 0) + 1);
-            updateDiscount(userName);
-            generateAndStoreReceipt();
-
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Reduces the vehicle battery and checks if the battery level is above the minimum.
+     * Moves the vehicle of the rental from the start to the end location, waiting between the steps
+     * on the simulation clock. The rental is not completed, so the caller decides when to call {@link #completeRental()}.
      *
-     * @param vehicle The vehicle being checked
-     * @param currentX The current X-coordinate of the vehicle
-     * @param currentY The current Y-coordinate of the vehicle
-     * @return True if the battery is still charged, false otherwise.
+     * @return {@code true} if the vehicle has stopped, {@code false} if the vehicle was not found
+     * @throws InterruptedException if the thread is interrupted while waiting between the steps
      */
-    private boolean reduceBatteryAndCheck(Vehicle vehicle,int currentX, int currentY)
-    {
-        vehicle.reduceBattery();
-        if(vehicle.getCurrentBatteryLevel() <= Vehicle.MIN_BATTERY_LEVEL){
-            MainApplication.simulationMap.removeVehicle(currentX,currentY,vehicle);
+    public boolean simulateMovement() throws InterruptedException {
+        Vehicle vehicle = findVehicleById();
+        if (vehicle == null) {
+            System.out.println("Vehicle not found.");
             return false;
         }
+
+        RentalMovement movement = new RentalMovement(this, vehicle, MainApplication.simulationMap);
+        movement.start();
+        long pauseDuration = movement.getStepPause();
+
+        while (movement.hasNextStep()) {
+            movement.step();
+            MainApplication.simulationClock.sleep(pauseDuration);
+        }
+        movement.finish();
         return true;
     }
 
     /**
-     * Generates and stores a receipt for the rental transaction.
+     * Completes the rental once the vehicle has stopped: increases the user's rental count,
+     * updates the discount eligibility and generates and stores the receipt.
      */
-    private void generateAndStoreReceipt()
+    public void completeRental()
     {
-        Receipt receipt = new Receipt(this);
-        receipt.generateReceipt();
-        synchronized (MainApplication.receipts)
-        {
-            MainApplication.receipts.add(receipt);
+        userRentalNumber = MainApplication.userRentals.merge(userName, 1, Integer::sum);
+        if (userRentalNumber % 10 == 0) {
+            this.hasDiscount = true;
         }
+        generateAndStoreReceipt();
     }
 
     /**
-     * Updates the discount eligibility for the user based on their rental count.
-     *
-     * @param userName Name of the user to check discount eligibility
+     * Generates a receipt for the rental transaction, hands it to the {@link MainApplication#receiptWriter}
+     * to be written to a file and stores it in the list and the {@link MainApplication#receiptStore}.
      */
-    public void updateDiscount(String userName) {
-        int rentals = MainApplication.userRentals.getOrDefault(userName, 0);
-        if (rentals % 10 == 0) {
-            this.hasDiscount = true;
+    private void generateAndStoreReceipt()
+    {
+        Receipt receipt = new Receipt(this);
+        MainApplication.receiptWriter.submit(receipt);
+        synchronized (MainApplication.receipts)
+        {
+            MainApplication.receipts.add(receipt);
         }
+        MainApplication.receiptStore.add(receipt);
     }
 
     /**
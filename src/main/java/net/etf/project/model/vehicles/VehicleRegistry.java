@@ -0,0 +1,125 @@
+package net.etf.project.model.vehicles;
+
+import java.util.*;
+
+/**
+ * The VehicleRegistry class keeps all vehicles of the application together with hash indexes
+ * that allow constant time lookups by vehicle ID and direct access to the vehicles of one type.
+ * Vehicles are kept in the order in which they were registered.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class VehicleRegistry
+{
+    /**
+     * All registered vehicles in registration order.
+     */
+    private final List<Vehicle> vehicles = new ArrayList<>();
+
+    /**
+     * Read-only view of the registered vehicles which is handed out to callers.
+     */
+    private final List<Vehicle> vehiclesView = Collections.unmodifiableList(vehicles);
+
+    /**
+     * Index of the registered vehicles by their ID.
+     */
+    private final Map<String, Vehicle> vehiclesById = new HashMap<>();
+
+    /**
+     * Index of the registered vehicles by their type.
+     */
+    private final Map<VehicleType, List<Vehicle>> vehiclesByType = new EnumMap<>(VehicleType.class);
+
+    /**
+     * Index of the type of every registered vehicle by the vehicle ID.
+     */
+    private final Map<String, VehicleType> typesById = new HashMap<>();
+
+    /**
+     * Registers a new vehicle. A vehicle is not registered if a vehicle with the same ID already exists.
+     *
+     * @param vehicle the vehicle to register
+     * @return {@code true} if the vehicle is registered, {@code false} if its ID is already taken
+     * @throws IllegalArgumentException if the vehicle is not of a known type
+     */
+    public boolean register(Vehicle vehicle)
+    {
+        if(vehiclesById.containsKey(vehicle.getVehicleID()))
+        {
+            return false;
+        }
+        VehicleType type = VehicleType.of(vehicle);
+        vehicles.add(vehicle);
+        vehiclesById.put(vehicle.getVehicleID(), vehicle);
+        typesById.put(vehicle.getVehicleID(), type);
+        vehiclesByType.computeIfAbsent(type, t -> new ArrayList<>()).add(vehicle);
+        return true;
+    }
+
+    /**
+     * Finds a vehicle by its ID.
+     *
+     * @param vehicleId the ID of the vehicle
+     * @return the vehicle with the given ID, or {@code null} if it does not exist
+     */
+    public Vehicle findById(String vehicleId)
+    {
+        return vehiclesById.get(vehicleId);
+    }
+
+    /**
+     * Checks whether a vehicle with the given ID is registered.
+     *
+     * @param vehicleId the ID of the vehicle
+     * @return {@code true} if the vehicle exists, {@code false} otherwise
+     */
+    public boolean contains(String vehicleId)
+    {
+        return vehiclesById.containsKey(vehicleId);
+    }
+
+    /**
+     * Returns the type of the vehicle with the given ID.
+     *
+     * @param vehicleId the ID of the vehicle
+     * @return the type of the vehicle, or {@code null} if it does not exist
+     */
+    public VehicleType getType(String vehicleId)
+    {
+        return typesById.get(vehicleId);
+    }
+
+    /**
+     * Returns all vehicles of the given type in registration order.
+     *
+     * @param type the type of the vehicles
+     * @return a read-only list of the vehicles of the given type
+     */
+    public List<Vehicle> findByType(VehicleType type)
+    {
+        List<Vehicle> vehiclesOfType = vehiclesByType.get(type);
+        return vehiclesOfType == null ? Collections.emptyList() : Collections.unmodifiableList(vehiclesOfType);
+    }
+
+    /**
+     * Returns a read-only view of all registered vehicles in registration order.
+     *
+     * @return the list of all vehicles
+     */
+    public List<Vehicle> getVehicles()
+    {
+        return vehiclesView;
+    }
+
+    /**
+     * Returns the number of registered vehicles.
+     *
+     * @return the number of vehicles
+     */
+    public int size()
+    {
+        return vehicles.size();
+    }
+}
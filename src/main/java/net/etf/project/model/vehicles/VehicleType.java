@@ -0,0 +1,41 @@
+package net.etf.project.model.vehicles;
+
+/**
+ * Enumerates the types of vehicles available in the rental system.
+ * It is used as a compact key for grouping vehicles by type instead of repeating
+ * {@code instanceof} checks over the concrete vehicle classes.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public enum VehicleType
+{
+    /** Represents a {@link Car}. */
+    CAR,
+    /** Represents a {@link Bicycle}. */
+    BICYCLE,
+    /** Represents a {@link Scooter}. */
+    SCOOTER;
+
+    /**
+     * Determines the type of the given vehicle.
+     *
+     * @param vehicle the vehicle whose type is determined
+     * @return the type of the vehicle
+     * @throws IllegalArgumentException if the vehicle is not of a known type
+     */
+    public static VehicleType of(Vehicle vehicle)
+    {
+        if(vehicle instanceof Car)
+        {
+            return CAR;
+        } else if(vehicle instanceof Bicycle)
+        {
+            return BICYCLE;
+        } else if(vehicle instanceof Scooter)
+        {
+            return SCOOTER;
+        }
+        throw new IllegalArgumentException("Unknown vehicle type: " + (vehicle == null ? null : vehicle.getClass()));
+    }
+}
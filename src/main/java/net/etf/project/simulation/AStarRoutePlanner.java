@@ -0,0 +1,166 @@
+package net.etf.project.simulation;
+
+import java.util.*;
+
+/**
+ * The AStarRoutePlanner class plans a shortest route that goes around the blocked fields of the zone map,
+ * using the A* search with the Manhattan distance as the estimate of the remaining steps.
+ * When several routes are equally short, moves along the y-axis are tried first, so on a map without blocked fields
+ * the route has the same length as the {@link LShapedRoutePlanner} route.
+ * <p>
+ * The start and the end field are always allowed, even if they are blocked. If the end cannot be reached,
+ * the L-shaped route is used. The search keeps only the fields it has visited, so its memory depends on the route
+ * and not on the size of the map. The planner holds no search state between calls and is thread safe.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class AStarRoutePlanner implements RoutePlanner
+{
+    /**
+     * The changes of the x-coordinate for the four moves, moves along the y-axis first.
+     */
+    private static final int[] MOVE_X = { 0, 0, 1, -1 };
+
+    /**
+     * The changes of the y-coordinate for the four moves, moves along the y-axis first.
+     */
+    private static final int[] MOVE_Y = { 1, -1, 0, 0 };
+
+    /**
+     * The zone map with the blocked fields.
+     */
+    private final ZoneMap zoneMap;
+
+    /**
+     * The planner used when the end cannot be reached.
+     */
+    private final RoutePlanner fallback = new LShapedRoutePlanner();
+
+    /**
+     * Constructs a planner for the given zone map.
+     *
+     * @param zoneMap the zone map with the blocked fields
+     */
+    public AStarRoutePlanner(ZoneMap zoneMap)
+    {
+        this.zoneMap = zoneMap;
+    }
+
+    /**
+     * Plans a shortest route from the start to the end location that does not pass through blocked fields.
+     *
+     * @param startX the x-coordinate of the start location
+     * @param startY the y-coordinate of the start location
+     * @param endX the x-coordinate of the end location
+     * @param endY the y-coordinate of the end location
+     * @return the route from the start to the end location
+     */
+    @Override
+    public Route plan(int startX, int startY, int endX, int endY)
+    {
+        int height = zoneMap.getHeight();
+        int width = zoneMap.getWidth();
+        int start = startX * height + startY;
+        int end = endX * height + endY;
+
+        Map<Integer, Integer> steps = new HashMap<>();
+        Map<Integer, Integer> previous = new HashMap<>();
+        // {estimated total steps, estimated remaining steps, order of discovery, field}
+        PriorityQueue<int[]> open = new PriorityQueue<>((a, b) -> {
+            if(a[0] != b[0]) return Integer.compare(a[0], b[0]);
+            if(a[1] != b[1]) return Integer.compare(a[1], b[1]);
+            return Integer.compare(a[2], b[2]);
+        });
+        int discovered = 0;
+        int estimate = Math.abs(endX - startX) + Math.abs(endY - startY);
+        steps.put(start, 0);
+        open.add(new int[] { estimate, estimate, discovered++, start });
+
+        while(!open.isEmpty())
+        {
+            int[] entry = open.poll();
+            int field = entry[3];
+            int fieldSteps = steps.get(field);
+            if(entry[0] - entry[1] != fieldSteps)
+            {
+                continue; // a shorter way to this field was found after the entry was added
+            }
+            if(field == end)
+            {
+                return toRoute(previous, start, end, height);
+            }
+            int x = field / height;
+            int y = field % height;
+            for(int move = 0; move < MOVE_X.length; move++)
+            {
+                int nx = x + MOVE_X[move];
+                int ny = y + MOVE_Y[move];
+                if(nx < 0 || nx >= width || ny < 0 || ny >= height)
+                {
+                    continue;
+                }
+                int next = nx * height + ny;
+                if(next != end && zoneMap.isBlocked(nx, ny))
+                {
+                    continue;
+                }
+                Integer known = steps.get(next);
+                if(known == null || fieldSteps + 1 < known)
+                {
+                    steps.put(next, fieldSteps + 1);
+                    previous.put(next, field);
+                    int remaining = Math.abs(endX - nx) + Math.abs(endY - ny);
+                    open.add(new int[] { fieldSteps + 1 + remaining, remaining, discovered++, next });
+                }
+            }
+        }
+
+        System.out.println("No route from (" + startX + ", " + startY + ") to (" + endX + ", " + endY
+                + ") avoids the blocked fields, the L-shaped route is used.");
+        return fallback.plan(startX, startY, endX, endY);
+    }
+
+    /**
+     * Builds the route from the found fields, keeping only the fields where the vehicle turns.
+     *
+     * @param previous the field from which every visited field was reached
+     * @param start the start field
+     * @param end the end field
+     * @param height the height of the map
+     * @return the route from the start to the end field
+     */
+    private static Route toRoute(Map<Integer, Integer> previous, int start, int end, int height)
+    {
+        List<Integer> waypoints = new ArrayList<>();
+        waypoints.add(end);
+        int field = end;
+        int direction = 0;
+        while(field != start)
+        {
+            int before = previous.get(field);
+            int step = field - before;
+            if(direction != 0 && step != direction)
+            {
+                waypoints.add(field);
+            }
+            direction = step;
+            field = before;
+        }
+        if(start != end)
+        {
+            waypoints.add(start);
+        }
+
+        int count = waypoints.size();
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        for(int i = 0; i < count; i++)
+        {
+            int waypoint = waypoints.get(count - 1 - i);
+            xs[i] = waypoint / height;
+            ys[i] = waypoint % height;
+        }
+        return new Route(xs, ys);
+    }
+}
@@ -1,17 +1,20 @@
 package net.etf.project.simulation;
 
-import javafx.application.Platform;
-import javafx.scene.layout.GridPane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 import net.etf.project.gui.MainApplication;
-import net.etf.project.gui.MapController;
 import net.etf.project.model.vehicles.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * The CityMap class represents a grid-based map used to manage vehicle movements and their visualization.
- * It synchronizes vehicle additions and removals on the grid and updates the GUI through the MapController.
+ * It synchronizes vehicle additions and removals on the grid and marks the changed fields in a {@link MapUpdateBuffer}.
+ * The GUI does not receive a task for every change; the MapController redraws the changed fields once per frame.
+ * <p>
+ * The fields are stored in one flat array, and every field holds its vehicles in a small array in the order
+ * in which they arrived. Instead of one lock for the whole map, the fields are divided among a fixed number
+ * of locks (lock striping), so vehicles moving on different fields rarely wait for each other.
+ * The number of vehicles is also counted per block of {@link #BLOCK_SIZE} x {@link #BLOCK_SIZE} fields,
+ * so a zoomed-out view of a large map can show the density of vehicles without visiting every field.
  *
  * @author Jovana Šikanjić
  * @version 1.0
@@ -19,65 +22,228 @@ import java.util.*;
 public class CityMap
 {
     /**
-     * A 2D grid that stores lists of vehicles at specific locations.
+     * The width and height, in fields, of a block for which the number of vehicles is counted.
      */
-    private final List<Vehicle>[][] grid;
+    public static final int BLOCK_SIZE = 8;
 
     /**
-     * The controller responsible for updating the visual representation of the map in the GUI.
+     * The number of locks the fields are divided among. It is a power of two.
      */
-    private final MapController mapController;
+    private static final int LOCK_STRIPES = 64;
 
     /**
-     * Constructs a CityMap with the given MapController and initializes the grid so that it can store more vehicles
+     * The initial capacity of the array of vehicles on a field.
+     */
+    private static final int INITIAL_FIELD_CAPACITY = 2;
+
+    /**
+     * An empty array shared by all fields that have never held a vehicle.
+     */
+    private static final Vehicle[] NO_VEHICLES = new Vehicle[0];
+
+    /**
+     * The width of the map.
+     */
+    private final int width;
+
+    /**
+     * The height of the map.
+     */
+    private final int height;
+
+    /**
+     * The vehicles on every field, the field (x, y) has the index {@code x * height + y}.
+     * Only the first {@code counts[index]} elements of a field's array are used.
+     */
+    private final Vehicle[][] fields;
+
+    /**
+     * The number of vehicles on every field.
+     */
+    private final int[] counts;
+
+    /**
+     * The locks guarding the fields, the field with index {@code i} is guarded by {@code locks[i % LOCK_STRIPES]}.
+     */
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * The number of vehicles in every block, the block (bx, by) has the index {@code bx * blockRows + by}.
+     */
+    private final AtomicIntegerArray blockCounts;
+
+    /**
+     * The number of blocks along the y-axis.
+     */
+    private final int blockRows;
+
+    /**
+     * The fields changed since the GUI last redrew the map.
+     */
+    private final MapUpdateBuffer updates;
+
+    /**
+     * Constructs a CityMap of the configured map size and initializes the grid so that it can store more vehicles
      * on one field.
-     *
-     * @param mapController The controller that updates the GUI with vehicle movements.
      */
-    public CityMap(MapController mapController)
+    public CityMap()
     {
-        this.mapController = mapController;
-        grid = new ArrayList[MainApplication.MAP_WIDTH][MainApplication.MAP_HEIGHT];
-        for(int i = 0; i < MainApplication.MAP_WIDTH; i++)
+        this.width = MainApplication.MAP_WIDTH;
+        this.height = MainApplication.MAP_HEIGHT;
+        this.fields = new Vehicle[width * height][];
+        this.counts = new int[width * height];
+        Arrays.fill(fields, NO_VEHICLES);
+        for(int i = 0; i < LOCK_STRIPES; i++)
         {
-            for(int j = 0; j < MainApplication.MAP_HEIGHT; j++)
-            {
-                grid[i][j] = new ArrayList<>();
-            }
+            locks[i] = new Object();
         }
+        this.blockRows = (height + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.blockCounts = new AtomicIntegerArray(((width + BLOCK_SIZE - 1) / BLOCK_SIZE) * blockRows);
+        this.updates = new MapUpdateBuffer(width, height);
+    }
+
+    /**
+     * Returns the width of the map.
+     *
+     * @return The number of fields along the x-axis.
+     */
+    public int getWidth()
+    {
+        return width;
     }
 
     /**
-     * Adds a vehicle to the specified position on the grid and updates the GUI to reflect the vehicle's presence.
-     * The method is synchronized to ensure thread safety.
+     * Returns the height of the map.
+     *
+     * @return The number of fields along the y-axis.
+     */
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Adds a vehicle to the specified position on the grid and marks the field for redrawing.
+     * Only the lock of the field is held.
      *
      * @param x The x-coordinate of the vehicle's position.
      * @param y The y-coordinate of the vehicle's position.
      * @param vehicle The vehicle to be added to the grid.
      */
-    public synchronized void addVehicle(int x, int y, Vehicle vehicle)
+    public void addVehicle(int x, int y, Vehicle vehicle)
     {
-        grid[x][y].add(vehicle);
-
-        String vehicleId = vehicle.getVehicleID();
-        double batteryPercentage = vehicle.getCurrentBatteryLevel();
-
-        Platform.runLater(() -> mapController.addVehicleToField(x, y, vehicleId, batteryPercentage));
+        int index = indexOf(x, y);
+        synchronized (lockFor(index))
+        {
+            Vehicle[] vehicles = fields[index];
+            int count = counts[index];
+            if(count == vehicles.length)
+            {
+                vehicles = Arrays.copyOf(vehicles, Math.max(INITIAL_FIELD_CAPACITY, count * 2));
+                fields[index] = vehicles;
+            }
+            vehicles[count] = vehicle;
+            counts[index] = count + 1;
+        }
+        blockCounts.incrementAndGet(blockIndexOf(x, y));
+        updates.markDirty(x, y);
     }
 
     /**
-     * Removes a vehicle from the specified position on the grid and updates the GUI to reflect its removal.
-     * The method is synchronized to ensure thread safety.
+     * Removes a vehicle from the specified position on the grid and marks the field for redrawing.
+     * If the vehicle is on the field more than once, the occurrence that arrived first is removed.
+     * Only the lock of the field is held.
      *
      * @param x The x-coordinate of the vehicle's current position.
      * @param y The y-coordinate of the vehicle's current position.
      * @param vehicle The vehicle to be removed from the grid.
      */
-    public synchronized void removeVehicle(int x, int y, Vehicle vehicle)
+    public void removeVehicle(int x, int y, Vehicle vehicle)
+    {
+        int index = indexOf(x, y);
+        boolean removed = false;
+        synchronized (lockFor(index))
+        {
+            Vehicle[] vehicles = fields[index];
+            int count = counts[index];
+            for(int i = 0; i < count; i++)
+            {
+                if(vehicles[i].equals(vehicle))
+                {
+                    System.arraycopy(vehicles, i + 1, vehicles, i, count - i - 1);
+                    vehicles[count - 1] = null;
+                    counts[index] = count - 1;
+                    removed = true;
+                    break;
+                }
+            }
+        }
+        if(removed)
+        {
+            blockCounts.decrementAndGet(blockIndexOf(x, y));
+        }
+        updates.markDirty(x, y);
+    }
+
+    /**
+     * Returns the vehicle shown on the specified field, which is the vehicle that arrived last.
+     *
+     * @param x The x-coordinate of the field.
+     * @param y The y-coordinate of the field.
+     * @return The vehicle shown on the field, or null if the field is empty.
+     */
+    public Vehicle getVehicleAt(int x, int y)
+    {
+        int index = indexOf(x, y);
+        synchronized (lockFor(index))
+        {
+            int count = counts[index];
+            return count == 0 ? null : fields[index][count - 1];
+        }
+    }
+
+    /**
+     * Returns the number of vehicles on the specified field.
+     *
+     * @param x The x-coordinate of the field.
+     * @param y The y-coordinate of the field.
+     * @return The number of vehicles on the field.
+     */
+    public int getVehicleCount(int x, int y)
+    {
+        int index = indexOf(x, y);
+        synchronized (lockFor(index))
+        {
+            return counts[index];
+        }
+    }
+
+    /**
+     * Returns the number of vehicles in a block of {@link #BLOCK_SIZE} x {@link #BLOCK_SIZE} fields.
+     * The block (bx, by) starts at the field (bx * BLOCK_SIZE, by * BLOCK_SIZE).
+     *
+     * @param blockX The x-coordinate of the block.
+     * @param blockY The y-coordinate of the block.
+     * @return The number of vehicles in the block, or 0 if the block is outside the map.
+     */
+    public int getBlockVehicleCount(int blockX, int blockY)
     {
-        grid[x][y].remove(vehicle);
+        if(blockX < 0 || blockY < 0 || blockY >= blockRows)
+        {
+            return 0;
+        }
+        int index = blockX * blockRows + blockY;
+        return index < blockCounts.length() ? blockCounts.get(index) : 0;
+    }
 
-        Platform.runLater(() -> mapController.removeVehicleFromField(x, y));
+    /**
+     * Passes every field changed since the last call to the visitor.
+     *
+     * @param visitor The visitor called with the coordinates of every changed field.
+     */
+    public void drainUpdates(MapUpdateBuffer.CellVisitor visitor)
+    {
+        updates.drain(visitor);
     }
 
     /**
@@ -86,18 +252,59 @@ public class CityMap
      */
     public void display()
     {
-        for (int i = 0; i < MainApplication.MAP_WIDTH; i++)
+        for (int i = 0; i < width; i++)
         {
-            for(int j = 0; j < MainApplication.MAP_HEIGHT; j++)
+            for(int j = 0; j < height; j++)
             {
-                if(grid[i][j].isEmpty())
+                int count = getVehicleCount(i, j);
+                if(count == 0)
                 {
                     System.out.print(".");
                 }else{
-                    System.out.print(grid[i][j].size());
+                    System.out.print(count);
                 }
             }
             System.out.println();
         }
     }
+
+    /**
+     * Returns the index of a field in the flat arrays.
+     *
+     * @param x The x-coordinate of the field.
+     * @param y The y-coordinate of the field.
+     * @return The index of the field.
+     * @throws IndexOutOfBoundsException if the field is outside the map.
+     */
+    private int indexOf(int x, int y)
+    {
+        if(x < 0 || x >= width || y < 0 || y >= height)
+        {
+            throw new IndexOutOfBoundsException("Field (" + x + ", " + y + ") is outside the map.");
+        }
+        return x * height + y;
+    }
+
+    /**
+     * Returns the index of the block that contains a field.
+     *
+     * @param x The x-coordinate of the field.
+     * @param y The y-coordinate of the field.
+     * @return The index of the block.
+     */
+    private int blockIndexOf(int x, int y)
+    {
+        return (x / BLOCK_SIZE) * blockRows + y / BLOCK_SIZE;
+    }
+
+    /**
+     * Returns the lock that guards a field.
+     *
+     * @param index The index of the field.
+     * @return The lock of the field.
+     */
+    private Object lockFor(int index)
+    {
+        return locks[index & (LOCK_STRIPES - 1)];
+    }
 }
@@ -0,0 +1,208 @@
+package net.etf.project.simulation;
+
+import net.etf.project.model.rental.Rental;
+import net.etf.project.model.vehicles.Vehicle;
+
+import java.util.*;
+
+/**
+ * The DiscreteEventSimulation class simulates rentals without real-time waiting. Every step of every rental is an
+ * event in a priority queue keyed by simulated time, and events are processed in time order as fast as possible.
+ * <p>
+ * The simulated timeline follows the threaded simulation: rentals with the same rental date and time start together,
+ * each step of a rental is followed by a pause that spreads the route over the rental duration, and the next group
+ * of rentals starts {@link #GROUP_PAUSE} milliseconds after the last rental of the previous group has completed.
+ * Rentals therefore complete in the same order and produce the same receipts, malfunctions and discounts.
+ * Events that happen at the same simulated time are processed in the order of the rentals.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class DiscreteEventSimulation
+{
+    /**
+     * The pause between two groups of rentals in simulated milliseconds.
+     */
+    public static final long GROUP_PAUSE = 5000;
+
+    /**
+     * Events ordered by simulated time and then by the order in which they were scheduled.
+     */
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+
+    /**
+     * The map on which the rentals are shown, or {@code null} if they are not shown.
+     */
+    private final CityMap map;
+
+    /**
+     * The current simulated time in milliseconds since the start of the simulation.
+     */
+    private long currentTime;
+
+    /**
+     * The sequence number of the next scheduled event.
+     */
+    private long nextSequence;
+
+    /**
+     * Constructs a simulation that does not show the rentals on a map.
+     */
+    public DiscreteEventSimulation()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructs a simulation that shows the rentals on the given map.
+     *
+     * @param map the map on which the rentals are shown, or {@code null} if they are not shown
+     */
+    public DiscreteEventSimulation(CityMap map)
+    {
+        this.map = map;
+    }
+
+    /**
+     * Simulates the given rentals, which must be sorted by rental date and time.
+     *
+     * @param rentals the rentals to simulate
+     */
+    public void run(List<Rental> rentals)
+    {
+        Date currentDateTime = null;
+        for(Rental rental : rentals)
+        {
+            // When the rental time changes, finish the current group and pause before the next one
+            if(currentDateTime == null || !rental.getRentalDateTime().equals(currentDateTime))
+            {
+                if(currentDateTime != null)
+                {
+                    processEvents();
+                    currentTime += GROUP_PAUSE;
+                }
+                currentDateTime = rental.getRentalDateTime();
+            }
+            startRental(rental);
+        }
+        processEvents();
+        System.out.println("Simulated " + rentals.size() + " rentals in " + currentTime + " ms of simulated time.");
+    }
+
+    /**
+     * Returns the current simulated time.
+     *
+     * @return the simulated time in milliseconds since the start of the simulation
+     */
+    public long getCurrentTime()
+    {
+        return currentTime;
+    }
+
+    /**
+     * Places the vehicle of a rental on its start location and schedules its first step.
+     *
+     * @param rental the rental to start
+     */
+    private void startRental(Rental rental)
+    {
+        Vehicle vehicle = rental.findVehicleById();
+        if (vehicle == null) {
+            System.out.println("Vehicle not found.");
+            return;
+        }
+        RentalMovement movement = new RentalMovement(rental, vehicle, map);
+        movement.start();
+        schedule(currentTime, rental, movement);
+    }
+
+    /**
+     * Processes events in time order until there are no more events.
+     */
+    private void processEvents()
+    {
+        Event event;
+        while((event = events.poll()) != null)
+        {
+            currentTime = event.time;
+            RentalMovement movement = event.movement;
+            if(movement.hasNextStep())
+            {
+                movement.step();
+                schedule(currentTime + movement.getStepPause(), event.rental, movement);
+            }
+            else
+            {
+                movement.finish();
+                event.rental.completeRental();
+            }
+        }
+    }
+
+    /**
+     * Schedules the next event of a rental.
+     *
+     * @param time the simulated time of the event
+     * @param rental the rental
+     * @param movement the movement of the rental's vehicle
+     */
+    private void schedule(long time, Rental rental, RentalMovement movement)
+    {
+        events.add(new Event(time, nextSequence++, rental, movement));
+    }
+
+    /**
+     * An event in the simulation: the next step, or the completion, of a rental at a simulated time.
+     */
+    private static class Event implements Comparable<Event>
+    {
+        /**
+         * The simulated time of the event.
+         */
+        private final long time;
+
+        /**
+         * The sequence number of the event, used to order events that happen at the same time.
+         */
+        private final long sequence;
+
+        /**
+         * The rental to which the event belongs.
+         */
+        private final Rental rental;
+
+        /**
+         * The movement of the rental's vehicle.
+         */
+        private final RentalMovement movement;
+
+        /**
+         * Constructs an event.
+         *
+         * @param time the simulated time of the event
+         * @param sequence the sequence number of the event
+         * @param rental the rental to which the event belongs
+         * @param movement the movement of the rental's vehicle
+         */
+        private Event(long time, long sequence, Rental rental, RentalMovement movement)
+        {
+            this.time = time;
+            this.sequence = sequence;
+            this.rental = rental;
+            this.movement = movement;
+        }
+
+        /**
+         * Compares events by time and then by sequence number.
+         *
+         * @param other the other event
+         * @return a negative number, zero or a positive number if this event comes before, together with or after the other
+         */
+        @Override
+        public int compareTo(Event other)
+        {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
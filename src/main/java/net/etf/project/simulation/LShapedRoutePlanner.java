@@ -0,0 +1,34 @@
+package net.etf.project.simulation;
+
+/**
+ * The LShapedRoutePlanner class plans the default route of a vehicle: first along the y-axis in the start column
+ * and then along the x-axis in the end row. It ignores blocked fields and needs no state, so it is thread safe.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class LShapedRoutePlanner implements RoutePlanner
+{
+    /**
+     * Plans the route that turns once, at the field in the start column and the end row.
+     *
+     * @param startX the x-coordinate of the start location
+     * @param startY the y-coordinate of the start location
+     * @param endX the x-coordinate of the end location
+     * @param endY the y-coordinate of the end location
+     * @return the route from the start to the end location
+     */
+    @Override
+    public Route plan(int startX, int startY, int endX, int endY)
+    {
+        if(startX == endX || startY == endY)
+        {
+            if(startX == endX && startY == endY)
+            {
+                return new Route(new int[] { startX }, new int[] { startY });
+            }
+            return new Route(new int[] { startX, endX }, new int[] { startY, endY });
+        }
+        return new Route(new int[] { startX, startX, endX }, new int[] { startY, endY, endY });
+    }
+}
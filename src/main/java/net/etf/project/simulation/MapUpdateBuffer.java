@@ -0,0 +1,101 @@
+package net.etf.project.simulation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The MapUpdateBuffer class collects the map cells changed by the simulation threads until the GUI
+ * redraws them. Every cell has one bit in a bitset, so marking a cell that is already marked costs only a read,
+ * any number of changes to the same cell between two frames is drawn once, and the memory used by the buffer
+ * depends only on the size of the map, not on the number of active rentals.
+ * <p>
+ * Marking is lock-free and can be done from any thread. Draining is meant for a single thread, the JavaFX
+ * application thread.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class MapUpdateBuffer
+{
+    /**
+     * The number of bits in one word of the bitset.
+     */
+    private static final int BITS_PER_WORD = Long.SIZE;
+
+    /**
+     * The height of the map, used to compute the index of a cell.
+     */
+    private final int height;
+
+    /**
+     * The bitset of changed cells; the cell (x, y) has the index {@code x * height + y}.
+     */
+    private final AtomicLongArray dirty;
+
+    /**
+     * Constructs an empty buffer for a map of the given size.
+     *
+     * @param width the width of the map
+     * @param height the height of the map
+     */
+    public MapUpdateBuffer(int width, int height)
+    {
+        this.height = height;
+        this.dirty = new AtomicLongArray((width * height + BITS_PER_WORD - 1) / BITS_PER_WORD);
+    }
+
+    /**
+     * Marks a cell as changed.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     */
+    public void markDirty(int x, int y)
+    {
+        int index = x * height + y;
+        int word = index / BITS_PER_WORD;
+        long bit = 1L << (index % BITS_PER_WORD);
+        if((dirty.get(word) & bit) == 0)
+        {
+            dirty.accumulateAndGet(word, bit, (current, mask) -> current | mask);
+        }
+    }
+
+    /**
+     * Passes every changed cell to the visitor and clears the marks. A cell that is changed again while
+     * the buffer is drained is either passed in this call or stays marked for the next one.
+     *
+     * @param visitor the visitor called for every changed cell
+     */
+    public void drain(CellVisitor visitor)
+    {
+        for(int word = 0; word < dirty.length(); word++)
+        {
+            if(dirty.get(word) == 0)
+            {
+                continue;
+            }
+            long bits = dirty.getAndSet(word, 0);
+            while(bits != 0)
+            {
+                int index = word * BITS_PER_WORD + Long.numberOfTrailingZeros(bits);
+                visitor.visit(index / height, index % height);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * The CellVisitor interface receives the coordinates of the changed cells.
+     */
+    @FunctionalInterface
+    public interface CellVisitor
+    {
+        /**
+         * Called for a changed cell.
+         *
+         * @param x the x-coordinate of the cell
+         * @param y the y-coordinate of the cell
+         */
+        void visit(int x, int y);
+    }
+}
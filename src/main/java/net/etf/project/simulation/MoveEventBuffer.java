@@ -0,0 +1,115 @@
+package net.etf.project.simulation;
+
+/**
+ * The MoveEventBuffer class records what happened to a vehicle during one movement: every field it moved to
+ * and every time its battery was recharged. Each event is packed into one {@code long} and stored in an array
+ * that is allocated once, with room for all steps of the route, so recording an event allocates nothing.
+ * The events are read when the movement ends, to print the path of the vehicle in one line.
+ * <p>
+ * A packed event holds the kind of the event in bits 32 to 39, the x-coordinate in bits 16 to 31
+ * and the y-coordinate in bits 0 to 15. The buffer is used by one movement at a time and is not thread safe.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class MoveEventBuffer
+{
+    /**
+     * The kind of event recorded when the vehicle moves to a field.
+     */
+    public static final int MOVE = 0;
+
+    /**
+     * The kind of event recorded when the battery of the vehicle is recharged on a field.
+     */
+    public static final int RECHARGE = 1;
+
+    /**
+     * The packed events in the order in which they were recorded.
+     */
+    private final long[] events;
+
+    /**
+     * The number of recorded events.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty buffer with room for the given number of events.
+     *
+     * @param capacity the largest number of events
+     */
+    public MoveEventBuffer(int capacity)
+    {
+        this.events = new long[capacity];
+    }
+
+    /**
+     * Records an event. If the buffer is full the event is not recorded.
+     *
+     * @param kind the kind of the event, {@link #MOVE} or {@link #RECHARGE}
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @return {@code true} if the event was recorded, {@code false} if the buffer is full
+     */
+    public boolean add(int kind, int x, int y)
+    {
+        if(size == events.length)
+        {
+            return false;
+        }
+        events[size++] = ((long) (kind & 0xFF) << 32) | ((long) (x & 0xFFFF) << 16) | (y & 0xFFFF);
+        return true;
+    }
+
+    /**
+     * Returns the number of recorded events.
+     *
+     * @return the number of events
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the kind of a recorded event.
+     *
+     * @param index the index of the event
+     * @return the kind of the event
+     */
+    public int kindAt(int index)
+    {
+        return (int) (events[index] >>> 32) & 0xFF;
+    }
+
+    /**
+     * Returns the x-coordinate of a recorded event.
+     *
+     * @param index the index of the event
+     * @return the x-coordinate of the field
+     */
+    public int xAt(int index)
+    {
+        return (int) (events[index] >>> 16) & 0xFFFF;
+    }
+
+    /**
+     * Returns the y-coordinate of a recorded event.
+     *
+     * @param index the index of the event
+     * @return the y-coordinate of the field
+     */
+    public int yAt(int index)
+    {
+        return (int) events[index] & 0xFFFF;
+    }
+
+    /**
+     * Removes all recorded events, so the buffer can be used again.
+     */
+    public void clear()
+    {
+        size = 0;
+    }
+}
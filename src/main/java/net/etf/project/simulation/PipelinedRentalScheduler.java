@@ -0,0 +1,103 @@
+package net.etf.project.simulation;
+
+import net.etf.project.model.rental.Rental;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The PipelinedRentalScheduler class runs the real-time simulation without waiting for a group of rentals
+ * to finish before the next group starts. Every group of rentals with the same rental date and time starts
+ * at its own simulated time, {@link DiscreteEventSimulation#GROUP_PAUSE} milliseconds after the previous group,
+ * so a long rental no longer holds back the rentals that come after it.
+ * <p>
+ * Two orders are kept. The rentals of the same vehicle never move at the same time: the movement of a rental
+ * starts only after the previous rental of the same vehicle has stopped, because the battery and the position
+ * of a vehicle are shared by its rentals. The rentals of the same user are completed in order: a rental is
+ * completed, and its receipt generated, only after the previous rental of the same user has been completed.
+ * The number of rentals per user, and with it the tenth-rental discount, therefore follows the order of the
+ * rentals in the file, however long the individual rentals take. Everything else runs independently.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class PipelinedRentalScheduler
+{
+    /**
+     * The executor that moves the vehicles.
+     */
+    private final RentalExecutor executor;
+
+    /**
+     * The clock on which the groups of rentals are started.
+     */
+    private final SimulationClock clock;
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param executor the executor that moves the vehicles
+     * @param clock the clock on which the groups of rentals are started
+     */
+    public PipelinedRentalScheduler(RentalExecutor executor, SimulationClock clock)
+    {
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts every rental at the simulated time of its group and waits until all rentals have been completed.
+     *
+     * @param rentals the rentals to simulate, sorted by rental date and time
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void run(List<Rental> rentals) throws InterruptedException
+    {
+        Map<String, CompletableFuture<Boolean>> lastMovementByVehicle = new HashMap<>();
+        Map<String, CompletableFuture<Void>> lastCompletionByUser = new HashMap<>();
+        List<CompletableFuture<Void>> completions = new ArrayList<>(rentals.size());
+
+        long groupStartTime = clock.now();
+        Date currentDateTime = null;
+        for(Rental rental : rentals)
+        {
+            if(currentDateTime == null || !rental.getRentalDateTime().equals(currentDateTime))
+            {
+                if(currentDateTime != null)
+                {
+                    groupStartTime += DiscreteEventSimulation.GROUP_PAUSE;
+                    clock.sleep(groupStartTime - clock.now());
+                }
+                currentDateTime = rental.getRentalDateTime();
+            }
+
+            CompletableFuture<Boolean> previousMovement = lastMovementByVehicle.get(rental.getRentalVehicleId());
+            CompletableFuture<Boolean> movement = previousMovement == null
+                    ? executor.submitMovement(rental)
+                    : previousMovement.exceptionally(e -> false).thenCompose(ignored -> executor.submitMovement(rental));
+            lastMovementByVehicle.put(rental.getRentalVehicleId(), movement);
+
+            CompletableFuture<Void> previous = lastCompletionByUser.getOrDefault(rental.getUserName(), CompletableFuture.completedFuture(null));
+            CompletableFuture<Void> completion = movement
+                    .thenCombine(previous.exceptionally(e -> null), (moved, ignored) -> moved)
+                    .thenAccept(moved -> {
+                        if(moved)
+                        {
+                            rental.completeRental();
+                        }
+                    });
+            lastCompletionByUser.put(rental.getUserName(), completion);
+            completions.add(completion);
+        }
+
+        for(CompletableFuture<Void> completion : completions)
+        {
+            try {
+                completion.get();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
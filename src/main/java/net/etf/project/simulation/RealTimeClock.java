@@ -0,0 +1,309 @@
+package net.etf.project.simulation;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The RealTimeClock class is a simulation clock that follows the real time, multiplied by the speed.
+ * The simulated time is kept as the simulated time at the last change of speed, pause or skip,
+ * plus the real time passed since then multiplied by the speed.
+ * <p>
+ * The time base is one immutable {@link Timeline} in a volatile field, so reading the time takes no lock,
+ * and the rental threads that sleep on every step of their movement do not wait for each other.
+ * A sleeping thread parks until its wake-up time; when the speed, the pause state or the time changes,
+ * all sleeping threads are unparked and park again for the rest of their time, so they never oversleep.
+ * Parking does not hold a monitor, so a sleeping virtual thread does not keep its carrier thread.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class RealTimeClock implements SimulationClock
+{
+    /**
+     * The real delay, in milliseconds, returned by {@link #realDelayUntil(long)} while the clock is paused.
+     */
+    private static final long PAUSED_POLL_INTERVAL = 100;
+
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000;
+
+    /**
+     * The time base of the clock from one change of speed, pause state or time to the next.
+     */
+    private static final class Timeline
+    {
+        /**
+         * The simulated time at the change.
+         */
+        final long baseTime;
+
+        /**
+         * The real time, from {@link System#nanoTime()}, of the change.
+         */
+        final long baseNanos;
+
+        /**
+         * How many simulated milliseconds pass in one real millisecond.
+         */
+        final double speed;
+
+        /**
+         * Whether the simulated time is stopped.
+         */
+        final boolean paused;
+
+        /**
+         * Constructs a time base that starts counting at the current real time.
+         *
+         * @param baseTime the simulated time at this moment
+         * @param speed the speed multiplier
+         * @param paused whether the simulated time is stopped
+         */
+        Timeline(long baseTime, double speed, boolean paused)
+        {
+            this.baseTime = baseTime;
+            this.baseNanos = System.nanoTime();
+            this.speed = speed;
+            this.paused = paused;
+        }
+
+        /**
+         * Returns the simulated time at the current real time.
+         *
+         * @return the simulated time in milliseconds
+         */
+        long now()
+        {
+            if(paused)
+            {
+                return baseTime;
+            }
+            return baseTime + (long) ((System.nanoTime() - baseNanos) * speed / NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * The current time base.
+     */
+    private volatile Timeline timeline;
+
+    /**
+     * Makes the changes of the time base one at a time; reading the time and sleeping do not take it.
+     */
+    private final ReentrantLock changeLock = new ReentrantLock();
+
+    /**
+     * The threads that are sleeping on the clock.
+     */
+    private final Set<Thread> sleepers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a clock running at real speed.
+     */
+    public RealTimeClock()
+    {
+        this(MIN_SPEED);
+    }
+
+    /**
+     * Constructs a clock running at the given speed.
+     *
+     * @param speed the speed multiplier
+     * @throws IllegalArgumentException if the speed is out of range
+     */
+    public RealTimeClock(double speed)
+    {
+        SimulationClock.checkSpeed(speed);
+        this.timeline = new Timeline(0, speed, false);
+    }
+
+    /**
+     * Returns the current simulated time.
+     *
+     * @return the simulated time in milliseconds since the clock was created
+     */
+    @Override
+    public long now()
+    {
+        return timeline.now();
+    }
+
+    /**
+     * Parks the calling thread until the given amount of simulated time has passed.
+     *
+     * @param millis the simulated time to wait, in milliseconds
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    @Override
+    public void sleep(long millis) throws InterruptedException
+    {
+        if(millis <= 0)
+        {
+            return;
+        }
+        Thread current = Thread.currentThread();
+        // Registered before the time is read, so a change made after the read unparks this thread
+        sleepers.add(current);
+        try {
+            long wakeUpTime = now() + millis;
+            while(true)
+            {
+                Timeline base = timeline;
+                long remaining = wakeUpTime - base.now();
+                if(remaining <= 0)
+                {
+                    return;
+                }
+                if(Thread.interrupted())
+                {
+                    throw new InterruptedException();
+                }
+                if(base.paused)
+                {
+                    LockSupport.park(this);
+                }
+                else
+                {
+                    LockSupport.parkNanos(this, (long) Math.ceil(remaining * NANOS_PER_MILLI / base.speed));
+                }
+            }
+        } finally {
+            sleepers.remove(current);
+        }
+    }
+
+    /**
+     * Returns the real time until the given simulated time is reached at the current speed.
+     *
+     * @param time the simulated time
+     * @return the real delay in milliseconds, or a short polling interval while the clock is paused
+     */
+    @Override
+    public long realDelayUntil(long time)
+    {
+        Timeline current = timeline;
+        if(current.paused)
+        {
+            return PAUSED_POLL_INTERVAL;
+        }
+        long remaining = time - current.now();
+        return remaining <= 0 ? 0 : (long) Math.ceil(remaining / current.speed);
+    }
+
+    /**
+     * Returns the speed multiplier.
+     *
+     * @return how many simulated milliseconds pass in one real millisecond
+     */
+    @Override
+    public double getSpeed()
+    {
+        return timeline.speed;
+    }
+
+    /**
+     * Sets the speed multiplier and wakes up the sleeping threads, so they wait for the rest of their time at the new speed.
+     *
+     * @param speed the speed multiplier
+     * @throws IllegalArgumentException if the speed is out of range
+     */
+    @Override
+    public void setSpeed(double speed)
+    {
+        SimulationClock.checkSpeed(speed);
+        changeLock.lock();
+        try {
+            Timeline current = timeline;
+            timeline = new Timeline(current.now(), speed, current.paused);
+        } finally {
+            changeLock.unlock();
+        }
+        wakeSleepers();
+    }
+
+    /**
+     * Stops the simulated time at its current value.
+     */
+    @Override
+    public void pause()
+    {
+        changeLock.lock();
+        try {
+            Timeline current = timeline;
+            if(!current.paused)
+            {
+                timeline = new Timeline(current.now(), current.speed, true);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Continues the simulated time from the value at which it was paused.
+     */
+    @Override
+    public void resume()
+    {
+        changeLock.lock();
+        try {
+            Timeline current = timeline;
+            if(!current.paused)
+            {
+                return;
+            }
+            timeline = new Timeline(current.baseTime, current.speed, false);
+        } finally {
+            changeLock.unlock();
+        }
+        wakeSleepers();
+    }
+
+    /**
+     * Checks whether the clock is paused.
+     *
+     * @return {@code true} if the simulated time is stopped, {@code false} otherwise
+     */
+    @Override
+    public boolean isPaused()
+    {
+        return timeline.paused;
+    }
+
+    /**
+     * Moves the simulated time forward and wakes up the sleeping threads.
+     *
+     * @param time the simulated time to skip to
+     */
+    @Override
+    public void skipTo(long time)
+    {
+        changeLock.lock();
+        try {
+            Timeline current = timeline;
+            if(time <= current.now())
+            {
+                return;
+            }
+            timeline = new Timeline(time, current.speed, current.paused);
+        } finally {
+            changeLock.unlock();
+        }
+        wakeSleepers();
+    }
+
+    /**
+     * Unparks all sleeping threads, so they check their wake-up time against the new time base.
+     */
+    private void wakeSleepers()
+    {
+        for(Thread sleeper : sleepers)
+        {
+            LockSupport.unpark(sleeper);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package net.etf.project.simulation;
+
+import net.etf.project.model.rental.Rental;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The RentalExecutor interface describes how the rentals of the real-time simulation are executed.
+ * An executor is chosen with {@link #create(String)}:
+ * <ul>
+ *     <li>{@code platform} - every rental runs on its own platform thread,</li>
+ *     <li>{@code virtual} - every rental runs on its own virtual thread,</li>
+ *     <li>{@code pooled} - the steps of all rentals are scheduled on a small pool of threads.</li>
+ * </ul>
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public interface RentalExecutor
+{
+    /**
+     * Starts the movement of a rental's vehicle, without completing the rental.
+     *
+     * @param rental the rental whose vehicle moves
+     * @return a future completed with {@code true} when the vehicle has stopped,
+     *         or with {@code false} if the vehicle was not found
+     */
+    CompletableFuture<Boolean> submitMovement(Rental rental);
+
+    /**
+     * Starts the simulation of a rental and completes the rental on the thread that finishes the movement.
+     *
+     * @param rental the rental to simulate
+     * @return a future that is completed when the rental has been completed
+     */
+    default CompletableFuture<Void> submit(Rental rental)
+    {
+        return submitMovement(rental).thenAccept(moved -> {
+            if(moved)
+            {
+                rental.completeRental();
+            }
+        });
+    }
+
+    /**
+     * Releases the threads used by the executor. It is called after all submitted rentals have been completed.
+     */
+    void shutdown();
+
+    /**
+     * Creates an executor for the given execution mode. Virtual threads need Java 21 or newer;
+     * on older runtimes the {@code virtual} mode falls back to the {@code pooled} mode.
+     *
+     * @param mode the execution mode, "platform", "virtual" or "pooled"
+     * @return the executor
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    static RentalExecutor create(String mode)
+    {
+        switch(mode.toLowerCase())
+        {
+            case "platform":
+                return new ThreadPerRentalExecutor(Executors.defaultThreadFactory());
+            case "virtual":
+                ThreadFactory virtualThreadFactory = virtualThreadFactory();
+                if(virtualThreadFactory != null)
+                {
+                    return new ThreadPerRentalExecutor(virtualThreadFactory);
+                }
+                System.out.println("Virtual threads are not available, using pooled execution instead.");
+                return new ScheduledRentalExecutor(Runtime.getRuntime().availableProcessors());
+            case "pooled":
+                return new ScheduledRentalExecutor(Runtime.getRuntime().availableProcessors());
+            default:
+                throw new IllegalArgumentException("Unknown rental execution mode: " + mode);
+        }
+    }
+
+    /**
+     * Returns a factory of virtual threads if the runtime supports them.
+     *
+     * @return the factory of virtual threads, or {@code null} if virtual threads are not available
+     */
+    private static ThreadFactory virtualThreadFactory()
+    {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
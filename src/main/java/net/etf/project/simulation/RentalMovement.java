@@ -0,0 +1,275 @@
+package net.etf.project.simulation;
+
+import net.etf.project.model.rental.Rental;
+import net.etf.project.model.vehicles.Vehicle;
+
+/**
+ * The RentalMovement class holds the state of a vehicle moving from the start to the end location of a rental
+ * and performs the movement one step at a time. The vehicle follows the {@link Route} of the rental,
+ * which by default goes along the Y axis first and then along the X axis.
+ * If the rental has a malfunction, the vehicle moves only three steps before stopping.
+ * <p>
+ * The class does not wait between the steps, so the same movement can be driven in real time by a rental thread
+ * or in simulated time by the {@link DiscreteEventSimulation}.
+ * <p>
+ * A step works only on primitive coordinates: it updates the map directly and records the move in a
+ * {@link MoveEventBuffer} allocated with the movement, so a step allocates nothing. The path of the vehicle
+ * is printed in one line when the movement ends, instead of one formatted line per step.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class RentalMovement
+{
+    /**
+     * The number of steps a vehicle with a malfunction moves before stopping.
+     */
+    public static final int MALFUNCTION_STEPS = 3;
+
+    /**
+     * The rental whose vehicle is moving.
+     */
+    private final Rental rental;
+
+    /**
+     * The vehicle that is moving.
+     */
+    private final Vehicle vehicle;
+
+    /**
+     * The map on which the movement is shown, or {@code null} if the movement is not shown.
+     */
+    private final CityMap map;
+
+    /**
+     * Starting X-coordinate of the vehicle.
+     */
+    private final int startX;
+
+    /**
+     * Starting Y-coordinate of the vehicle.
+     */
+    private final int startY;
+
+    /**
+     * Ending X-coordinate of the vehicle.
+     */
+    private final int endX;
+
+    /**
+     * Ending Y-coordinate of the vehicle.
+     */
+    private final int endY;
+
+    /**
+     * The route the vehicle follows.
+     */
+    private final Route route;
+
+    /**
+     * The index of the waypoint of the route the vehicle is moving towards.
+     */
+    private int nextWaypoint = 1;
+
+    /**
+     * Current X-coordinate of the vehicle.
+     */
+    private int currentX;
+
+    /**
+     * Current Y-coordinate of the vehicle.
+     */
+    private int currentY;
+
+    /**
+     * The number of steps made since the malfunction occurred.
+     */
+    private int malfunctionSteps;
+
+    /**
+     * The moves and recharges of the vehicle, printed when the movement ends.
+     */
+    private final MoveEventBuffer events;
+
+    /**
+     * Constructs the movement of the vehicle of a rental, with the vehicle at the start location.
+     *
+     * @param rental the rental whose vehicle is moving
+     * @param vehicle the vehicle that is moving
+     * @param map the map on which the movement is shown, or {@code null} if it is not shown
+     */
+    public RentalMovement(Rental rental, Vehicle vehicle, CityMap map)
+    {
+        this.rental = rental;
+        this.vehicle = vehicle;
+        this.map = map;
+        this.startX = rental.getStartLocation().getX();
+        this.startY = rental.getStartLocation().getY();
+        this.endX = rental.getEndLocation().getX();
+        this.endY = rental.getEndLocation().getY();
+        this.route = rental.getRoute();
+        this.currentX = startX;
+        this.currentY = startY;
+        this.events = new MoveEventBuffer(2 * route.getStepCount());
+    }
+
+    /**
+     * Returns the number of steps between the start and the end location.
+     *
+     * @return the number of steps
+     */
+    public int getStepCount()
+    {
+        return route.getStepCount();
+    }
+
+    /**
+     * Returns the pause between two steps in milliseconds, so that the whole route takes the rental duration.
+     *
+     * @return the pause between steps in milliseconds
+     */
+    public long getStepPause()
+    {
+        int steps = getStepCount();
+        return steps == 0 ? 0 : (long) (rental.getRentalDuration() * 1000 / steps);
+    }
+
+    /**
+     * Places the vehicle on the map at the start location.
+     */
+    public void start()
+    {
+        if(map != null)
+        {
+            map.addVehicle(currentX, currentY, vehicle);
+        }
+    }
+
+    /**
+     * Checks whether the vehicle has another step to make.
+     *
+     * @return {@code true} if the vehicle has not reached the destination and has not stopped due to a malfunction
+     */
+    public boolean hasNextStep()
+    {
+        if(rental.isHasMalfunction() && malfunctionSteps >= MALFUNCTION_STEPS)
+        {
+            return false;
+        }
+        return nextWaypoint < route.getWaypointCount();
+    }
+
+    /**
+     * Moves the vehicle one field towards the destination, updates the map and reduces the battery.
+     * If the battery is depleted during a normal ride, the vehicle is recharged.
+     */
+    public void step()
+    {
+        boolean hasMalfunction = rental.isHasMalfunction();
+        if(hasMalfunction && malfunctionSteps == 0)
+        {
+            System.out.println("Vehicle " + vehicle.getVehicleID() + " has a malfunction and will move only a few fields before stopping.");
+        }
+
+        if(map != null)
+        {
+            map.removeVehicle(currentX, currentY, vehicle);
+        }
+        int targetX = route.getX(nextWaypoint);
+        int targetY = route.getY(nextWaypoint);
+        currentX += Integer.signum(targetX - currentX);
+        currentY += Integer.signum(targetY - currentY);
+        if (currentX == targetX && currentY == targetY) {
+            nextWaypoint++;
+        }
+        if(map != null)
+        {
+            map.addVehicle(currentX, currentY, vehicle);
+        }
+        events.add(MoveEventBuffer.MOVE, currentX, currentY);
+
+        if(hasMalfunction)
+        {
+            malfunctionSteps++;
+        }
+        if (!reduceBatteryAndCheck() && !hasMalfunction) {
+            vehicle.batteryCharging();
+            events.add(MoveEventBuffer.RECHARGE, currentX, currentY);
+            if(map != null)
+            {
+                map.addVehicle(currentX, currentY, vehicle);
+            }
+        }
+    }
+
+    /**
+     * Ends the movement by removing the vehicle from the map, either at the destination or at the field
+     * where it stopped due to a malfunction, and prints the path of the vehicle.
+     */
+    public void finish()
+    {
+        printPath();
+        if(rental.isHasMalfunction() && malfunctionSteps > 0)
+        {
+            if(map != null)
+            {
+                map.removeVehicle(currentX, currentY, vehicle);
+            }
+            System.out.println("Vehicle " + vehicle.getVehicleID() + " has stopped due to a malfunction.");
+            return;
+        }
+
+        if(map != null)
+        {
+            map.removeVehicle(currentX, currentY, vehicle);
+            map.addVehicle(endX, endY, vehicle);
+            map.removeVehicle(endX, endY, vehicle);
+        }
+        System.out.println("Vehicle " + vehicle.getVehicleID() + " reached destination (" + endX + ", " + endY + ")");
+    }
+
+    /**
+     * Prints the fields the vehicle moved through and the fields where its battery was recharged, in one line.
+     */
+    private void printPath()
+    {
+        if(events.size() == 0)
+        {
+            return;
+        }
+        StringBuilder path = new StringBuilder(32 + events.size() * 12);
+        path.append("Vehicle ").append(vehicle.getVehicleID()).append(" moved: (")
+                .append(startX).append(", ").append(startY).append(')');
+        for(int i = 0; i < events.size(); i++)
+        {
+            if(events.kindAt(i) == MoveEventBuffer.RECHARGE)
+            {
+                path.append(" [battery recharged]");
+            }
+            else
+            {
+                path.append(" -> (").append(events.xAt(i)).append(", ").append(events.yAt(i)).append(')');
+            }
+        }
+        System.out.println(path);
+    }
+
+    /**
+     * Reduces the vehicle battery and checks if the battery level is above the minimum.
+     * A vehicle whose battery is depleted is removed from the map.
+     *
+     * @return True if the battery is still charged, false otherwise.
+     */
+    private boolean reduceBatteryAndCheck()
+    {
+        vehicle.reduceBattery();
+        if(vehicle.getCurrentBatteryLevel() <= Vehicle.MIN_BATTERY_LEVEL){
+            if(map != null)
+            {
+                map.removeVehicle(currentX, currentY, vehicle);
+            }
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,175 @@
+package net.etf.project.simulation;
+
+import java.util.Arrays;
+
+/**
+ * The Route class describes the path of a vehicle from the start to the end location as a list of waypoints.
+ * The vehicle moves in a straight line along one axis from each waypoint to the next, one field per step,
+ * so only the fields where the vehicle turns are stored and a route takes little memory however long it is.
+ * The first waypoint is the start location and the last waypoint is the end location.
+ * <p>
+ * Routes are immutable, so one route can be shared by all rentals between the same locations.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class Route
+{
+    /**
+     * The x-coordinates of the waypoints.
+     */
+    private final int[] xs;
+
+    /**
+     * The y-coordinates of the waypoints.
+     */
+    private final int[] ys;
+
+    /**
+     * The number of steps from the start to the end location.
+     */
+    private final int stepCount;
+
+    /**
+     * Constructs a route from its waypoints. Two consecutive waypoints must differ in only one coordinate.
+     *
+     * @param xs the x-coordinates of the waypoints
+     * @param ys the y-coordinates of the waypoints
+     * @throws IllegalArgumentException if there are no waypoints, the arrays differ in length
+     *                                  or two consecutive waypoints are not on the same row or column
+     */
+    public Route(int[] xs, int[] ys)
+    {
+        if(xs.length == 0 || xs.length != ys.length)
+        {
+            throw new IllegalArgumentException("Route needs the same number of x and y coordinates, at least one.");
+        }
+        int steps = 0;
+        for(int i = 1; i < xs.length; i++)
+        {
+            if(xs[i] != xs[i - 1] && ys[i] != ys[i - 1])
+            {
+                throw new IllegalArgumentException("Waypoints " + (i - 1) + " and " + i + " are not on the same row or column.");
+            }
+            steps += Math.abs(xs[i] - xs[i - 1]) + Math.abs(ys[i] - ys[i - 1]);
+        }
+        this.xs = xs.clone();
+        this.ys = ys.clone();
+        this.stepCount = steps;
+    }
+
+    /**
+     * Returns the number of waypoints, including the start and the end location.
+     *
+     * @return the number of waypoints
+     */
+    public int getWaypointCount()
+    {
+        return xs.length;
+    }
+
+    /**
+     * Returns the x-coordinate of a waypoint.
+     *
+     * @param index the index of the waypoint, 0 for the start location
+     * @return the x-coordinate of the waypoint
+     */
+    public int getX(int index)
+    {
+        return xs[index];
+    }
+
+    /**
+     * Returns the y-coordinate of a waypoint.
+     *
+     * @param index the index of the waypoint, 0 for the start location
+     * @return the y-coordinate of the waypoint
+     */
+    public int getY(int index)
+    {
+        return ys[index];
+    }
+
+    /**
+     * Returns the number of steps from the start to the end location.
+     *
+     * @return the number of steps
+     */
+    public int getStepCount()
+    {
+        return stepCount;
+    }
+
+    /**
+     * Checks whether any field of the route, including the start and the end location, is in the wide area.
+     * Every straight part of the route is checked with the prefix counts of the zone map, so the check depends
+     * on the number of turns and not on the length of the route.
+     *
+     * @param zoneMap the zone map of the city
+     * @return {@code true} if the route enters the wide area, {@code false} otherwise
+     */
+    public boolean entersWideArea(ZoneMap zoneMap)
+    {
+        if(xs.length == 1)
+        {
+            return zoneMap.isWide(xs[0], ys[0]);
+        }
+        for(int i = 1; i < xs.length; i++)
+        {
+            int wide = xs[i] == xs[i - 1]
+                    ? zoneMap.countWideInColumn(xs[i], ys[i - 1], ys[i])
+                    : zoneMap.countWideInRow(ys[i], xs[i - 1], xs[i]);
+            if(wide > 0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares this route with another object. Two routes are equal if they have the same waypoints.
+     *
+     * @param o the object to compare with
+     * @return {@code true} if the routes are equal, {@code false} otherwise
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (!(o instanceof Route)) return false;
+        Route route = (Route) o;
+        return Arrays.equals(xs, route.xs) && Arrays.equals(ys, route.ys);
+    }
+
+    /**
+     * Returns the hash code of the route, computed from its waypoints.
+     *
+     * @return the hash code of the route
+     */
+    @Override
+    public int hashCode()
+    {
+        return 31 * Arrays.hashCode(xs) + Arrays.hashCode(ys);
+    }
+
+    /**
+     * Returns a string representation of the route with all of its waypoints.
+     *
+     * @return the waypoints of the route
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < xs.length; i++)
+        {
+            if(i > 0)
+            {
+                sb.append(" -> ");
+            }
+            sb.append('(').append(xs[i]).append(", ").append(ys[i]).append(')');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,132 @@
+package net.etf.project.simulation;
+
+import java.util.*;
+
+/**
+ * The RouteCache class keeps the most recently used routes of another {@link RoutePlanner}, so the route between
+ * two locations is planned once and then shared by all rentals between them. Rentals mostly start and end
+ * at a small number of hub locations, so most routes are found in the cache.
+ * <p>
+ * The cache holds at most the given number of routes and removes the least recently used route when it is full.
+ * Routes are keyed by the start and end coordinates packed into one {@code long}. The cache is thread safe.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class RouteCache implements RoutePlanner
+{
+    /**
+     * The planner that plans the routes that are not in the cache.
+     */
+    private final RoutePlanner planner;
+
+    /**
+     * The cached routes in the order of their last use, the least recently used first.
+     */
+    private final LinkedHashMap<Long, Route> routes;
+
+    /**
+     * The number of routes found in the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of routes that had to be planned.
+     */
+    private long misses;
+
+    /**
+     * Constructs a cache in front of a planner.
+     *
+     * @param planner the planner that plans the routes that are not in the cache
+     * @param capacity the largest number of routes kept in the cache
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public RouteCache(RoutePlanner planner, int capacity)
+    {
+        if(capacity <= 0)
+        {
+            throw new IllegalArgumentException("Route cache capacity must be positive: " + capacity);
+        }
+        this.planner = planner;
+        this.routes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Route> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached route between two fields, planning and caching it if it is not in the cache.
+     * The route is planned outside the lock, so a slow search does not hold up other rentals.
+     *
+     * @param startX the x-coordinate of the start location
+     * @param startY the y-coordinate of the start location
+     * @param endX the x-coordinate of the end location
+     * @param endY the y-coordinate of the end location
+     * @return the route from the start to the end location
+     */
+    @Override
+    public Route plan(int startX, int startY, int endX, int endY)
+    {
+        long key = ((long) (startX & 0xFFFF) << 48) | ((long) (startY & 0xFFFF) << 32)
+                | ((long) (endX & 0xFFFF) << 16) | (endY & 0xFFFF);
+        synchronized (routes)
+        {
+            Route route = routes.get(key);
+            if(route != null)
+            {
+                hits++;
+                return route;
+            }
+            misses++;
+        }
+        Route route = planner.plan(startX, startY, endX, endY);
+        synchronized (routes)
+        {
+            routes.put(key, route);
+        }
+        return route;
+    }
+
+    /**
+     * Returns the number of routes currently in the cache.
+     *
+     * @return the number of cached routes
+     */
+    public int size()
+    {
+        synchronized (routes)
+        {
+            return routes.size();
+        }
+    }
+
+    /**
+     * Returns the number of routes that were found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits()
+    {
+        synchronized (routes)
+        {
+            return hits;
+        }
+    }
+
+    /**
+     * Returns the number of routes that had to be planned.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses()
+    {
+        synchronized (routes)
+        {
+            return misses;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package net.etf.project.simulation;
+
+/**
+ * The RoutePlanner interface finds the route of a vehicle between two fields of the city map.
+ * A planner is chosen with {@link #create(String, ZoneMap)}:
+ * <ul>
+ *     <li>{@code lshaped} - the vehicle moves along the y-axis first and then along the x-axis,</li>
+ *     <li>{@code astar} - the vehicle takes a shortest route around the blocked fields of the zone map.</li>
+ * </ul>
+ * The simulation, the wide area check and pricing all use the same route of a rental,
+ * which is usually taken from a {@link RouteCache}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public interface RoutePlanner
+{
+    /**
+     * Finds the route between two fields.
+     *
+     * @param startX the x-coordinate of the start location
+     * @param startY the y-coordinate of the start location
+     * @param endX the x-coordinate of the end location
+     * @param endY the y-coordinate of the end location
+     * @return the route from the start to the end location
+     */
+    Route plan(int startX, int startY, int endX, int endY);
+
+    /**
+     * Creates a planner for the given planning mode.
+     *
+     * @param mode the planning mode, "lshaped" or "astar"
+     * @param zoneMap the zone map with the blocked fields, used by the {@code astar} mode
+     * @return the planner
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    static RoutePlanner create(String mode, ZoneMap zoneMap)
+    {
+        if("lshaped".equalsIgnoreCase(mode))
+        {
+            return new LShapedRoutePlanner();
+        }
+        if("astar".equalsIgnoreCase(mode))
+        {
+            return new AStarRoutePlanner(zoneMap);
+        }
+        throw new IllegalArgumentException("Unknown route planner: " + mode);
+    }
+}
@@ -0,0 +1,123 @@
+package net.etf.project.simulation;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.rental.Rental;
+import net.etf.project.model.vehicles.Vehicle;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ScheduledRentalExecutor class simulates rentals on a fixed pool of threads. Instead of sleeping
+ * between the steps, every step of a rental is scheduled as a separate task at the simulated time of the step,
+ * following the {@link SimulationClock} of the application, so a waiting rental does not hold a thread
+ * and the number of concurrent rentals is not limited by the number of threads.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class ScheduledRentalExecutor implements RentalExecutor
+{
+    /**
+     * The scheduler that runs the steps of all rentals.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs an executor with the given number of threads.
+     *
+     * @param threadCount the number of threads that run the rental steps
+     */
+    public ScheduledRentalExecutor(int threadCount)
+    {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(threadCount, task -> {
+            Thread thread = new Thread(task, "rental-scheduler-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Places the vehicle of the rental on the map and schedules its first step.
+     *
+     * @param rental the rental whose vehicle moves
+     * @return a future completed when the vehicle has stopped
+     */
+    @Override
+    public CompletableFuture<Boolean> submitMovement(Rental rental)
+    {
+        CompletableFuture<Boolean> completion = new CompletableFuture<>();
+        scheduler.execute(() -> {
+            try {
+                Vehicle vehicle = rental.findVehicleById();
+                if (vehicle == null) {
+                    System.out.println("Vehicle not found.");
+                    completion.complete(false);
+                    return;
+                }
+                RentalMovement movement = new RentalMovement(rental, vehicle, MainApplication.simulationMap);
+                movement.start();
+                step(rental, movement, completion);
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+            }
+        });
+        return completion;
+    }
+
+    /**
+     * Makes the next step of a rental and schedules the following one after the step pause,
+     * or finishes the movement if the vehicle has stopped.
+     *
+     * @param rental the rental
+     * @param movement the movement of the rental's vehicle
+     * @param completion the future completed when the vehicle has stopped
+     */
+    private void step(Rental rental, RentalMovement movement, CompletableFuture<Boolean> completion)
+    {
+        try {
+            if (movement.hasNextStep()) {
+                movement.step();
+                long nextStepTime = MainApplication.simulationClock.now() + movement.getStepPause();
+                scheduleStep(rental, movement, completion, nextStepTime);
+            } else {
+                movement.finish();
+                completion.complete(true);
+            }
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Schedules the next step of a rental for the given simulated time. The real delay is taken from the
+     * simulation clock; if the clock was paused or slowed down in the meantime, the step is scheduled again.
+     *
+     * @param rental the rental
+     * @param movement the movement of the rental's vehicle
+     * @param completion the future completed when the vehicle has stopped
+     * @param time the simulated time of the next step
+     */
+    private void scheduleStep(Rental rental, RentalMovement movement, CompletableFuture<Boolean> completion, long time)
+    {
+        long delay = MainApplication.simulationClock.realDelayUntil(time);
+        if (delay > 0) {
+            scheduler.schedule(() -> scheduleStep(rental, movement, completion, time), delay, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler.execute(() -> step(rental, movement, completion));
+        }
+    }
+
+    /**
+     * Stops the scheduler after the already scheduled steps have run.
+     */
+    @Override
+    public void shutdown()
+    {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,103 @@
+package net.etf.project.simulation;
+
+/**
+ * The SimulationClock interface is the source of time for the simulation. All waiting in the simulation,
+ * the pauses between the steps of a rental and the pauses between groups of rentals, goes through the clock,
+ * so the simulation can be sped up, paused, fast-forwarded, or run without waiting at all.
+ * <p>
+ * Times and durations are in simulated milliseconds. At speed 1 one simulated millisecond lasts one real millisecond.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public interface SimulationClock
+{
+    /**
+     * The lowest supported speed multiplier.
+     */
+    double MIN_SPEED = 1;
+
+    /**
+     * The highest supported speed multiplier.
+     */
+    double MAX_SPEED = 1000;
+
+    /**
+     * Returns the current simulated time.
+     *
+     * @return the simulated time in milliseconds since the clock was created
+     */
+    long now();
+
+    /**
+     * Waits until the given amount of simulated time has passed.
+     *
+     * @param millis the simulated time to wait, in milliseconds
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    void sleep(long millis) throws InterruptedException;
+
+    /**
+     * Returns the real time, in milliseconds, until the given simulated time is reached at the current speed.
+     * It is used by callers that schedule work instead of sleeping. While the clock is paused
+     * a short polling interval is returned, so the caller checks again later.
+     *
+     * @param time the simulated time
+     * @return the real delay in milliseconds, zero if the time has already been reached
+     */
+    long realDelayUntil(long time);
+
+    /**
+     * Returns the speed multiplier.
+     *
+     * @return how many simulated milliseconds pass in one real millisecond
+     */
+    double getSpeed();
+
+    /**
+     * Sets the speed multiplier. Threads that are already waiting continue at the new speed.
+     *
+     * @param speed how many simulated milliseconds pass in one real millisecond, from {@link #MIN_SPEED} to {@link #MAX_SPEED}
+     * @throws IllegalArgumentException if the speed is out of range
+     */
+    void setSpeed(double speed);
+
+    /**
+     * Stops the simulated time. Waiting threads do not wake up until the clock is resumed.
+     */
+    void pause();
+
+    /**
+     * Continues the simulated time after a pause.
+     */
+    void resume();
+
+    /**
+     * Checks whether the clock is paused.
+     *
+     * @return {@code true} if the simulated time is stopped, {@code false} otherwise
+     */
+    boolean isPaused();
+
+    /**
+     * Moves the simulated time forward to the given time. Threads waiting for a time up to it wake up.
+     * Times in the past are ignored.
+     *
+     * @param time the simulated time to skip to
+     */
+    void skipTo(long time);
+
+    /**
+     * Checks that a speed multiplier is in the supported range.
+     *
+     * @param speed the speed multiplier
+     * @throws IllegalArgumentException if the speed is out of range
+     */
+    static void checkSpeed(double speed)
+    {
+        if(!(speed >= MIN_SPEED && speed <= MAX_SPEED))
+        {
+            throw new IllegalArgumentException("Simulation speed must be between " + MIN_SPEED + " and " + MAX_SPEED + ", was " + speed);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package net.etf.project.simulation;
+
+import net.etf.project.model.rental.Rental;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The ThreadPerRentalExecutor class runs every rental on a new thread created by a thread factory.
+ * With platform threads this is the original behaviour of the simulation, with virtual threads
+ * a sleeping rental does not hold an operating system thread.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class ThreadPerRentalExecutor implements RentalExecutor
+{
+    /**
+     * The factory that creates the rental threads.
+     */
+    private final ThreadFactory threadFactory;
+
+    /**
+     * Constructs an executor that runs rentals on threads created by the given factory.
+     *
+     * @param threadFactory the factory that creates the rental threads
+     */
+    public ThreadPerRentalExecutor(ThreadFactory threadFactory)
+    {
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Starts a new thread that moves the rental's vehicle.
+     *
+     * @param rental the rental whose vehicle moves
+     * @return a future completed when the rental thread has finished the movement
+     */
+    @Override
+    public CompletableFuture<Boolean> submitMovement(Rental rental)
+    {
+        CompletableFuture<Boolean> movement = new CompletableFuture<>();
+        threadFactory.newThread(() -> {
+            try {
+                movement.complete(rental.simulateMovement());
+            } catch (InterruptedException | RuntimeException e) {
+                movement.completeExceptionally(e);
+            }
+        }).start();
+        return movement;
+    }
+
+    /**
+     * Does nothing, because every thread ends together with its rental.
+     */
+    @Override
+    public void shutdown()
+    {
+    }
+}
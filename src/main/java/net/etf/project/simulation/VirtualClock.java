@@ -0,0 +1,145 @@
+package net.etf.project.simulation;
+
+/**
+ * The VirtualClock class is a simulation clock that never waits. Sleeping moves the simulated time forward
+ * by the requested amount and returns immediately, so a simulation driven by this clock runs as fast as possible
+ * and its timing does not depend on the machine it runs on. The speed multiplier is stored but has no effect.
+ * <p>
+ * The clock is meant for a single simulation thread; with several sleeping threads their sleeps add up.
+ * While the clock is paused, sleeping threads wait until it is resumed.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class VirtualClock implements SimulationClock
+{
+    /**
+     * The current simulated time.
+     */
+    private long time;
+
+    /**
+     * The stored speed multiplier.
+     */
+    private double speed = MIN_SPEED;
+
+    /**
+     * Whether the simulated time is stopped.
+     */
+    private boolean paused;
+
+    /**
+     * Returns the current simulated time.
+     *
+     * @return the simulated time in milliseconds since the clock was created
+     */
+    @Override
+    public synchronized long now()
+    {
+        return time;
+    }
+
+    /**
+     * Moves the simulated time forward by the given amount without waiting, unless the clock is paused.
+     *
+     * @param millis the simulated time to wait, in milliseconds
+     * @throws InterruptedException if the thread is interrupted while the clock is paused
+     */
+    @Override
+    public synchronized void sleep(long millis) throws InterruptedException
+    {
+        while(paused)
+        {
+            wait();
+        }
+        if(millis > 0)
+        {
+            time += millis;
+        }
+    }
+
+    /**
+     * Moves the simulated time forward to the given time, unless the clock is paused, and returns no delay.
+     *
+     * @param time the simulated time
+     * @return zero, or a short polling interval while the clock is paused
+     */
+    @Override
+    public synchronized long realDelayUntil(long time)
+    {
+        if(paused)
+        {
+            return 1;
+        }
+        skipTo(time);
+        return 0;
+    }
+
+    /**
+     * Returns the stored speed multiplier.
+     *
+     * @return the speed multiplier
+     */
+    @Override
+    public synchronized double getSpeed()
+    {
+        return speed;
+    }
+
+    /**
+     * Stores the speed multiplier, which has no effect on this clock.
+     *
+     * @param speed the speed multiplier
+     * @throws IllegalArgumentException if the speed is out of range
+     */
+    @Override
+    public synchronized void setSpeed(double speed)
+    {
+        SimulationClock.checkSpeed(speed);
+        this.speed = speed;
+    }
+
+    /**
+     * Stops the simulated time.
+     */
+    @Override
+    public synchronized void pause()
+    {
+        paused = true;
+    }
+
+    /**
+     * Continues the simulated time and wakes up the waiting threads.
+     */
+    @Override
+    public synchronized void resume()
+    {
+        paused = false;
+        notifyAll();
+    }
+
+    /**
+     * Checks whether the clock is paused.
+     *
+     * @return {@code true} if the simulated time is stopped, {@code false} otherwise
+     */
+    @Override
+    public synchronized boolean isPaused()
+    {
+        return paused;
+    }
+
+    /**
+     * Moves the simulated time forward to the given time.
+     *
+     * @param time the simulated time to skip to
+     */
+    @Override
+    public synchronized void skipTo(long time)
+    {
+        if(time > this.time)
+        {
+            this.time = time;
+        }
+    }
+}
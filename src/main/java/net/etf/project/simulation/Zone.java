@@ -0,0 +1,82 @@
+package net.etf.project.simulation;
+
+/**
+ * The Zone class describes a pricing zone of the city: its identifier, its name and whether it belongs
+ * to the wide or to the narrow area of the city, which determines the distance coefficient of a ride.
+ * Zones are immutable.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class Zone
+{
+    /**
+     * The unique identifier of the zone.
+     */
+    private final String id;
+
+    /**
+     * The name of the zone.
+     */
+    private final String name;
+
+    /**
+     * Whether the zone belongs to the wide area of the city.
+     */
+    private final boolean wide;
+
+    /**
+     * Constructs a zone.
+     *
+     * @param id the unique identifier of the zone
+     * @param name the name of the zone
+     * @param wide {@code true} if the zone belongs to the wide area, {@code false} if it belongs to the narrow area
+     */
+    public Zone(String id, String name, boolean wide)
+    {
+        this.id = id;
+        this.name = name;
+        this.wide = wide;
+    }
+
+    /**
+     * Returns the identifier of the zone.
+     *
+     * @return the identifier of the zone
+     */
+    public String getId()
+    {
+        return id;
+    }
+
+    /**
+     * Returns the name of the zone.
+     *
+     * @return the name of the zone
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Checks whether the zone belongs to the wide area of the city.
+     *
+     * @return {@code true} for the wide area, {@code false} for the narrow area
+     */
+    public boolean isWide()
+    {
+        return wide;
+    }
+
+    /**
+     * Returns a string representation of the zone.
+     *
+     * @return the identifier, name and area of the zone
+     */
+    @Override
+    public String toString()
+    {
+        return id + " (" + name + ", " + (wide ? "wide" : "narrow") + " area)";
+    }
+}
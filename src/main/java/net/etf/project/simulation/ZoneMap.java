@@ -0,0 +1,276 @@
+package net.etf.project.simulation;
+
+import java.util.*;
+
+/**
+ * The ZoneMap class holds the division of the city into pricing zones, each of which belongs to the wide or
+ * the narrow area. It is built once and shared by pricing, rendering and statistics.
+ * <p>
+ * Every field stores the index of its zone in one byte, so the zone of a field is found with one array read
+ * and a map can have up to {@value #MAX_ZONES} zones. For the wide area, prefix counts of wide fields are kept
+ * for every row and every column, so the number of wide fields on any horizontal or vertical segment is found
+ * with two array reads, and checking whether a path enters the wide area does not depend on the length of the path.
+ * The prefix counts are stored as {@code char} values, so the whole structure takes five bytes per field.
+ * Fields that vehicles cannot pass through, such as buildings or closed streets, are marked in a bit set.
+ * <p>
+ * Fields are addressed the same way as rental locations: x from 0 to width - 1 and y from 0 to height - 1.
+ * The map is immutable and can be shared by all threads.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class ZoneMap
+{
+    /**
+     * The largest number of zones, limited by the one byte used per field.
+     */
+    public static final int MAX_ZONES = 256;
+
+    /**
+     * The largest width or height of a map, limited by the {@code char} prefix counts.
+     */
+    public static final int MAX_SIZE = Character.MAX_VALUE;
+
+    /**
+     * The width of the map.
+     */
+    private final int width;
+
+    /**
+     * The height of the map.
+     */
+    private final int height;
+
+    /**
+     * The zones of the map, indexed by the values stored in {@link #fields}.
+     */
+    private final Zone[] zones;
+
+    /**
+     * The index of the zone of every field, the field (x, y) has the index {@code x * height + y}.
+     */
+    private final byte[] fields;
+
+    /**
+     * For every column x, the number of wide fields in rows 0 to y - 1 is at index {@code x * (height + 1) + y}.
+     */
+    private final char[] columnPrefix;
+
+    /**
+     * For every row y, the number of wide fields in columns 0 to x - 1 is at index {@code y * (width + 1) + x}.
+     */
+    private final char[] rowPrefix;
+
+    /**
+     * The fields vehicles cannot pass through, the field (x, y) has the bit {@code x * height + y}.
+     */
+    private final BitSet blocked;
+
+    /**
+     * Constructs a zone map in which the wide area is the border of the city with the given thickness,
+     * and the narrow area is the rest of the city inside it. With a 20 x 20 map and a border of 5 fields,
+     * the wide area consists of the fields with x or y from 0 to 4 or from 15 to 19.
+     *
+     * @param width the width of the map
+     * @param height the height of the map
+     * @param border the thickness of the wide area along each edge of the map, in fields
+     * @return the zone map
+     */
+    public static ZoneMap withWideBorder(int width, int height, int border)
+    {
+        Zone[] zones = { new Zone("NARROW", "Narrow area", false), new Zone("WIDE", "Wide area", true) };
+        byte[] fields = new byte[width * height];
+        for(int x = 0; x < width; x++)
+        {
+            for(int y = 0; y < height; y++)
+            {
+                if(x < border || x >= width - border || y < border || y >= height - border)
+                {
+                    fields[x * height + y] = 1;
+                }
+            }
+        }
+        return new ZoneMap(width, height, zones, fields);
+    }
+
+    /**
+     * Constructs a zone map without blocked fields from the zones and the zone index of every field.
+     *
+     * @param width the width of the map
+     * @param height the height of the map
+     * @param zones the zones of the map
+     * @param fields the index of the zone of every field, indexed by {@code x * height + y}
+     * @throws IllegalArgumentException if the sizes do not match, or there are too many zones or fields
+     */
+    public ZoneMap(int width, int height, Zone[] zones, byte[] fields)
+    {
+        this(width, height, zones, fields, new BitSet());
+    }
+
+    /**
+     * Constructs a zone map from the zones, the zone index of every field and the blocked fields,
+     * and computes the prefix counts.
+     *
+     * @param width the width of the map
+     * @param height the height of the map
+     * @param zones the zones of the map
+     * @param fields the index of the zone of every field, indexed by {@code x * height + y}
+     * @param blocked the fields vehicles cannot pass through, indexed by {@code x * height + y}
+     * @throws IllegalArgumentException if the sizes do not match, or there are too many zones or fields
+     */
+    public ZoneMap(int width, int height, Zone[] zones, byte[] fields, BitSet blocked)
+    {
+        if(width > MAX_SIZE || height > MAX_SIZE)
+        {
+            throw new IllegalArgumentException("Zone map of " + width + " x " + height + " fields is larger than " + MAX_SIZE);
+        }
+        if(zones.length == 0 || zones.length > MAX_ZONES)
+        {
+            throw new IllegalArgumentException("Zone map must have from 1 to " + MAX_ZONES + " zones, has " + zones.length);
+        }
+        if(fields.length != width * height)
+        {
+            throw new IllegalArgumentException("Zone map has " + fields.length + " fields, expected " + width * height);
+        }
+        this.width = width;
+        this.height = height;
+        this.zones = zones.clone();
+        this.fields = fields.clone();
+        this.blocked = (BitSet) blocked.clone();
+        this.columnPrefix = new char[width * (height + 1)];
+        this.rowPrefix = new char[height * (width + 1)];
+        for(int x = 0; x < width; x++)
+        {
+            for(int y = 0; y < height; y++)
+            {
+                int zone = Byte.toUnsignedInt(this.fields[x * height + y]);
+                if(zone >= this.zones.length)
+                {
+                    throw new IllegalArgumentException("Field (" + x + ", " + y + ") has unknown zone " + zone);
+                }
+                int wide = this.zones[zone].isWide() ? 1 : 0;
+                columnPrefix[x * (height + 1) + y + 1] = (char) (columnPrefix[x * (height + 1) + y] + wide);
+                rowPrefix[y * (width + 1) + x + 1] = (char) (rowPrefix[y * (width + 1) + x] + wide);
+            }
+        }
+    }
+
+    /**
+     * Returns the width of the map.
+     *
+     * @return the number of fields along the x-axis
+     */
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Returns the height of the map.
+     *
+     * @return the number of fields along the y-axis
+     */
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Returns the zones of the map.
+     *
+     * @return a read-only list of the zones
+     */
+    public List<Zone> getZones()
+    {
+        return Collections.unmodifiableList(Arrays.asList(zones));
+    }
+
+    /**
+     * Returns the zone of a field.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @return the zone of the field
+     * @throws IndexOutOfBoundsException if the field is not on the map
+     */
+    public Zone getZone(int x, int y)
+    {
+        if(x < 0 || x >= width || y < 0 || y >= height)
+        {
+            throw new IndexOutOfBoundsException("Field (" + x + ", " + y + ") is outside the map.");
+        }
+        return zones[Byte.toUnsignedInt(fields[x * height + y])];
+    }
+
+    /**
+     * Checks whether a field belongs to the wide area.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @return {@code true} if the field is on the map and in the wide area, {@code false} otherwise
+     */
+    public boolean isWide(int x, int y)
+    {
+        return x >= 0 && x < width && y >= 0 && y < height && zones[Byte.toUnsignedInt(fields[x * height + y])].isWide();
+    }
+
+    /**
+     * Checks whether vehicles cannot pass through a field.
+     *
+     * @param x the x-coordinate of the field
+     * @param y the y-coordinate of the field
+     * @return {@code true} if the field is outside the map or blocked, {@code false} otherwise
+     */
+    public boolean isBlocked(int x, int y)
+    {
+        return x < 0 || x >= width || y < 0 || y >= height || blocked.get(x * height + y);
+    }
+
+    /**
+     * Counts the wide fields in a column between two rows, both inclusive, in any order.
+     *
+     * @param x the column
+     * @param y1 one end of the segment
+     * @param y2 the other end of the segment
+     * @return the number of wide fields on the segment
+     */
+    public int countWideInColumn(int x, int y1, int y2)
+    {
+        int from = Math.min(y1, y2);
+        int to = Math.max(y1, y2);
+        int base = x * (height + 1);
+        return columnPrefix[base + to + 1] - columnPrefix[base + from];
+    }
+
+    /**
+     * Counts the wide fields in a row between two columns, both inclusive, in any order.
+     *
+     * @param y the row
+     * @param x1 one end of the segment
+     * @param x2 the other end of the segment
+     * @return the number of wide fields on the segment
+     */
+    public int countWideInRow(int y, int x1, int x2)
+    {
+        int from = Math.min(x1, x2);
+        int to = Math.max(x1, x2);
+        int base = y * (width + 1);
+        return rowPrefix[base + to + 1] - rowPrefix[base + from];
+    }
+
+    /**
+     * Checks whether the path of a vehicle enters the wide area. The vehicle first moves along the y-axis
+     * in the start column and then along the x-axis in the end row, so the path is the segment of column
+     * {@code startX} from {@code startY} to {@code endY} and the segment of row {@code endY} from {@code startX} to {@code endX}.
+     *
+     * @param startX the x-coordinate of the start location
+     * @param startY the y-coordinate of the start location
+     * @param endX the x-coordinate of the end location
+     * @param endY the y-coordinate of the end location
+     * @return {@code true} if any field of the path is in the wide area, {@code false} otherwise
+     */
+    public boolean isPathInWideArea(int startX, int startY, int endX, int endY)
+    {
+        return countWideInColumn(startX, startY, endY) > 0 || countWideInRow(endY, startX, endX) > 0;
+    }
+}
@@ -1,12 +1,8 @@
 package net.etf.project.statistics;
 
+import net.etf.project.financial.Money;
 import net.etf.project.financial.Receipt;
 import net.etf.project.gui.MainApplication;
-import net.etf.project.model.rental.Rental;
-import net.etf.project.model.vehicles.Bicycle;
-import net.etf.project.model.vehicles.Car;
-import net.etf.project.model.vehicles.Scooter;
-import net.etf.project.model.vehicles.Vehicle;
 import net.etf.project.gui.MainApplication;
 
 import java.util.*;
@@ -18,6 +14,7 @@ import static net.etf.project.gui.MainApplication.receipts;
  * The {@code DailyReport} class represents a summary of financial and operational metrics
  * for a particular day. It aggregates data from all the receipts for that day and calculates
  * important statistics like income, discounts, promotions, repair costs, and more.
+ * All amounts are kept in minor units, see {@link Money}, and are formatted as decimal numbers only when printed.
  *
  * @author Jovana Šikanjić
  * @version 1.0
@@ -31,31 +28,31 @@ public class DailyReport
     /**
      * The total income generated from vehicle rentals on the specified date.
      */
-    private double dailyIncome;
+    private long dailyIncome;
     /**
      * The total amount of discounts applied on rentals for the specified date.
      */
-    private double dailyDiscounts;
+    private long dailyDiscounts;
     /**
      * The total amount of promotions applied on rentals for the specified date.
      */
-    private double dailyPromotions;
+    private long dailyPromotions;
     /**
      * The total income generated from rentals in wide areas on the specified date.
      */
-    private double dailyWideAreaIncome;
+    private long dailyWideAreaIncome;
     /**
      * The total income generated from rentals in narrow areas on the specified date.
      */
-    private double dailyNarrowAreaIncome;
+    private long dailyNarrowAreaIncome;
     /**
      * The total maintenance costs on the specified date.
      */
-    private double dailyMaintenanceCost;
+    private long dailyMaintenanceCost;
     /**
      * The total repair costs on the specified date.
      */
-    private double dailyRepairCosts;
+    private long dailyRepairCosts;
 
     /**
      * Constructs a {@code DailyReport} object for a given date.
@@ -71,33 +68,20 @@ public class DailyReport
 
     /**
      * Calculates the daily metrics such as income, discounts, promotions, wide and narrow area income,
-     * maintenance costs, and repair costs.
+     * maintenance costs, and repair costs. The receipts are added up in one pass by a {@link ReportAccumulator}.
      *
      * @param receipts the list of receipts from which to calculate the metrics
      */
     public void calculateMetrics(List<Receipt> receipts)
     {
-        dailyIncome = receipts.stream().mapToDouble(Receipt::getTotalPrice).sum();
-        dailyDiscounts = receipts.stream().mapToDouble(Receipt::getDiscount).sum();
-        dailyPromotions = receipts.stream().mapToDouble(Receipt::getPromotion).sum();
-        dailyWideAreaIncome = receipts.stream().filter(Receipt::isInWideArea).mapToDouble(Receipt::getTotalPrice).sum();
-        dailyNarrowAreaIncome = receipts.stream().filter(r -> !r.isInWideArea()).mapToDouble(Receipt::getTotalPrice).sum();
-        dailyMaintenanceCost = dailyIncome * MainApplication.MAINTENANCE_COEFFICIENT;
-        dailyRepairCosts = receipts.stream()
-                .mapToDouble(receipt -> {
-                    Rental rental = receipt.getRental();
-                    Vehicle vehicle = rental.findVehicleById();
-                    if (rental.isHasMalfunction()) {
-                        if (vehicle instanceof Car) {
-                            return MainApplication.CAR_COEFFICIENT * vehicle.getPurchasePrice();
-                        } else if (vehicle instanceof Bicycle) {
-                            return MainApplication.BICYCLE_COEFFICIENT * vehicle.getPurchasePrice();
-                        } else if (vehicle instanceof Scooter) {
-                            return MainApplication.SCOOTER_COEFFICIENT * vehicle.getPurchasePrice();
-                        }
-                    }
-                    return 0;
-                }).sum();
+        ReportAccumulator totals = ReportAccumulator.collect(receipts);
+        dailyIncome = totals.getIncome();
+        dailyDiscounts = totals.getDiscounts();
+        dailyPromotions = totals.getPromotions();
+        dailyWideAreaIncome = totals.getWideAreaIncome();
+        dailyNarrowAreaIncome = totals.getNarrowAreaIncome();
+        dailyMaintenanceCost = Money.share(dailyIncome, MainApplication.MAINTENANCE_COEFFICIENT);
+        dailyRepairCosts = totals.getRepairCosts();
         printDailyReport();
     }
 
@@ -108,12 +92,12 @@ public class DailyReport
     public void printDailyReport()
     {
         System.out.println("Date: " + date + "\n");
-        System.out.println("Income : " + dailyIncome + "\n");
-        System.out.println("Discount: " + dailyDiscounts + "\n");
-        System.out.println("Promotion: " + dailyPromotions + "\n");
-        System.out.println("In wide area: " + dailyWideAreaIncome + "\n");
-        System.out.println("In narrow area: " + dailyNarrowAreaIncome + "\n");
-        System.out.println("Repair costs: " + dailyRepairCosts + "\n");
+        System.out.println("Income : " + Money.format(dailyIncome) + "\n");
+        System.out.println("Discount: " + Money.format(dailyDiscounts) + "\n");
+        System.out.println("Promotion: " + Money.format(dailyPromotions) + "\n");
+        System.out.println("In wide area: " + Money.format(dailyWideAreaIncome) + "\n");
+        System.out.println("In narrow area: " + Money.format(dailyNarrowAreaIncome) + "\n");
+        System.out.println("Repair costs: " + Money.format(dailyRepairCosts) + "\n");
         System.out.println("-----------------------------------------------------");
     }
 
@@ -122,7 +106,7 @@ public class DailyReport
      *
      * @return the daily discounts
      */
-    public double getDailyDiscounts() {
+    public long getDailyDiscounts() {
         return dailyDiscounts;
     }
 
@@ -131,7 +115,7 @@ public class DailyReport
      *
      * @param dailyDiscounts the daily discounts to set
      */
-    public void setDailyDiscounts(double dailyDiscounts) {
+    public void setDailyDiscounts(long dailyDiscounts) {
         this.dailyDiscounts = dailyDiscounts;
     }
 
@@ -140,7 +124,7 @@ public class DailyReport
      *
      * @return the daily income
      */
-    public double getDailyIncome() {
+    public long getDailyIncome() {
         return dailyIncome;
     }
 
@@ -149,7 +133,7 @@ public class DailyReport
      *
      * @param dailyIncome the daily income to set
      */
-    public void setDailyIncome(double dailyIncome) {
+    public void setDailyIncome(long dailyIncome) {
         this.dailyIncome = dailyIncome;
     }
 
@@ -158,7 +142,7 @@ public class DailyReport
      *
      * @return the daily maintenance cost
      */
-    public double getDailyMaintenanceCost() {
+    public long getDailyMaintenanceCost() {
         return dailyMaintenanceCost;
     }
 
@@ -167,7 +151,7 @@ public class DailyReport
      *
      * @param dailyMaintenanceCost the maintenance cost to set
      */
-    public void setDailyMaintenanceCost(double dailyMaintenanceCost) {
+    public void setDailyMaintenanceCost(long dailyMaintenanceCost) {
         this.dailyMaintenanceCost = dailyMaintenanceCost;
     }
 
@@ -176,7 +160,7 @@ public class DailyReport
      *
      * @return the narrow area income
      */
-    public double getDailyNarrowAreaIncome() {
+    public long getDailyNarrowAreaIncome() {
         return dailyNarrowAreaIncome;
     }
 
@@ -185,7 +169,7 @@ public class DailyReport
      *
      * @param dailyNarrowAreaIncome the narrow area income to set
      */
-    public void setDailyNarrowAreaIncome(double dailyNarrowAreaIncome) {
+    public void setDailyNarrowAreaIncome(long dailyNarrowAreaIncome) {
         this.dailyNarrowAreaIncome = dailyNarrowAreaIncome;
     }
 
@@ -194,7 +178,7 @@ public class DailyReport
      *
      * @return the daily promotions
      */
-    public double getDailyPromotions() {
+    public long getDailyPromotions() {
         return dailyPromotions;
     }
 
@@ -203,7 +187,7 @@ public class DailyReport
      *
      * @param dailyPromotions the promotions to set
      */
-    public void setDailyPromotions(double dailyPromotions) {
+    public void setDailyPromotions(long dailyPromotions) {
         this.dailyPromotions = dailyPromotions;
     }
 
@@ -212,7 +196,7 @@ public class DailyReport
      *
      * @return the daily repair costs
      */
-    public double getDailyRepairCosts() {
+    public long getDailyRepairCosts() {
         return dailyRepairCosts;
     }
 
@@ -221,7 +205,7 @@ public class DailyReport
      *
      * @param dailyRepairCosts the repair costs to set
      */
-    public void setDailyRepairCosts(double dailyRepairCosts) {
+    public void setDailyRepairCosts(long dailyRepairCosts) {
         this.dailyRepairCosts = dailyRepairCosts;
     }
 
@@ -230,7 +214,7 @@ public class DailyReport
      *
      * @return the wide area income
      */
-    public double getDailyWideAreaIncome() {
+    public long getDailyWideAreaIncome() {
         return dailyWideAreaIncome;
     }
 
@@ -239,7 +223,7 @@ public class DailyReport
      *
      * @param dailyWideAreaIncome the wide area income to set
      */
-    public void setDailyWideAreaIncome(double dailyWideAreaIncome) {
+    public void setDailyWideAreaIncome(long dailyWideAreaIncome) {
         this.dailyWideAreaIncome = dailyWideAreaIncome;
     }
 
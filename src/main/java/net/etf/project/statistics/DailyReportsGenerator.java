@@ -2,10 +2,10 @@ package net.etf.project.statistics;
 
 import net.etf.project.financial.Receipt;
 import net.etf.project.gui.MainApplication;
+import net.etf.project.util.DateTimeUtils;
 
+import java.time.LocalDate;
 import java.util.*;
-import java.text.SimpleDateFormat;
-import java.util.stream.Collectors;
 
 /**
  * The {@code DailyReportsGenerator} class is responsible for generating daily financial reports
@@ -18,16 +18,32 @@ public class DailyReportsGenerator
 {
     /**
      * Generates a list of {@code DailyReport} objects, each representing a report for a specific date.
-     * The receipts are grouped by the date of the rental, and a {@code DailyReport} is created for each date.
+     * The receipts are read from the {@link MainApplication#receiptStore} already sorted by the time of the rental,
+     * so the receipts of one calendar day follow each other and a {@code DailyReport} is created for each day,
+     * in chronological order, without grouping. The date is formatted only once per report.
      *
      * @return a list of {@code DailyReport} objects for all the dates with receipts
      */
     public static List<DailyReport> generateAllDailyReports()
     {
-        Map<String, List<Receipt>> receiptsByDate = MainApplication.receipts.stream()
-                .collect(Collectors.groupingBy(r -> new SimpleDateFormat("dd.MM.yyyy").format(r.getRental().getRentalDateTime())));
-        return receiptsByDate.entrySet().stream()
-                .map(entry -> new DailyReport(entry.getKey(), entry.getValue()))
-                .collect(Collectors.toList());
+        List<DailyReport> reports = new ArrayList<>();
+        List<Receipt> receipts = MainApplication.receiptStore.findAll();
+        int dayStart = 0;
+        LocalDate day = null;
+        for(int i = 0; i < receipts.size(); i++)
+        {
+            LocalDate date = DateTimeUtils.toLocalDate(receipts.get(i).getRental().getRentalDateTime());
+            if(day != null && !date.equals(day))
+            {
+                reports.add(new DailyReport(DateTimeUtils.formatReportDate(day), receipts.subList(dayStart, i)));
+                dayStart = i;
+            }
+            day = date;
+        }
+        if(day != null)
+        {
+            reports.add(new DailyReport(DateTimeUtils.formatReportDate(day), receipts.subList(dayStart, receipts.size())));
+        }
+        return reports;
     }
 }
@@ -0,0 +1,209 @@
+package net.etf.project.statistics;
+
+import net.etf.project.financial.Money;
+import net.etf.project.financial.Receipt;
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.rental.Rental;
+import net.etf.project.model.vehicles.Vehicle;
+
+import java.util.List;
+
+/**
+ * The {@code ReportAccumulator} class adds up the amounts of many receipts in a single pass: the income,
+ * the discounts, the promotions, the income in the wide and in the narrow area and the repair costs.
+ * It is used by both the {@link SummaryReport} and the {@link DailyReport}.
+ * <p>
+ * Accumulators of different parts of the receipts can be merged, so the receipts can be added up
+ * in parallel, with one accumulator per part. All amounts are in minor units, see {@link Money},
+ * so the result is exactly the same in every order. An accumulator is not thread safe; every thread
+ * uses its own accumulator until they are merged.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class ReportAccumulator
+{
+    /**
+     * The smallest number of receipts that are added up in parallel by {@link #collect(List)}.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * The number of receipts added.
+     */
+    private long count;
+    /**
+     * The total income of the receipts.
+     */
+    private long income;
+    /**
+     * The total discounts of the receipts.
+     */
+    private long discounts;
+    /**
+     * The total promotions of the receipts.
+     */
+    private long promotions;
+    /**
+     * The total income of the receipts of rentals in the wide area.
+     */
+    private long wideAreaIncome;
+    /**
+     * The total income of the receipts of rentals in the narrow area.
+     */
+    private long narrowAreaIncome;
+    /**
+     * The total repair costs of the vehicles that had a malfunction during the rentals.
+     */
+    private long repairCosts;
+
+    /**
+     * Adds up the amounts of a list of receipts. Large lists are split and added up in parallel.
+     *
+     * @param receipts the receipts
+     * @return the accumulator holding the totals of the receipts
+     */
+    public static ReportAccumulator collect(List<Receipt> receipts)
+    {
+        if(receipts.size() >= PARALLEL_THRESHOLD)
+        {
+            return receipts.parallelStream().collect(ReportAccumulator::new, ReportAccumulator::add, ReportAccumulator::merge);
+        }
+        ReportAccumulator accumulator = new ReportAccumulator();
+        for(Receipt receipt : receipts)
+        {
+            accumulator.add(receipt);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Adds the amounts of a receipt.
+     *
+     * @param receipt the receipt
+     */
+    public void add(Receipt receipt)
+    {
+        count++;
+        income += receipt.getTotalPrice();
+        discounts += receipt.getDiscount();
+        promotions += receipt.getPromotion();
+        if(receipt.isInWideArea())
+        {
+            wideAreaIncome += receipt.getTotalPrice();
+        } else {
+            narrowAreaIncome += receipt.getTotalPrice();
+        }
+        Rental rental = receipt.getRental();
+        if(rental.isHasMalfunction())
+        {
+            repairCosts += repairCost(rental.getRentalVehicleId());
+        }
+    }
+
+    /**
+     * Adds the totals of another accumulator to this one.
+     *
+     * @param other the other accumulator
+     */
+    public void merge(ReportAccumulator other)
+    {
+        count += other.count;
+        income += other.income;
+        discounts += other.discounts;
+        promotions += other.promotions;
+        wideAreaIncome += other.wideAreaIncome;
+        narrowAreaIncome += other.narrowAreaIncome;
+        repairCosts += other.repairCosts;
+    }
+
+    /**
+     * Returns the cost of repairing a vehicle after a malfunction: the purchase price of the vehicle
+     * multiplied by the repair coefficient of its type.
+     *
+     * @param vehicleId the ID of the vehicle
+     * @return the repair cost in minor units, or 0 if the vehicle is not found
+     */
+    private static long repairCost(String vehicleId)
+    {
+        Vehicle vehicle = MainApplication.vehicleRegistry.findById(vehicleId);
+        if(vehicle == null)
+        {
+            return 0;
+        }
+        switch(MainApplication.vehicleRegistry.getType(vehicleId))
+        {
+            case CAR:
+                return Money.ofUnits(MainApplication.CAR_COEFFICIENT * vehicle.getPurchasePrice());
+            case BICYCLE:
+                return Money.ofUnits(MainApplication.BICYCLE_COEFFICIENT * vehicle.getPurchasePrice());
+            case SCOOTER:
+                return Money.ofUnits(MainApplication.SCOOTER_COEFFICIENT * vehicle.getPurchasePrice());
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the number of receipts added.
+     *
+     * @return the number of receipts
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the total income of the receipts.
+     *
+     * @return the income in minor units
+     */
+    public long getIncome() {
+        return income;
+    }
+
+    /**
+     * Returns the total discounts of the receipts.
+     *
+     * @return the discounts in minor units
+     */
+    public long getDiscounts() {
+        return discounts;
+    }
+
+    /**
+     * Returns the total promotions of the receipts.
+     *
+     * @return the promotions in minor units
+     */
+    public long getPromotions() {
+        return promotions;
+    }
+
+    /**
+     * Returns the total income of the receipts of rentals in the wide area.
+     *
+     * @return the wide area income in minor units
+     */
+    public long getWideAreaIncome() {
+        return wideAreaIncome;
+    }
+
+    /**
+     * Returns the total income of the receipts of rentals in the narrow area.
+     *
+     * @return the narrow area income in minor units
+     */
+    public long getNarrowAreaIncome() {
+        return narrowAreaIncome;
+    }
+
+    /**
+     * Returns the total repair costs of the vehicles that had a malfunction.
+     *
+     * @return the repair costs in minor units
+     */
+    public long getRepairCosts() {
+        return repairCosts;
+    }
+}
@@ -1,14 +1,8 @@
 package net.etf.project.statistics;
 
+import net.etf.project.financial.Money;
 import net.etf.project.financial.Receipt;
 import net.etf.project.gui.MainApplication;
-import net.etf.project.model.rental.Rental;
-import net.etf.project.model.vehicles.Bicycle;
-import net.etf.project.model.vehicles.Car;
-import net.etf.project.model.vehicles.Scooter;
-import net.etf.project.model.vehicles.Vehicle;
-
-import java.util.*;
 
 import static net.etf.project.gui.MainApplication.receipts;
 
@@ -16,7 +10,8 @@ import static net.etf.project.gui.MainApplication.receipts;
  * The {@code SummaryReport} class is responsible for generating and printing
  * a summary report of the rental receipts. It calculates various financial
  * metrics such as total income, discounts, promotions, and costs related to
- * the maintenance and repair of vehicles.
+ * the maintenance and repair of vehicles. All amounts are kept in minor units,
+ * see {@link Money}, and are formatted as decimal numbers only when printed.
  *
  * @author Jovana Šikanjić
  * @version 1.0
@@ -26,82 +21,62 @@ public class SummaryReport
     /**
      * The total income generated from vehicle rentals.
      */
-    private double totalIncome;
+    private long totalIncome;
     /**
      * The total amount of discounts applied to rentals.
      */
-    private double totalDiscounts;
+    private long totalDiscounts;
     /**
      * The total amount of promotions applied to rentals.
      */
-    private double totalPromotions;
+    private long totalPromotions;
     /**
      * The total income generated from rentals in wide areas.
      */
-    private double totalWideAreaIncome;
+    private long totalWideAreaIncome;
     /**
      * The total income generated from rentals in narrow areas.
      */
-    private double totalNarrowAreaIncome;
+    private long totalNarrowAreaIncome;
     /**
      * The total maintenance costs.
      */
-    private double totalMaintenanceCost;
+    private long totalMaintenanceCost;
     /**
      * The total repair costs.
      */
-    private double totalRepairCost;
+    private long totalRepairCost;
     /**
      * The total company costs.
      */
-    private double totalCompanyCosts;
+    private long totalCompanyCosts;
     /**
      * The total tax collected from vehicle rentals.
      */
-    private double totalTax;
+    private long totalTax;
 
     /**
      * Generates the summary report by calculating the total income, discounts,
      * promotions, maintenance costs, repair costs, and other metrics using
      * the list of {@link Receipt} objects stored in the application.
+     * The receipts are added up in one pass by a {@link ReportAccumulator}, in parallel when there are many of them.
      *
      */
     public void generateSummaryReport()
     {
-        totalIncome = receipts.stream().mapToDouble(Receipt::getTotalPrice).sum();
-        totalDiscounts = receipts.stream().mapToDouble(Receipt::getDiscount).sum();
-        totalPromotions = receipts.stream().mapToDouble(Receipt::getPromotion).sum();
-
-        totalWideAreaIncome = receipts.stream()
-                .filter(Receipt::isInWideArea)
-                .mapToDouble(Receipt::getTotalPrice)
-                .sum();
-        totalNarrowAreaIncome = receipts.stream()
-                .filter(receipt -> !receipt.isInWideArea())
-                .mapToDouble(Receipt::getTotalPrice)
-                .sum();
-
-        totalMaintenanceCost = totalIncome * MainApplication.MAINTENANCE_COEFFICIENT;
+        ReportAccumulator totals = ReportAccumulator.collect(receipts);
+        totalIncome = totals.getIncome();
+        totalDiscounts = totals.getDiscounts();
+        totalPromotions = totals.getPromotions();
+        totalWideAreaIncome = totals.getWideAreaIncome();
+        totalNarrowAreaIncome = totals.getNarrowAreaIncome();
+        totalRepairCost = totals.getRepairCosts();
 
-        totalRepairCost = receipts.stream()
-                .mapToDouble(receipt -> {
-                    Rental rental = receipt.getRental();
-                    Vehicle vehicle = rental.findVehicleById();
-                    if(rental.isHasMalfunction()) {
-                        if (vehicle instanceof Car) {
-                            return MainApplication.CAR_COEFFICIENT * vehicle.getPurchasePrice();
-                        } else if (vehicle instanceof Bicycle) {
-                            return MainApplication.BICYCLE_COEFFICIENT * vehicle.getPurchasePrice();
-                        } else if (vehicle instanceof Scooter) {
-                            return MainApplication.SCOOTER_COEFFICIENT * vehicle.getPurchasePrice();
-                        }
-                    }
-                    return 0;
-                }).sum();
+        totalMaintenanceCost = Money.share(totalIncome, MainApplication.MAINTENANCE_COEFFICIENT);
 
-        totalCompanyCosts = totalIncome * MainApplication.COMPANY_COSTS_COEFFICIENT;
+        totalCompanyCosts = Money.share(totalIncome, MainApplication.COMPANY_COSTS_COEFFICIENT);
 
-        totalTax = (totalIncome - totalMaintenanceCost - totalRepairCost - totalCompanyCosts) * MainApplication.TAX_COEFFICIENT;
+        totalTax = Money.share(totalIncome - totalMaintenanceCost - totalRepairCost - totalCompanyCosts, MainApplication.TAX_COEFFICIENT);
     }
 
     /**
@@ -110,15 +85,15 @@ public class SummaryReport
     public void printSummaryReport()
     {
         System.out.println("Summary report:\n");
-        System.out.println("1. Total income: " + totalIncome + "\n");
-        System.out.println("2. Total discounts: " + totalDiscounts + "\n");
-        System.out.println("3. Total promotions: " + totalPromotions + "\n");
-        System.out.println("4. Total wide area income: " + totalWideAreaIncome + "\n");
-        System.out.println("5. Total narrow area income: " + totalNarrowAreaIncome + "\n");
-        System.out.println("6. Total maintenance cost: " + totalMaintenanceCost + "\n");
-        System.out.println("7. Total repair cost: " + totalRepairCost + "\n");
-        System.out.println("8. Total company costs: " + totalCompanyCosts + "\n");
-        System.out.println("9. Total tax: " + totalTax + "\n");
+        System.out.println("1. Total income: " + Money.format(totalIncome) + "\n");
+        System.out.println("2. Total discounts: " + Money.format(totalDiscounts) + "\n");
+        System.out.println("3. Total promotions: " + Money.format(totalPromotions) + "\n");
+        System.out.println("4. Total wide area income: " + Money.format(totalWideAreaIncome) + "\n");
+        System.out.println("5. Total narrow area income: " + Money.format(totalNarrowAreaIncome) + "\n");
+        System.out.println("6. Total maintenance cost: " + Money.format(totalMaintenanceCost) + "\n");
+        System.out.println("7. Total repair cost: " + Money.format(totalRepairCost) + "\n");
+        System.out.println("8. Total company costs: " + Money.format(totalCompanyCosts) + "\n");
+        System.out.println("9. Total tax: " + Money.format(totalTax) + "\n");
     }
 
     /**
@@ -126,7 +101,7 @@ public class SummaryReport
      *
      * @return the total company costs
      */
-    public double getTotalCompanyCosts() {
+    public long getTotalCompanyCosts() {
         return totalCompanyCosts;
     }
 
@@ -135,7 +110,7 @@ public class SummaryReport
      *
      * @param totalCompanyCosts the total company costs to set
      */
-    public void setTotalCompanyCosts(double totalCompanyCosts) {
+    public void setTotalCompanyCosts(long totalCompanyCosts) {
         this.totalCompanyCosts = totalCompanyCosts;
     }
 
@@ -144,7 +119,7 @@ public class SummaryReport
      *
      * @return the total discounts
      */
-    public double getTotalDiscounts() {
+    public long getTotalDiscounts() {
         return totalDiscounts;
     }
 
@@ -153,7 +128,7 @@ public class SummaryReport
      *
      * @param totalDiscounts the total discounts to set
      */
-    public void setTotalDiscounts(double totalDiscounts) {
+    public void setTotalDiscounts(long totalDiscounts) {
         this.totalDiscounts = totalDiscounts;
     }
 
@@ -162,7 +137,7 @@ public class SummaryReport
      *
      * @return the total income
      */
-    public double getTotalIncome() {
+    public long getTotalIncome() {
         return totalIncome;
     }
 
@@ -171,7 +146,7 @@ public class SummaryReport
      *
      * @param totalIncome the total income to set
      */
-    public void setTotalIncome(double totalIncome) {
+    public void setTotalIncome(long totalIncome) {
         this.totalIncome = totalIncome;
     }
 
@@ -180,7 +155,7 @@ public class SummaryReport
      *
      * @return the total maintenance cost
      */
-    public double getTotalMaintenanceCost() {
+    public long getTotalMaintenanceCost() {
         return totalMaintenanceCost;
     }
 
@@ -189,7 +164,7 @@ public class SummaryReport
      *
      * @param totalMaintenanceCost the total maintenance cost to set
      */
-    public void setTotalMaintenanceCost(double totalMaintenanceCost) {
+    public void setTotalMaintenanceCost(long totalMaintenanceCost) {
         this.totalMaintenanceCost = totalMaintenanceCost;
     }
 
@@ -198,7 +173,7 @@ public class SummaryReport
      *
      * @return the total narrow area income
      */
-    public double getTotalNarrowAreaIncome() {
+    public long getTotalNarrowAreaIncome() {
         return totalNarrowAreaIncome;
     }
 
@@ -207,7 +182,7 @@ public class SummaryReport
      *
      * @param totalNarrowAreaIncome the total narrow area income to set
      */
-    public void setTotalNarrowAreaIncome(double totalNarrowAreaIncome) {
+    public void setTotalNarrowAreaIncome(long totalNarrowAreaIncome) {
         this.totalNarrowAreaIncome = totalNarrowAreaIncome;
     }
 
@@ -216,7 +191,7 @@ public class SummaryReport
      *
      * @return the total promotions
      */
-    public double getTotalPromotions() {
+    public long getTotalPromotions() {
         return totalPromotions;
     }
 
@@ -225,7 +200,7 @@ public class SummaryReport
      *
      * @param totalPromotions the total promotions to set
      */
-    public void setTotalPromotions(double totalPromotions) {
+    public void setTotalPromotions(long totalPromotions) {
         this.totalPromotions = totalPromotions;
     }
 
@@ -234,7 +209,7 @@ public class SummaryReport
      *
      * @return the total repair cost
      */
-    public double getTotalRepairCost() {
+    public long getTotalRepairCost() {
         return totalRepairCost;
     }
 
@@ -243,7 +218,7 @@ public class SummaryReport
      *
      * @param totalRepairCost the total repair cost to set
      */
-    public void setTotalRepairCost(double totalRepairCost) {
+    public void setTotalRepairCost(long totalRepairCost) {
         this.totalRepairCost = totalRepairCost;
     }
 
@@ -252,7 +227,7 @@ public class SummaryReport
      *
      * @return the total tax
      */
-    public double getTotalTax() {
+    public long getTotalTax() {
         return totalTax;
     }
 
@@ -261,7 +236,7 @@ public class SummaryReport
      *
      * @param totalTax the total tax to set
      */
-    public void setTotalTax(double totalTax) {
+    public void setTotalTax(long totalTax) {
         this.totalTax = totalTax;
     }
 
@@ -270,7 +245,7 @@ public class SummaryReport
      *
      * @return the total wide area income
      */
-    public double getTotalWideAreaIncome() {
+    public long getTotalWideAreaIncome() {
         return totalWideAreaIncome;
     }
 
@@ -279,7 +254,7 @@ public class SummaryReport
      *
      * @param totalWideAreaIncome the total wide area income to set
      */
-    public void setTotalWideAreaIncome(double totalWideAreaIncome) {
+    public void setTotalWideAreaIncome(long totalWideAreaIncome) {
         this.totalWideAreaIncome = totalWideAreaIncome;
     }
 }
@@ -0,0 +1,332 @@
+package net.etf.project.util;
+
+import java.util.Arrays;
+
+/**
+ * The {@code CsvTokenizer} class splits a single CSV line into fields in one pass over its characters.
+ * Commas inside double quotes (for example {@code "7,8"}) do not split a field, and the enclosing quotes
+ * are not part of the field. Fields are kept as start and end positions in the line, so a {@code String}
+ * is only created for the fields that are actually needed, and numbers can be parsed directly from the line.
+ * <p>
+ * One tokenizer is meant to be reused for all lines of a file. It is not thread safe.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class CsvTokenizer
+{
+    /**
+     * The separator between the fields.
+     */
+    private static final char SEPARATOR = ',';
+
+    /**
+     * The character used for quoting fields.
+     */
+    private static final char QUOTE = '"';
+
+    /**
+     * The maximum number of digits that can be converted to a {@code double} without loss of precision.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * The line that is currently tokenized.
+     */
+    private String line = "";
+
+    /**
+     * Start positions (inclusive) of the fields in the line.
+     */
+    private int[] starts = new int[16];
+
+    /**
+     * End positions (exclusive) of the fields in the line.
+     */
+    private int[] ends = new int[16];
+
+    /**
+     * The number of fields in the current line.
+     */
+    private int fieldCount;
+
+    /**
+     * Tokenizes a new line, replacing the fields of the previous one.
+     *
+     * @param line the CSV line to tokenize
+     * @return this tokenizer
+     */
+    public CsvTokenizer reset(String line)
+    {
+        this.line = line;
+        this.fieldCount = 0;
+
+        boolean inQuotes = false;
+        int fieldStart = 0;
+        int length = line.length();
+        for(int i = 0; i < length; i++)
+        {
+            char c = line.charAt(i);
+            if(c == QUOTE)
+            {
+                inQuotes = !inQuotes;
+            }
+            else if(c == SEPARATOR && !inQuotes)
+            {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+        addField(fieldStart, length);
+        return this;
+    }
+
+    /**
+     * Stores the bounds of a field, leaving out the enclosing quotes if there are any.
+     *
+     * @param start the start position of the field (inclusive)
+     * @param end the end position of the field (exclusive)
+     */
+    private void addField(int start, int end)
+    {
+        if(end - start >= 2 && line.charAt(start) == QUOTE && line.charAt(end - 1) == QUOTE)
+        {
+            start++;
+            end--;
+        }
+        if(fieldCount == starts.length)
+        {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * Returns the line that is currently tokenized.
+     *
+     * @return the current line
+     */
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the number of fields in the current line.
+     *
+     * @return the number of fields
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the start position (inclusive) of a field in the current line.
+     *
+     * @param index the index of the field
+     * @return the start position of the field
+     */
+    public int start(int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    /**
+     * Returns the end position (exclusive) of a field in the current line.
+     *
+     * @param index the index of the field
+     * @return the end position of the field
+     */
+    public int end(int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    /**
+     * Returns the value of a field as a {@code String}.
+     *
+     * @param index the index of the field
+     * @return the value of the field
+     */
+    public String field(int index)
+    {
+        checkIndex(index);
+        return line.substring(starts[index], ends[index]);
+    }
+
+    /**
+     * Checks whether a field is empty.
+     *
+     * @param index the index of the field
+     * @return {@code true} if the field has no characters, {@code false} otherwise
+     */
+    public boolean isEmpty(int index)
+    {
+        checkIndex(index);
+        return starts[index] == ends[index];
+    }
+
+    /**
+     * Checks whether a field is empty or contains only whitespace.
+     *
+     * @param index the index of the field
+     * @return {@code true} if the field is blank, {@code false} otherwise
+     */
+    public boolean isBlank(int index)
+    {
+        checkIndex(index);
+        for(int i = starts[index]; i < ends[index]; i++)
+        {
+            if(line.charAt(i) > ' ')
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares a field with the given value, ignoring case.
+     *
+     * @param index the index of the field
+     * @param value the value to compare with
+     * @return {@code true} if the field is equal to the value ignoring case, {@code false} otherwise
+     */
+    public boolean equalsIgnoreCase(int index, String value)
+    {
+        checkIndex(index);
+        int length = ends[index] - starts[index];
+        return length == value.length() && line.regionMatches(true, starts[index], value, 0, length);
+    }
+
+    /**
+     * Returns the position of the first occurrence of a character inside a field.
+     *
+     * @param index the index of the field
+     * @param c the character to look for
+     * @return the position of the character in the line, or -1 if the field does not contain it
+     */
+    public int indexOf(int index, char c)
+    {
+        checkIndex(index);
+        for(int i = starts[index]; i < ends[index]; i++)
+        {
+            if(line.charAt(i) == c)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a field as a decimal integer, following the rules of {@link Integer#parseInt(String)}.
+     *
+     * @param index the index of the field
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid integer
+     */
+    public int parseInt(int index)
+    {
+        checkIndex(index);
+        return parseInt(starts[index], ends[index]);
+    }
+
+    /**
+     * Parses a part of the current line as a decimal integer, following the rules of {@link Integer#parseInt(String)}.
+     *
+     * @param start the start position in the line (inclusive)
+     * @param end the end position in the line (exclusive)
+     * @return the parsed value
+     * @throws NumberFormatException if the part of the line is not a valid integer
+     */
+    public int parseInt(int start, int end)
+    {
+        if(start >= end)
+        {
+            throw new NumberFormatException("For input string: \"\"");
+        }
+        boolean negative = false;
+        int i = start;
+        char first = line.charAt(i);
+        if(first == '-' || first == '+')
+        {
+            negative = first == '-';
+            i++;
+            if(i == end)
+            {
+                throw new NumberFormatException("For input string: \"" + line.substring(start, end) + "\"");
+            }
+        }
+        long result = 0;
+        for(; i < end; i++)
+        {
+            int digit = line.charAt(i) - '0';
+            if(digit < 0 || digit > 9)
+            {
+                throw new NumberFormatException("For input string: \"" + line.substring(start, end) + "\"");
+            }
+            result = result * 10 + digit;
+            if(result > (long) Integer.MAX_VALUE + 1)
+            {
+                throw new NumberFormatException("For input string: \"" + line.substring(start, end) + "\"");
+            }
+        }
+        result = negative ? -result : result;
+        if(result > Integer.MAX_VALUE)
+        {
+            throw new NumberFormatException("For input string: \"" + line.substring(start, end) + "\"");
+        }
+        return (int) result;
+    }
+
+    /**
+     * Parses a field as a {@code double}, following the rules of {@link Double#parseDouble(String)}.
+     * Fields made only of digits are converted directly, other fields fall back to {@code Double.parseDouble}.
+     *
+     * @param index the index of the field
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid number
+     */
+    public double parseDouble(int index)
+    {
+        checkIndex(index);
+        int start = starts[index];
+        int end = ends[index];
+        if(end > start && end - start <= MAX_EXACT_DIGITS)
+        {
+            long result = 0;
+            int i = start;
+            for(; i < end; i++)
+            {
+                int digit = line.charAt(i) - '0';
+                if(digit < 0 || digit > 9)
+                {
+                    break;
+                }
+                result = result * 10 + digit;
+            }
+            if(i == end)
+            {
+                return result;
+            }
+        }
+        return Double.parseDouble(line.substring(start, end));
+    }
+
+    /**
+     * Checks that a field with the given index exists in the current line.
+     *
+     * @param index the index of the field
+     * @throws IndexOutOfBoundsException if the field does not exist
+     */
+    private void checkIndex(int index)
+    {
+        if(index < 0 || index >= fieldCount)
+        {
+            throw new IndexOutOfBoundsException("Field " + index + " does not exist, the line has " + fieldCount + " fields.");
+        }
+    }
+}
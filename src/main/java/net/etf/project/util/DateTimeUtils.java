@@ -0,0 +1,158 @@
+package net.etf.project.util;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code DateTimeUtils} class provides thread-safe parsing and formatting of the dates and times used
+ * by the loaders, receipts and reports. It is built on immutable {@code java.time} formatters that are created once
+ * and shared by all threads. Parsed timestamps are memoized, because many rows share the same date and time value.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class DateTimeUtils
+{
+    /**
+     * The maximum number of parsed values kept in each cache.
+     */
+    private static final int MAX_CACHE_SIZE = 100_000;
+
+    /**
+     * Formatter for the rental date and time, for example "1.6.2024 09:00".
+     */
+    private static final DateTimeFormatter RENTAL_DATE_TIME = DateTimeFormatter.ofPattern("d.M.uuuu H:mm").withResolverStyle(ResolverStyle.LENIENT);
+
+    /**
+     * Formatter for the vehicle purchase date, for example "1.5.2024.".
+     */
+    private static final DateTimeFormatter PURCHASE_DATE = DateTimeFormatter.ofPattern("d.M.uuuu.").withResolverStyle(ResolverStyle.LENIENT);
+
+    /**
+     * Formatter for the date and time in receipt file names, for example "01-06-2024_09-00-00".
+     */
+    private static final DateTimeFormatter RECEIPT_DATE_TIME = DateTimeFormatter.ofPattern("dd-MM-yyyy_HH-mm-ss");
+
+    /**
+     * Formatter for the date of a daily report, for example "01.06.2024".
+     */
+    private static final DateTimeFormatter REPORT_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    /**
+     * Cache of parsed rental dates and times, mapping the text to milliseconds since the epoch.
+     */
+    private static final Map<String, Long> rentalDateTimeCache = new ConcurrentHashMap<>();
+
+    /**
+     * Cache of parsed purchase dates, mapping the text to milliseconds since the epoch.
+     */
+    private static final Map<String, Long> purchaseDateCache = new ConcurrentHashMap<>();
+
+    /**
+     * Parses a rental date and time in the format "d.M.yyyy HH:mm".
+     *
+     * @param text the text to parse
+     * @return the parsed date and time
+     * @throws DateTimeParseException if the text does not have the expected format
+     */
+    public static Date parseRentalDateTime(String text)
+    {
+        return new Date(parseCached(text, RENTAL_DATE_TIME, rentalDateTimeCache, true));
+    }
+
+    /**
+     * Parses a purchase date in the format "d.M.yyyy.".
+     *
+     * @param text the text to parse
+     * @return the parsed date
+     * @throws DateTimeParseException if the text does not have the expected format
+     */
+    public static Date parsePurchaseDate(String text)
+    {
+        return new Date(parseCached(text, PURCHASE_DATE, purchaseDateCache, false));
+    }
+
+    /**
+     * Formats a date and time for use in a receipt file name, in the format "dd-MM-yyyy_HH-mm-ss".
+     *
+     * @param date the date and time to format
+     * @return the formatted date and time
+     */
+    public static String formatReceiptDateTime(Date date)
+    {
+        return RECEIPT_DATE_TIME.format(toLocalDateTime(date));
+    }
+
+    /**
+     * Formats a date for a daily report, in the format "dd.MM.yyyy".
+     *
+     * @param date the date to format
+     * @return the formatted date
+     */
+    public static String formatReportDate(LocalDate date)
+    {
+        return REPORT_DATE.format(date);
+    }
+
+    /**
+     * Returns the calendar day of a date in the system time zone.
+     *
+     * @param date the date
+     * @return the calendar day of the date
+     */
+    public static LocalDate toLocalDate(Date date)
+    {
+        return toLocalDateTime(date).toLocalDate();
+    }
+
+    /**
+     * Converts a date to a local date and time in the system time zone.
+     *
+     * @param date the date to convert
+     * @return the local date and time
+     */
+    private static LocalDateTime toLocalDateTime(Date date)
+    {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    /**
+     * Parses a text with the given formatter, using and filling the given cache.
+     * Like {@code SimpleDateFormat}, text after a valid value is ignored.
+     *
+     * @param text the text to parse
+     * @param formatter the formatter used for parsing
+     * @param cache the cache of already parsed values
+     * @param hasTime {@code true} if the text contains a time, {@code false} if it is only a date
+     * @return the parsed value in milliseconds since the epoch
+     * @throws DateTimeParseException if the text does not have the expected format
+     */
+    private static long parseCached(String text, DateTimeFormatter formatter, Map<String, Long> cache, boolean hasTime)
+    {
+        Long cached = cache.get(text);
+        if(cached != null)
+        {
+            return cached;
+        }
+
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter.parse(text, position);
+        LocalDateTime dateTime = hasTime ? LocalDateTime.from(parsed) : LocalDate.from(parsed).atStartOfDay();
+        long millis = dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        if(cache.size() < MAX_CACHE_SIZE)
+        {
+            cache.put(text, millis);
+        }
+        return millis;
+    }
+}
@@ -5,15 +5,26 @@ import net.etf.project.model.rental.Rental;
 import net.etf.project.gui.MainApplication;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * The {@code RentalLoader} class is responsible for loading rental data from a CSV file and
  * populating the application's list of rentals. It reads each line from the file, parses the data,
  * and creates {@code Rental} objects, ensuring data validation at each step.
+ * <p>
+ * Rentals can be loaded sequentially or in parallel. Both modes read the file as {@link #CHARSET}, end lines at
+ * {@code \n}, {@code \r} or {@code \r\n}, parse the lines in the same way and accept them in file order,
+ * so they produce the same rentals and skip the same lines for the same reasons. Bytes that are not valid
+ * in the charset are decoded as {@link #MALFORMED} in both modes, and a line that contains them is skipped.
  *
  * @author Jovana Šikanjić
  * @version 1.0
@@ -21,135 +32,459 @@ import java.util.*;
 public class RentalLoader
 {
     /**
-     * Loads rental data from a file located at {@code MainApplication.RENTAL_DATA_PATH}.
-     * The data is read line by line, and for each line, a {@code Rental} object is created
-     * if all required fields are valid. The rentals are then sorted by rental date and added to
-     * the application's list of rentals. If any line contains invalid or incomplete data, it is skipped.
+     * Orders rentals by their rental date and time.
+     */
+    private static final Comparator<Rental> BY_RENTAL_DATE_TIME = Comparator.comparing(Rental::getRentalDateTime);
+
+    /**
+     * The charset of the rental file.
+     */
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    /**
+     * The character that replaces bytes that are not valid in {@link #CHARSET}.
+     */
+    private static final char MALFORMED = '\uFFFD';
+
+    /**
+     * The minimum size of a chunk of the rental file that is parsed by one worker in parallel mode.
+     */
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The maximum size of a chunk of the rental file, limited by the size of a single memory mapping.
+     */
+    private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * The number of chunks created per available processor in parallel mode, so that the work stays balanced.
+     */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    /**
+     * Loads rental data from a file located at {@code MainApplication.RENTAL_DATA_PATH}
+     * and sorts the rentals sequentially.
+     *
+     * @see #loadRentals(boolean)
      */
     public static void loadRentals()
     {
-        try(BufferedReader br = Files.newBufferedReader(Paths.get(MainApplication.RENTAL_DATA_PATH)))
+        loadRentals(false);
+    }
+
+    /**
+     * Loads rental data from a file located at {@code MainApplication.RENTAL_DATA_PATH}.
+     * The data is streamed line by line, and for each line, a {@code Rental} object is created
+     * if all required fields are valid. If any line contains invalid or incomplete data, it is skipped.
+     * Duplicate rentals (same date and time and vehicle ID) are detected with a hash set, accepted rentals
+     * are buffered and added to the application's list of rentals, which is then sorted by rental date once.
+     *
+     * @param parallelSort {@code true} if the final sort should be done in parallel
+     */
+    public static void loadRentals(boolean parallelSort)
+    {
+        Set<Rental> knownRentals = new HashSet<>(MainApplication.rentals);
+        List<Rental> acceptedRentals = new ArrayList<>();
+
+        try(BufferedReader br = new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(MainApplication.RENTAL_DATA_PATH)), CHARSET)))
         {
             String line;
+            CsvTokenizer fields = new CsvTokenizer();
             br.readLine();// Skip header
 
             while((line = br.readLine()) != null)
             {
-                try{
-                    // Split CSV line while ignoring commas inside quoted fields
-                    String[] fields = line.split(",(?=(?:[^\"]|\"[^\"]*\")*$)");
-                    if(fields.length < 8)
-                    {
-                        System.out.println("Not enough arguments in line: " + line + ". Line is skipped.");
-                        continue;
-                    }
-
-                    // Check if any field is empty
-                    boolean allFieldsFilled = true;
-                    for (String field : fields) {
-                        if (field.trim().isEmpty()) {
-                            allFieldsFilled = false;
-                            break;
-                        }
-                    }
-
-                    if(!allFieldsFilled)
-                    {
-                        System.out.println("Some fields are empty in line: " + line + " Line is skipped.");
-                        continue;
-                    }
-
-                    // Parse the rental data
-                    Date rentalDateTime = parseDateAndTime(fields[0]);
-                    if(rentalDateTime == null)
-                    {
-                        System.out.println("Invalid date format in line. " + line + " Line is skipped.");
-                        continue;
-                    }
-
-                    String user = fields[1];
-                    String id = fields[2];
-
-                    // Validate if vehicle exists
-                    boolean vehicleExists = MainApplication.vehicles.stream().anyMatch(v -> v.getVehicleID().equals(id));
-                    if(!vehicleExists)
-                    {
-                        System.out.println("Vehicle with ID " + id + " does not exist. Line is skipped.");
-                        continue;
-                    }
-
-                    // Parse start and end locations
-                    Location startLocation = parseLocation(fields[3]);
-                    if(startLocation == null)
-                    {
-                        System.out.println("Invalid start location format in line: " + line + " Line is skipped.");
-                        continue;
-                    }
-                    Location endLocation = parseLocation(fields[4]);
-                    if(endLocation == null)
-                    {
-                        System.out.println("Invalid end location format in line: " + line + " Line is skipped.");
-                        continue;
-                    }
-
-                    // Parse rental duration
-                    double rentalDuration;
-                    try {
-                        rentalDuration = Double.parseDouble(fields[5]);
-                    }catch(NumberFormatException e)
-                    {
-                        System.out.println("Invalid rental duration format in line: " + line + " Line is skipped.");
-                        continue;
-                    }
-
-                    // Parse malfunction and promotion checks
-                    String malfunctionChecker = fields[6];
-                    String promotionChecker = fields[7];
-
-                    if(!"da".equalsIgnoreCase(malfunctionChecker) && !"ne".equalsIgnoreCase(malfunctionChecker))
-                    {
-                        System.out.println("Invalid string. Line is skipped.");
-                        continue;
-                    }
-                    if(!"da".equalsIgnoreCase(promotionChecker) && !"ne".equalsIgnoreCase(promotionChecker))
-                    {
-                        System.out.println("Invalid string. Line is skipped.");
-                        continue;
-                    }
-
-                    boolean hasMalfunction = "da".equalsIgnoreCase(malfunctionChecker);
-                    boolean hasPromotion = "da".equalsIgnoreCase(promotionChecker);
-
-                    // Create the new rental
-                    Rental newRental = new Rental(rentalDateTime,user,id,startLocation,endLocation,rentalDuration,hasMalfunction,hasPromotion);
-
-                    // Ensure the rental doesn't already exist
-                    boolean rentalExists = MainApplication.rentals.stream().anyMatch(r -> r.equals(newRental));
-                    if(rentalExists)
-                    {
-                        System.out.println("Rental with ID: " + id + " and date: " + rentalDateTime + " already exists. Line is skipped.");
-                        continue;
-                    }
-
-                    // If there is a malfunction, add it to the vehicle's record
-                    if(hasMalfunction)
-                    {
-                        MainApplication.vehicles.stream().filter(v -> v.getVehicleID().equals(id)).findFirst().ifPresent(v -> v.addMalfunction(rentalDateTime));
-                    }
-
-                    // Add rental to the list and sort the rentals by date
-                    MainApplication.rentals.add(newRental);
-                    MainApplication.rentals.sort(Comparator.comparing(Rental::getRentalDateTime));
-
-                }catch(Exception e)
+                acceptLine(parseLine(fields, line), knownRentals, acceptedRentals);
+            }
+
+        }catch(IOException e)
+        {
+            System.err.println("Error reading file " + MainApplication.RENTAL_DATA_PATH + " " + e.getMessage());
+        }
+
+        // Add the accepted rentals and sort all rentals by date only once
+        MainApplication.rentals.addAll(acceptedRentals);
+        sortRentals(MainApplication.rentals, parallelSort);
+    }
+
+    /**
+     * Loads rental data from a file located at {@code MainApplication.RENTAL_DATA_PATH} in parallel.
+     * The file is memory-mapped and split into line-aligned chunks, and every chunk is parsed on a fork-join worker
+     * into its own buffer. The parsed lines are then accepted in file order, exactly as in {@link #loadRentals(boolean)},
+     * each chunk's rentals are sorted in parallel and the sorted chunks are merged in rental date order.
+     */
+    public static void loadRentalsParallel()
+    {
+        List<List<ParsedLine>> parsedChunks;
+        try(FileChannel channel = FileChannel.open(Paths.get(MainApplication.RENTAL_DATA_PATH), StandardOpenOption.READ))
+        {
+            List<long[]> chunks = splitIntoChunks(channel);
+            parsedChunks = chunks.parallelStream()
+                    .map(chunk -> parseChunk(channel, chunk[0], chunk[1]))
+                    .collect(Collectors.toList());
+        }catch(IOException | UncheckedIOException e)
+        {
+            System.err.println("Error reading file " + MainApplication.RENTAL_DATA_PATH + " " + e.getMessage());
+            return;
+        }
+
+        // Accept the lines in file order so that duplicates and messages match the sequential load
+        Set<Rental> knownRentals = new HashSet<>(MainApplication.rentals);
+        List<List<Rental>> acceptedChunks = new ArrayList<>();
+        for(List<ParsedLine> parsedChunk : parsedChunks)
+        {
+            List<Rental> acceptedRentals = new ArrayList<>();
+            for(ParsedLine parsedLine : parsedChunk)
+            {
+                acceptLine(parsedLine, knownRentals, acceptedRentals);
+            }
+            acceptedChunks.add(acceptedRentals);
+        }
+
+        acceptedChunks.parallelStream().forEach(acceptedRentals -> acceptedRentals.sort(BY_RENTAL_DATE_TIME));
+
+        boolean wasEmpty = MainApplication.rentals.isEmpty();
+        MainApplication.rentals.addAll(mergeSortedChunks(acceptedChunks));
+        if(!wasEmpty)
+        {
+            sortRentals(MainApplication.rentals, true);
+        }
+    }
+
+    /**
+     * Splits the rental file, without its header, into chunks that start and end on line boundaries.
+     *
+     * @param channel the channel of the rental file
+     * @return the list of chunks, each given as an array of its start and end position in the file
+     * @throws IOException if the file cannot be read
+     */
+    private static List<long[]> splitIntoChunks(FileChannel channel) throws IOException
+    {
+        long size = channel.size();
+        long dataStart = findLineStart(channel, 1, size); // Skip header
+        int processors = Runtime.getRuntime().availableProcessors();
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, (size - dataStart) / ((long) processors * CHUNKS_PER_PROCESSOR) + 1));
+
+        List<long[]> chunks = new ArrayList<>();
+        long chunkStart = dataStart;
+        while(chunkStart < size)
+        {
+            long chunkEnd = findLineStart(channel, Math.min(size, chunkStart + chunkSize), size);
+            if(chunkEnd - chunkStart > MAX_CHUNK_SIZE)
+            {
+                throw new IOException("Line is too long to be mapped at position " + chunkStart);
+            }
+            chunks.add(new long[]{chunkStart, chunkEnd});
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Finds the first position, at or after the given one, where a line starts. Lines end at {@code \n},
+     * {@code \r} or {@code \r\n}, and a {@code \r\n} pair is never split.
+     *
+     * @param channel the channel of the rental file
+     * @param position the position from which the search starts
+     * @param size the size of the file
+     * @return the position of the start of a line, or the size of the file if there are no more lines
+     * @throws IOException if the file cannot be read
+     */
+    private static long findLineStart(FileChannel channel, long position, long size) throws IOException
+    {
+        if(position <= 0 || position >= size)
+        {
+            return Math.max(0, Math.min(position, size));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long readPosition = position - 1;
+        while(readPosition < size)
+        {
+            buffer.clear();
+            int read = channel.read(buffer, readPosition);
+            if(read <= 0)
+            {
+                break;
+            }
+            for(int i = 0; i < read; i++)
+            {
+                byte b = buffer.get(i);
+                if(b == '\n')
                 {
-                    System.out.println("Error in line: " + line + " " + e.getMessage());
+                    return readPosition + i + 1;
+                }
+                if(b == '\r')
+                {
+                    long next = readPosition + i + 1;
+                    return next < size && readByte(channel, next) == '\n' ? next + 1 : next;
                 }
             }
+            readPosition += read;
+        }
+        return size;
+    }
 
+    /**
+     * Reads a single byte of the file.
+     *
+     * @param channel the channel of the rental file
+     * @param position the position of the byte
+     * @return the byte, or -1 if the position is past the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    private static int readByte(FileChannel channel, long position) throws IOException
+    {
+        ByteBuffer single = ByteBuffer.allocate(1);
+        return channel.read(single, position) == 1 ? single.get(0) : -1;
+    }
+
+    /**
+     * Parses one chunk of the rental file. The chunk is memory-mapped and every line in it is decoded
+     * and parsed with a tokenizer owned by the calling worker. Lines end at {@code \n}, {@code \r}
+     * or {@code \r\n}, as in {@link BufferedReader#readLine()}, and are decoded like the sequential reader
+     * decodes them, because no line terminator is ever part of an invalid byte sequence.
+     *
+     * @param channel the channel of the rental file
+     * @param start the start position of the chunk in the file
+     * @param end the end position of the chunk in the file
+     * @return the parsed lines of the chunk in file order
+     */
+    private static List<ParsedLine> parseChunk(FileChannel channel, long start, long end)
+    {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
         }catch(IOException e)
         {
-            System.err.println("Error reading file " + MainApplication.RENTAL_DATA_PATH + " " + e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+
+        List<ParsedLine> parsedLines = new ArrayList<>();
+        CsvTokenizer fields = new CsvTokenizer();
+        byte[] lineBytes = new byte[256];
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while(lineStart < limit)
+        {
+            int lineEnd = lineStart;
+            byte b = 0;
+            while(lineEnd < limit && (b = buffer.get(lineEnd)) != '\n' && b != '\r')
+            {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if(lineEnd < limit && b == '\r' && next < limit && buffer.get(next) == '\n')
+            {
+                next++;
+            }
+
+            int length = lineEnd - lineStart;
+            if(length > lineBytes.length)
+            {
+                lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+            }
+            buffer.get(lineStart, lineBytes, 0, length);
+            parsedLines.add(parseLine(fields, new String(lineBytes, 0, length, CHARSET)));
+            lineStart = next;
+        }
+        return parsedLines;
+    }
+
+    /**
+     * Merges chunks of rentals, each sorted by rental date, into one sorted list. Rentals with the same
+     * date and time keep the order of their chunks, so the result is the same as a stable sort of all rentals.
+     *
+     * @param sortedChunks the sorted chunks in file order
+     * @return the merged list of rentals
+     */
+    private static List<Rental> mergeSortedChunks(List<List<Rental>> sortedChunks)
+    {
+        int total = 0;
+        for(List<Rental> chunk : sortedChunks)
+        {
+            total += chunk.size();
+        }
+        List<Rental> merged = new ArrayList<>(total);
+
+        // Queue entries are {chunk index, position in chunk}, ordered by rental date and then by chunk index
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+            int byDate = BY_RENTAL_DATE_TIME.compare(sortedChunks.get(a[0]).get(a[1]), sortedChunks.get(b[0]).get(b[1]));
+            return byDate != 0 ? byDate : Integer.compare(a[0], b[0]);
+        });
+        for(int i = 0; i < sortedChunks.size(); i++)
+        {
+            if(!sortedChunks.get(i).isEmpty())
+            {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        while(!heads.isEmpty())
+        {
+            int[] head = heads.poll();
+            List<Rental> chunk = sortedChunks.get(head[0]);
+            merged.add(chunk.get(head[1]));
+            if(++head[1] < chunk.size())
+            {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Accepts a parsed line: prints the messages reported while parsing it and, if it contains a new rental,
+     * records the malfunction of the vehicle and adds the rental to the accepted rentals.
+     * Lines must be accepted in file order.
+     *
+     * @param parsedLine the parsed line
+     * @param knownRentals the rentals that are already loaded, used for duplicate detection
+     * @param acceptedRentals the list to which an accepted rental is added
+     */
+    private static void acceptLine(ParsedLine parsedLine, Set<Rental> knownRentals, List<Rental> acceptedRentals)
+    {
+        for(String message : parsedLine.messages)
+        {
+            System.out.println(message);
+        }
+        Rental newRental = parsedLine.rental;
+        if(newRental == null)
+        {
+            return;
+        }
+
+        // Ensure the rental doesn't already exist
+        if(!knownRentals.add(newRental))
+        {
+            System.out.println("Rental with ID: " + newRental.getRentalVehicleId() + " and date: " + newRental.getRentalDateTime() + " already exists. Line is skipped.");
+            return;
+        }
+
+        // If there is a malfunction, add it to the vehicle's record
+        if(newRental.isHasMalfunction())
+        {
+            MainApplication.vehicleRegistry.findById(newRental.getRentalVehicleId()).addMalfunction(newRental.getRentalDateTime());
+        }
+
+        acceptedRentals.add(newRental);
+    }
+
+    /**
+     * Parses a single line of the rental file. The line is only validated and turned into a {@code Rental},
+     * the messages explaining why a line is skipped are collected instead of printed, so that lines can be
+     * parsed in any order and on any thread.
+     *
+     * @param fields the tokenizer used for splitting the line
+     * @param line the line to parse
+     * @return the parsed line with the new rental, or without a rental if the line is skipped
+     */
+    private static ParsedLine parseLine(CsvTokenizer fields, String line)
+    {
+        ParsedLine parsedLine = new ParsedLine();
+        if(line.indexOf(MALFORMED) >= 0)
+        {
+            return parsedLine.report("Invalid characters in line: " + line + " Line is skipped.");
+        }
+        try{
+            // Split CSV line while ignoring commas inside quoted fields
+            fields.reset(line);
+            if(fields.fieldCount() < 8)
+            {
+                return parsedLine.report("Not enough arguments in line: " + line + ". Line is skipped.");
+            }
+
+            // Check if any field is empty
+            boolean allFieldsFilled = true;
+            for (int i = 0; i < fields.fieldCount(); i++) {
+                if (fields.isBlank(i)) {
+                    allFieldsFilled = false;
+                    break;
+                }
+            }
+
+            if(!allFieldsFilled)
+            {
+                return parsedLine.report("Some fields are empty in line: " + line + " Line is skipped.");
+            }
+
+            // Parse the rental data
+            Date rentalDateTime = parseDateAndTime(fields.field(0), parsedLine);
+            if(rentalDateTime == null)
+            {
+                return parsedLine.report("Invalid date format in line. " + line + " Line is skipped.");
+            }
+
+            String user = fields.field(1);
+            String id = fields.field(2);
+
+            // Validate if vehicle exists
+            if(!MainApplication.vehicleRegistry.contains(id))
+            {
+                return parsedLine.report("Vehicle with ID " + id + " does not exist. Line is skipped.");
+            }
+
+            // Parse start and end locations
+            Location startLocation = parseLocation(fields, 3, parsedLine);
+            if(startLocation == null)
+            {
+                return parsedLine.report("Invalid start location format in line: " + line + " Line is skipped.");
+            }
+            Location endLocation = parseLocation(fields, 4, parsedLine);
+            if(endLocation == null)
+            {
+                return parsedLine.report("Invalid end location format in line: " + line + " Line is skipped.");
+            }
+
+            // Parse rental duration
+            double rentalDuration;
+            try {
+                rentalDuration = fields.parseDouble(5);
+            }catch(NumberFormatException e)
+            {
+                return parsedLine.report("Invalid rental duration format in line: " + line + " Line is skipped.");
+            }
+
+            // Parse malfunction and promotion checks
+            boolean hasMalfunction = fields.equalsIgnoreCase(6, "da");
+            boolean hasPromotion = fields.equalsIgnoreCase(7, "da");
+
+            if(!hasMalfunction && !fields.equalsIgnoreCase(6, "ne"))
+            {
+                return parsedLine.report("Invalid string. Line is skipped.");
+            }
+            if(!hasPromotion && !fields.equalsIgnoreCase(7, "ne"))
+            {
+                return parsedLine.report("Invalid string. Line is skipped.");
+            }
+
+            // Create the new rental
+            parsedLine.rental = new Rental(rentalDateTime,user,id,startLocation,endLocation,rentalDuration,hasMalfunction,hasPromotion);
+
+        }catch(Exception e)
+        {
+            parsedLine.report("Error in line: " + line + " " + e.getMessage());
+        }
+        return parsedLine;
+    }
+
+    /**
+     * Sorts rentals by their rental date and time. The sort is stable, so rentals with the same
+     * date and time keep the order in which they were loaded.
+     *
+     * @param rentals the list of rentals to sort
+     * @param parallel {@code true} if the sort should be done in parallel
+     */
+    private static void sortRentals(List<Rental> rentals, boolean parallel)
+    {
+        if(!parallel)
+        {
+            rentals.sort(BY_RENTAL_DATE_TIME);
+            return;
+        }
+        Rental[] sortedRentals = rentals.toArray(new Rental[0]);
+        Arrays.parallelSort(sortedRentals, BY_RENTAL_DATE_TIME);
+        for(int i = 0; i < sortedRentals.length; i++)
+        {
+            rentals.set(i, sortedRentals[i]);
         }
     }
 
@@ -157,43 +492,83 @@ public class RentalLoader
      * Parses a date and time string in the format "d.M.yyyy HH:mm" and returns a {@code Date} object.
      *
      * @param dateTime the string containing the date and time
+     * @param parsedLine the parsed line to which an error message is reported
      * @return the {@code Date} object, or {@code null} if the format is invalid
      */
-    private static Date parseDateAndTime(String dateTime)
+    private static Date parseDateAndTime(String dateTime, ParsedLine parsedLine)
     {
         try{
-            return new SimpleDateFormat("d.M.yyyy HH:mm").parse(dateTime);
+            return DateTimeUtils.parseRentalDateTime(dateTime);
         }catch (Exception e)
         {
-            System.out.println("Incorrect date format.");
+            parsedLine.report("Incorrect date format.");
             return null;
         }
     }
 
     /**
-     * Parses a location string in the format "x,y" and returns a {@code Location} object.
+     * Parses a location field in the format "x,y" and returns a {@code Location} object.
      *
-     * @param location the string containing the coordinates
+     * @param fields the tokenized line
+     * @param index the index of the field containing the coordinates
+     * @param parsedLine the parsed line to which an error message is reported
      * @return the {@code Location} object, or {@code null} if the format is invalid
      */
-    private static Location parseLocation(String location)
+    private static Location parseLocation(CsvTokenizer fields, int index, ParsedLine parsedLine)
     {
         try {
-            location = location.replace("\"", "");
-            String[] coords = location.split(",");
-            int x = Integer.parseInt(coords[0]);
-            int y = Integer.parseInt(coords[1]);
+            int separator = fields.indexOf(index, ',');
+            if(separator < 0)
+            {
+                parsedLine.report("Invalid location format.");
+                return null;
+            }
+            int x = fields.parseInt(fields.start(index), separator);
+            int y = fields.parseInt(separator + 1, fields.end(index));
 
             if(x < 0 || x >= MainApplication.MAP_WIDTH || y < 0 || y >= MainApplication.MAP_HEIGHT)
             {
-                System.out.println("Coordinates out of bound.");
+                parsedLine.report("Coordinates out of bound.");
                 return null;
             }
             return new Location(x, y);
         }catch(Exception e)
         {
-            System.out.println("Invalid location format.");
+            parsedLine.report("Invalid location format.");
             return null;
         }
     }
+
+    /**
+     * The result of parsing a single line of the rental file: the new rental, if the line is valid,
+     * and the messages reported while parsing it.
+     */
+    private static class ParsedLine
+    {
+        /**
+         * The rental created from the line, or {@code null} if the line is skipped.
+         */
+        private Rental rental;
+
+        /**
+         * The messages reported while parsing the line, in the order in which they were reported.
+         */
+        private List<String> messages = Collections.emptyList();
+
+        /**
+         * Reports a message for the line.
+         *
+         * @param message the message to report
+         * @return this parsed line
+         */
+        private ParsedLine report(String message)
+        {
+            if(messages.isEmpty())
+            {
+                messages = new ArrayList<>(2);
+            }
+            messages.add(message);
+            return this;
+        }
+    }
 }
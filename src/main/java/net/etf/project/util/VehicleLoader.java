@@ -9,7 +9,6 @@ import net.etf.project.model.vehicles.Vehicle;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
 import java.util.*;
 
 /**
@@ -40,38 +39,34 @@ public class VehicleLoader
     {
         try(BufferedReader br = Files.newBufferedReader(Paths.get(MainApplication.VEHICLE_DATA_PATH))){
             String line;
+            CsvTokenizer fields = new CsvTokenizer();
             br.readLine();// Skip header
             while((line = br.readLine()) != null) {
                 try {
-                    String[] fields = line.split(",");
+                    fields.reset(line);
 
-                    if (fields.length < 9) {
+                    if (fields.fieldCount() < 9) {
                         System.out.println("Not enough arguments in line: " + line + ". Line is skipped.");
                         continue;
                     }
 
-                    String id = fields[0];
-                    String manufacturer = fields[1];
-                    String model = fields[2];
-                    String type = fields[8];
-
                     // Check mandatory fields
-                    if(id.isEmpty() || manufacturer.isEmpty() || model.isEmpty() || fields[4].isEmpty() || type.isEmpty())
+                    if(fields.isEmpty(0) || fields.isEmpty(1) || fields.isEmpty(2) || fields.isEmpty(4) || fields.isEmpty(8))
                     {
                         System.out.println("Mandatory fields missing in line: " + line + " Line is skipped.");
                         continue;
                     }
 
-                    boolean exists = MainApplication.vehicles.stream().anyMatch(v -> v.getVehicleID().equals(id));
-                    if (exists) {
+                    String id = fields.field(0);
+                    if (MainApplication.vehicleRegistry.contains(id)) {
                         System.out.println("Vehicle with ID " + id + " already exists. Line is skipped.");
                         continue;
                     }
 
                     // Parse optional fields and validate data formats
                     Date purchaseDate = null;
-                    if(!fields[3].isEmpty()) {
-                        purchaseDate = parseDate(fields[3]);
+                    if(!fields.isEmpty(3)) {
+                        purchaseDate = parseDate(fields.field(3));
                         if(purchaseDate == null)
                         {
                             System.out.println("Invalid date format for line: " + line + " Line is skipped.");
@@ -80,9 +75,9 @@ public class VehicleLoader
                     }
                     Double price = null;
                     try{
-                        if(!fields[4].isEmpty())
+                        if(!fields.isEmpty(4))
                         {
-                            price = Double.parseDouble(fields[4]);
+                            price = fields.parseDouble(4);
                         }
                     }catch(NumberFormatException e)
                     {
@@ -98,9 +93,9 @@ public class VehicleLoader
 
                     Integer range = null;
                     try{
-                        if(!fields[5].isEmpty())
+                        if(!fields.isEmpty(5))
                         {
-                            range = Integer.parseInt(fields[5]);
+                            range = fields.parseInt(5);
                         }
                     }catch(NumberFormatException e)
                     {
@@ -110,16 +105,19 @@ public class VehicleLoader
 
                     Integer maxSpeed = null;
                     try{
-                        if(!fields[6].isEmpty())
+                        if(!fields.isEmpty(6))
                         {
-                            maxSpeed = Integer.parseInt(fields[6]);
+                            maxSpeed = fields.parseInt(6);
                         }
                     }catch(NumberFormatException e)
                     {
                         System.out.println("Invalid max speed format for line " + line + " Line is skipped.");
                         continue;
                     }
-                    String description = fields[7].isEmpty() ? "No description available" : fields[7];
+                    String description = fields.isEmpty(7) ? "No description available" : fields.field(7);
+                    String manufacturer = fields.field(1);
+                    String model = fields.field(2);
+                    String type = fields.field(8);
 
                     // Create specific vehicle objects based on type
                     Vehicle newVehicle;
@@ -153,7 +151,7 @@ public class VehicleLoader
                     } else {
                         throw new IllegalArgumentException("Unknown type of vehicle: " + type);
                     }
-                    MainApplication.vehicles.add(newVehicle);
+                    MainApplication.vehicleRegistry.register(newVehicle);
                 }catch (Exception e)
                 {
                     System.out.println("Error in line " + line + " " + e.getMessage());
@@ -175,7 +173,7 @@ public class VehicleLoader
     private static Date parseDate(String date)
     {
         try{
-            return new SimpleDateFormat("d.M.yyyy.").parse(date);
+            return DateTimeUtils.parsePurchaseDate(date);
         }catch (Exception e)
         {
             System.out.println("Incorrect date format.");
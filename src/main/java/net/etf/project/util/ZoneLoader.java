@@ -0,0 +1,214 @@
+package net.etf.project.util;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.simulation.Zone;
+import net.etf.project.simulation.ZoneMap;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * The ZoneLoader class loads the division of the city into zones from a layout file and builds the {@link ZoneMap}.
+ * The layout is described with a list of zones and a list of rectangles, so the size of the file depends on
+ * the number of zones and not on the size of the map. Lines starting with {@code #} and empty lines are ignored.
+ * <ul>
+ *     <li>{@code zone,<id>,<name>,<wide|narrow>} declares a zone. The first declared zone covers the whole map
+ *     before any rectangle is applied.</li>
+ *     <li>{@code rect,<zone id>,<x1>,<y1>,<x2>,<y2>} assigns all fields from (x1, y1) to (x2, y2), both inclusive,
+ *     to a zone. Later rectangles override earlier ones.</li>
+ *     <li>{@code block,<x1>,<y1>,<x2>,<y2>} marks all fields from (x1, y1) to (x2, y2) as fields vehicles
+ *     cannot pass through. Blocked fields keep their zone.</li>
+ * </ul>
+ * A coordinate is either a field index or a percentage of the map size ending with {@code %}, so the same layout
+ * scales with the map. A start coordinate {@code p%} is the first field at or after that point of the map and
+ * an end coordinate {@code p%} is the last field before it, so {@code 25%} to {@code 75%} on a 20 x 20 map
+ * covers the fields from 5 to 14. Coordinates outside the map are moved to its edge.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class ZoneLoader
+{
+    /**
+     * Loads the zone layout from the given path and builds a zone map of the given size. The path is first looked up
+     * as a resource of the application and then as a file. Invalid lines are reported and skipped.
+     *
+     * @param path the path of the layout file
+     * @param width the width of the map
+     * @param height the height of the map
+     * @return the zone map, or null if the file cannot be read or declares no zones
+     */
+    public static ZoneMap loadZones(String path, int width, int height)
+    {
+        List<Zone> zones = new ArrayList<>();
+        Map<String, Integer> zoneIndexes = new HashMap<>();
+        byte[] fields = new byte[width * height];
+        BitSet blocked = new BitSet();
+
+        try(BufferedReader br = open(path)){
+            String line;
+            CsvTokenizer tokens = new CsvTokenizer();
+            while((line = br.readLine()) != null) {
+                String trimmed = line.trim();
+                if(trimmed.isEmpty() || trimmed.startsWith("#"))
+                {
+                    continue;
+                }
+                tokens.reset(trimmed);
+                String kind = tokens.field(0).trim();
+                if("zone".equalsIgnoreCase(kind))
+                {
+                    if(tokens.fieldCount() < 4)
+                    {
+                        System.out.println("Not enough arguments in zone line: " + line + ". Line is skipped.");
+                        continue;
+                    }
+                    String id = tokens.field(1).trim();
+                    String area = tokens.field(3).trim();
+                    if(id.isEmpty() || !("wide".equalsIgnoreCase(area) || "narrow".equalsIgnoreCase(area)))
+                    {
+                        System.out.println("Invalid zone in line: " + line + " Line is skipped.");
+                        continue;
+                    }
+                    if(zoneIndexes.containsKey(id))
+                    {
+                        System.out.println("Zone with ID " + id + " already exists. Line is skipped.");
+                        continue;
+                    }
+                    if(zones.size() == ZoneMap.MAX_ZONES)
+                    {
+                        System.out.println("More than " + ZoneMap.MAX_ZONES + " zones in line: " + line + " Line is skipped.");
+                        continue;
+                    }
+                    zoneIndexes.put(id, zones.size());
+                    zones.add(new Zone(id, tokens.field(2).trim(), "wide".equalsIgnoreCase(area)));
+                }
+                else if("rect".equalsIgnoreCase(kind))
+                {
+                    if(tokens.fieldCount() < 6)
+                    {
+                        System.out.println("Not enough arguments in rectangle line: " + line + ". Line is skipped.");
+                        continue;
+                    }
+                    Integer zone = zoneIndexes.get(tokens.field(1).trim());
+                    if(zone == null)
+                    {
+                        System.out.println("Unknown zone in line: " + line + " Line is skipped.");
+                        continue;
+                    }
+                    int x1, y1, x2, y2;
+                    try {
+                        x1 = parseCoordinate(tokens.field(2), width, false);
+                        y1 = parseCoordinate(tokens.field(3), height, false);
+                        x2 = parseCoordinate(tokens.field(4), width, true);
+                        y2 = parseCoordinate(tokens.field(5), height, true);
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid coordinate in line: " + line + " Line is skipped.");
+                        continue;
+                    }
+                    fill(fields, height, Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2), Math.max(y1, y2), zone.byteValue());
+                }
+                else if("block".equalsIgnoreCase(kind))
+                {
+                    if(tokens.fieldCount() < 5)
+                    {
+                        System.out.println("Not enough arguments in block line: " + line + ". Line is skipped.");
+                        continue;
+                    }
+                    int x1, y1, x2, y2;
+                    try {
+                        x1 = parseCoordinate(tokens.field(1), width, false);
+                        y1 = parseCoordinate(tokens.field(2), height, false);
+                        x2 = parseCoordinate(tokens.field(3), width, true);
+                        y2 = parseCoordinate(tokens.field(4), height, true);
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid coordinate in line: " + line + " Line is skipped.");
+                        continue;
+                    }
+                    for(int x = Math.min(x1, x2); x <= Math.max(x1, x2); x++)
+                    {
+                        blocked.set(x * height + Math.min(y1, y2), x * height + Math.max(y1, y2) + 1);
+                    }
+                }
+                else
+                {
+                    System.out.println("Unknown entry in line: " + line + " Line is skipped.");
+                }
+            }
+        }catch (IOException e) {
+            System.out.println("Zone layout " + path + " cannot be read: " + e.getMessage());
+            return null;
+        }
+
+        if(zones.isEmpty())
+        {
+            System.out.println("Zone layout " + path + " declares no zones.");
+            return null;
+        }
+        return new ZoneMap(width, height, zones.toArray(new Zone[0]), fields, blocked);
+    }
+
+    /**
+     * Opens the layout file, first as a resource of the application and then as a file.
+     *
+     * @param path the path of the layout file
+     * @return a reader for the layout file
+     * @throws IOException if the file cannot be opened
+     */
+    private static BufferedReader open(String path) throws IOException
+    {
+        InputStream resource = MainApplication.class.getResourceAsStream(path);
+        if(resource != null)
+        {
+            return new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(Paths.get(path));
+    }
+
+    /**
+     * Parses a coordinate given as a field index or as a percentage of the map size, and moves it onto the map.
+     *
+     * @param value the coordinate
+     * @param size the size of the map along the axis of the coordinate
+     * @param end {@code true} for the end of a rectangle, {@code false} for its start
+     * @return the field index on the map
+     * @throws NumberFormatException if the coordinate is not a number
+     */
+    private static int parseCoordinate(String value, int size, boolean end)
+    {
+        String trimmed = value.trim();
+        int coordinate;
+        if(trimmed.endsWith("%"))
+        {
+            double point = Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)) * size / 100;
+            coordinate = end ? (int) Math.ceil(point) - 1 : (int) Math.floor(point);
+        }
+        else
+        {
+            coordinate = Integer.parseInt(trimmed);
+        }
+        return Math.max(0, Math.min(size - 1, coordinate));
+    }
+
+    /**
+     * Assigns all fields of a rectangle to a zone.
+     *
+     * @param fields the zone index of every field, indexed by {@code x * height + y}
+     * @param height the height of the map
+     * @param x1 the smallest x-coordinate of the rectangle
+     * @param y1 the smallest y-coordinate of the rectangle
+     * @param x2 the largest x-coordinate of the rectangle
+     * @param y2 the largest y-coordinate of the rectangle
+     * @param zone the index of the zone
+     */
+    private static void fill(byte[] fields, int height, int x1, int y1, int x2, int y2, byte zone)
+    {
+        for(int x = x1; x <= x2; x++)
+        {
+            Arrays.fill(fields, x * height + y1, x * height + y2 + 1, zone);
+        }
+    }
+}
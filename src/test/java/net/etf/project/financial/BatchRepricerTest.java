@@ -0,0 +1,147 @@
+package net.etf.project.financial;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.rental.Rental;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link BatchRepricer} prices every rental of {@link RentalColumns} exactly like the {@link Receipt}
+ * of the completed rental.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class BatchRepricerTest
+{
+    private static final String[] VEHICLES = { "A1", "A2", "A3", "B1", "B2", "B3", "T1", "T2", "T7", "T10" };
+
+    private ReceiptWriter writer;
+
+    @BeforeEach
+    void configure()
+    {
+        ReceiptFixtures.configure();
+        MainApplication.userRentals.clear();
+        MainApplication.receipts.clear();
+        MainApplication.receiptStore = new ReceiptStore();
+        writer = new ReceiptWriter(new ReceiptStorage() {
+            @Override
+            public void store(List<Receipt> batch)
+            {
+            }
+
+            @Override
+            public void clear()
+            {
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        }, 1024, 256);
+        MainApplication.receiptWriter = writer;
+    }
+
+    @AfterEach
+    void cleanUp()
+    {
+        writer.shutdown();
+        MainApplication.userRentals.clear();
+        MainApplication.receipts.clear();
+        MainApplication.receiptStore = new ReceiptStore();
+    }
+
+    @Test
+    void pricesMixedRentalsLikeTheirReceipts()
+    {
+        List<Rental> rentals = mixedRentals(500);
+        RentalColumns beforeCompletion = RentalColumns.of(rentals);
+        List<Receipt> receipts = complete(rentals);
+
+        assertCovers(rentals, receipts);
+        long[] expected = receipts.stream().mapToLong(Receipt::getTotalPrice).toArray();
+        assertArrayEquals(expected, new BatchRepricer(MainApplication.pricingEngine).price(beforeCompletion, false));
+        assertArrayEquals(expected, new BatchRepricer(MainApplication.pricingEngine).price(RentalColumns.of(rentals), false));
+    }
+
+    @Test
+    void pricesLikeTheReceiptsInParallelMode()
+    {
+        // More rentals than one parallel range, so the prices are computed by several tasks
+        List<Rental> rentals = mixedRentals(40_000);
+        List<Receipt> receipts = complete(rentals);
+        RentalColumns columns = RentalColumns.of(rentals);
+        BatchRepricer repricer = new BatchRepricer(MainApplication.pricingEngine);
+
+        long[] expected = receipts.stream().mapToLong(Receipt::getTotalPrice).toArray();
+        long[] parallel = repricer.price(columns, true);
+        assertArrayEquals(expected, parallel);
+        assertArrayEquals(repricer.price(columns, false), parallel);
+        assertEquals(receipts.stream().mapToLong(Receipt::getTotalPrice).sum(), BatchRepricer.total(parallel));
+    }
+
+    /**
+     * Returns rentals of a few users, so most users reach their tenth and twentieth rental, with every vehicle type,
+     * routes that stay in the narrow area and routes that enter the wide area, promotions, malfunctions
+     * and fractional durations.
+     */
+    private static List<Rental> mixedRentals(int count)
+    {
+        Random random = new Random(23);
+        List<Rental> rentals = new ArrayList<>(count);
+        for(int i = 0; i < count; i++)
+        {
+            boolean narrow = random.nextBoolean();
+            int[] start = narrow ? new int[]{ 5 + random.nextInt(10), 5 + random.nextInt(10) }
+                    : new int[]{ random.nextInt(20), random.nextInt(3) };
+            int[] end = narrow ? new int[]{ 5 + random.nextInt(10), 5 + random.nextInt(10) }
+                    : new int[]{ random.nextInt(20), 17 + random.nextInt(3) };
+            double duration = 1 + random.nextInt(40) + (random.nextBoolean() ? 0.5 : 0);
+            rentals.add(ReceiptFixtures.rental(1 + i / 1440 % 28, i % 1440, "K" + random.nextInt(count / 25 + 1),
+                    VEHICLES[random.nextInt(VEHICLES.length)], start, end, duration,
+                    random.nextInt(10) == 0, random.nextInt(4) == 0));
+        }
+        return rentals;
+    }
+
+    /**
+     * Completes the rentals in the order of the list, as the simulation does, and returns their receipts.
+     */
+    private static List<Receipt> complete(List<Rental> rentals)
+    {
+        for(Rental rental : rentals)
+        {
+            rental.completeRental();
+        }
+        assertEquals(rentals.size(), MainApplication.receipts.size());
+        return new ArrayList<>(MainApplication.receipts);
+    }
+
+    /**
+     * Checks that the rentals include every case that changes the price.
+     */
+    private static void assertCovers(List<Rental> rentals, List<Receipt> receipts)
+    {
+        boolean tenth = false, promotion = false, tenthWithPromotion = false, malfunction = false, wide = false, narrow = false;
+        for(int i = 0; i < rentals.size(); i++)
+        {
+            Rental rental = rentals.get(i);
+            tenth |= rental.isTenthRental() && !rental.isHasMalfunction() && receipts.get(i).getDiscount() > 0;
+            promotion |= rental.isHasPromotion() && !rental.isHasMalfunction();
+            tenthWithPromotion |= rental.isTenthRental() && rental.isHasPromotion() && !rental.isHasMalfunction();
+            malfunction |= rental.isHasMalfunction();
+            wide |= rental.isInWideArea();
+            narrow |= !rental.isInWideArea();
+        }
+        assertTrue(tenth && promotion && tenthWithPromotion && malfunction && wide && narrow);
+    }
+}
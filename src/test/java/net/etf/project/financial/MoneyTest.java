@@ -0,0 +1,97 @@
+package net.etf.project.financial;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Money}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class MoneyTest
+{
+    @Test
+    void convertsUnitsToMinorUnitsRoundingHalfUp()
+    {
+        assertEquals(1250, Money.ofUnits(12.5));
+        assertEquals(13, Money.ofUnits(0.125));
+        assertEquals(12, Money.ofUnits(0.1249));
+        assertEquals(0, Money.ofUnits(0));
+        assertEquals(12.5, Money.toUnits(1250));
+    }
+
+    @Test
+    void roundsDecimalHalvesUpAlthoughTheirDoublesAreBelow()
+    {
+        // 0.145 * 100 is 14.499999999999998 as a double
+        assertEquals(15, Money.ofUnits(0.145));
+        assertEquals(101, Money.ofUnits(1.005));
+        assertEquals(29, Money.ofUnits(0.285));
+        assertEquals(-15, Money.ofUnits(-0.145));
+        // 90 * 0.35 is 31.499999999999996 as a double
+        assertEquals(32, Money.share(90, 0.35));
+        assertEquals(60, Money.share(170, 0.35));
+    }
+
+    @Test
+    void roundsLikeBigDecimalHalfUp()
+    {
+        double[] rates = { 0.02, 0.04, 0.07, 0.1, 0.15, 0.2, 0.35, 0.9 };
+        for(double rate : rates)
+        {
+            for(long amount = 0; amount < 20_000; amount++)
+            {
+                long expected = BigDecimal.valueOf(amount).multiply(BigDecimal.valueOf(rate))
+                        .setScale(0, RoundingMode.HALF_UP).longValueExact();
+                assertEquals(expected, Money.share(amount, rate), amount + " * " + rate);
+            }
+        }
+        for(int thousandths = 0; thousandths < 200_000; thousandths++)
+        {
+            double amount = thousandths / 1000.0;
+            long expected = BigDecimal.valueOf(amount).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            assertEquals(expected, Money.ofUnits(amount), Double.toString(amount));
+        }
+    }
+
+    @Test
+    void roundsSharesHalfUpToTheNearestMinorUnit()
+    {
+        assertEquals(13, Money.share(125, 0.1));
+        assertEquals(12, Money.share(124, 0.1));
+        assertEquals(4, Money.share(35, 0.1));
+        assertEquals(8, Money.share(15, 0.5));
+        assertEquals(810, Money.share(4050, 0.2));
+        assertEquals(0, Money.share(4, 0.1));
+        assertEquals(0, Money.share(1250, 0));
+        assertEquals(1250, Money.share(1250, 1));
+    }
+
+    @Test
+    void sharesOfAPriceLeaveANonNegativeRest()
+    {
+        for(long price = 0; price < 10_000; price++)
+        {
+            long discount = Money.share(price, 0.1);
+            long promotion = Money.share(price - discount, 0.2);
+            assertTrue(discount >= 0 && promotion >= 0 && price - discount - promotion >= 0, "price " + price);
+        }
+    }
+
+    @Test
+    void formatsWithExactlyTwoDecimalPlaces()
+    {
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("0.50", Money.format(50));
+        assertEquals("12.50", Money.format(1250));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("1234567890.12", Money.format(123456789012L));
+        assertEquals("92233720368547758.07", Money.format(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,95 @@
+package net.etf.project.financial;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.rental.Location;
+import net.etf.project.model.rental.Rental;
+import net.etf.project.simulation.LShapedRoutePlanner;
+import net.etf.project.util.VehicleLoader;
+import net.etf.project.util.ZoneLoader;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * The ReceiptFixtures class sets up the configuration that receipts need in tests: the 20 x 20 map with the zones
+ * of {@code zones.txt}, the L-shaped route planner, the prices of {@code config.properties} and the vehicles
+ * from the data folder. It also builds rentals and receipts for the tests.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public final class ReceiptFixtures
+{
+    private ReceiptFixtures()
+    {
+    }
+
+    /**
+     * Sets the configuration of the application used for pricing and loads the vehicles if they are not loaded yet.
+     * The tests run from the project folder, where the vehicle file is found.
+     */
+    public static synchronized void configure()
+    {
+        MainApplication.MAP_WIDTH = 20;
+        MainApplication.MAP_HEIGHT = 20;
+        MainApplication.zoneMap = ZoneLoader.loadZones("/zones.txt", 20, 20);
+        MainApplication.routePlanner = new LShapedRoutePlanner();
+        MainApplication.DISTANCE_NARROW = 5;
+        MainApplication.DISTANCE_WIDE = 10;
+        MainApplication.DISCOUNT = 0.1;
+        MainApplication.DISCOUNT_PROM = 0.2;
+        MainApplication.CAR_UNIT_PRICE = 15;
+        MainApplication.BIKE_UNIT_PRICE = 5;
+        MainApplication.SCOOTER_UNIT_PRICE = 7;
+        MainApplication.MAINTENANCE_COEFFICIENT = 0.2;
+        MainApplication.CAR_COEFFICIENT = 0.07;
+        MainApplication.BICYCLE_COEFFICIENT = 0.04;
+        MainApplication.SCOOTER_COEFFICIENT = 0.02;
+        MainApplication.COMPANY_COSTS_COEFFICIENT = 0.2;
+        MainApplication.TAX_COEFFICIENT = 0.1;
+        MainApplication.pricingEngine = PricingEngine.fromConfiguration();
+        if(!MainApplication.vehicleRegistry.contains("A1"))
+        {
+            MainApplication.VEHICLE_DATA_PATH = "data/PJ2 - projektni zadatak 2024 - Prevozna sredstva.csv";
+            VehicleLoader.loadVehicles();
+        }
+    }
+
+    /**
+     * Returns a rental on the given day of June 2024.
+     *
+     * @param day the day of the month
+     * @param minute the minute of the day
+     * @param user the name of the user
+     * @param vehicleId the ID of the vehicle
+     * @param start the start field, as {x, y}
+     * @param end the end field, as {x, y}
+     * @param duration the duration of the rental in seconds
+     * @param malfunction whether the vehicle breaks down during the rental
+     * @param promotion whether the rental has a promotion
+     * @return the rental
+     */
+    public static Rental rental(int day, int minute, String user, String vehicleId, int[] start, int[] end,
+                                double duration, boolean malfunction, boolean promotion)
+    {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2024, Calendar.JUNE, day, 0, 0);
+        calendar.add(Calendar.MINUTE, minute);
+        Date time = calendar.getTime();
+        return new Rental(time, user, vehicleId, new Location(start[0], start[1]), new Location(end[0], end[1]),
+                duration, malfunction, promotion);
+    }
+
+    /**
+     * Returns a receipt of a rental without a malfunction or a promotion, from a corner of the map to the centre.
+     *
+     * @param index the index of the receipt, which makes its rental time and user unique
+     * @return the receipt
+     */
+    public static Receipt receipt(int index)
+    {
+        return new Receipt(rental(1 + index / 1440 % 28, index % 1440, "K" + index, "A1",
+                new int[]{0, 0}, new int[]{10, 10}, 5, false, false));
+    }
+}
@@ -0,0 +1,146 @@
+package net.etf.project.financial;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ReceiptJournal}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class ReceiptJournalTest
+{
+    private static final List<Receipt> RECEIPTS = new ArrayList<>();
+
+    @TempDir
+    Path folder;
+
+    @BeforeAll
+    static void createReceipts()
+    {
+        ReceiptFixtures.configure();
+        for(int i = 0; i < 50; i++)
+        {
+            RECEIPTS.add(ReceiptFixtures.receipt(i));
+        }
+    }
+
+    @Test
+    void findsStoredReceiptsByRentalAndByUser() throws IOException
+    {
+        ReceiptJournal journal = new ReceiptJournal(folder.toString(), 1 << 20);
+        journal.store(RECEIPTS.subList(0, 20));
+        journal.store(RECEIPTS.subList(20, 50));
+
+        assertEquals(50, journal.size());
+        assertAllFound(journal, RECEIPTS);
+        assertEquals(List.of(RECEIPTS.get(7).getReceiptText()), journal.findByUser(RECEIPTS.get(7).getRental().getUserName()));
+        assertNull(journal.find("A1", new Date(0)));
+        assertTrue(journal.findByUser("nobody").isEmpty());
+        journal.close();
+    }
+
+    @Test
+    void readsTheReceiptsBackWhenReopenedAndAppendsAfterThem() throws IOException
+    {
+        long segmentSize = 3L * RECEIPTS.get(0).getReceiptText().length();
+        ReceiptJournal journal = new ReceiptJournal(folder.toString(), segmentSize);
+        for(Receipt receipt : RECEIPTS.subList(0, 30))
+        {
+            journal.store(List.of(receipt));
+        }
+        int segments = journal.getSegmentCount();
+        journal.close();
+        assertTrue(segments > 1);
+
+        ReceiptJournal reopened = new ReceiptJournal(folder.toString(), segmentSize);
+        assertEquals(30, reopened.size());
+        assertEquals(segments, reopened.getSegmentCount());
+        assertAllFound(reopened, RECEIPTS.subList(0, 30));
+
+        for(Receipt receipt : RECEIPTS.subList(30, 50))
+        {
+            reopened.store(List.of(receipt));
+        }
+        reopened.close();
+
+        ReceiptJournal again = new ReceiptJournal(folder.toString(), segmentSize);
+        assertEquals(50, again.size());
+        assertAllFound(again, RECEIPTS);
+        again.close();
+    }
+
+    @Test
+    void dropsAnUnfinishedBatchAndAppendsWhereTheCompleteOneEnds() throws IOException
+    {
+        ReceiptJournal journal = new ReceiptJournal(folder.toString(), 1 << 20);
+        journal.store(RECEIPTS.subList(0, 10));
+        journal.close();
+
+        Path segment = folder.resolve("receipts-00000.seg");
+        Path index = folder.resolve("receipts-00000.idx");
+        long segmentSize = Files.size(segment);
+        long indexSize = Files.size(index);
+        // The receipts of the next batch reached the segment, but only a part of its first index entry was written
+        Files.write(segment, RECEIPTS.get(10).getReceiptText().getBytes(), StandardOpenOption.APPEND);
+        Files.write(index, new byte[] { 0, 2, 'A', '1', 0, 0, 1 }, StandardOpenOption.APPEND);
+
+        ReceiptJournal reopened = new ReceiptJournal(folder.toString(), 1 << 20);
+        assertEquals(10, reopened.size());
+        assertEquals(segmentSize, Files.size(segment));
+        assertEquals(indexSize, Files.size(index));
+        assertAllFound(reopened, RECEIPTS.subList(0, 10));
+
+        reopened.store(RECEIPTS.subList(10, 50));
+        reopened.close();
+
+        ReceiptJournal again = new ReceiptJournal(folder.toString(), 1 << 20);
+        assertEquals(50, again.size());
+        assertAllFound(again, RECEIPTS);
+        again.close();
+    }
+
+    @Test
+    void clearDropsAllSegments() throws IOException
+    {
+        ReceiptJournal journal = new ReceiptJournal(folder.toString(), 1000);
+        journal.store(RECEIPTS.subList(0, 10));
+        journal.store(RECEIPTS.subList(10, 20));
+        journal.clear();
+
+        assertEquals(0, journal.size());
+        assertEquals(1, journal.getSegmentCount());
+        assertNull(journal.find(RECEIPTS.get(0).getRental().getRentalVehicleId(), RECEIPTS.get(0).getRental().getRentalDateTime()));
+        journal.store(RECEIPTS.subList(20, 25));
+        journal.close();
+
+        ReceiptJournal reopened = new ReceiptJournal(folder.toString(), 1000);
+        assertEquals(5, reopened.size());
+        assertAllFound(reopened, RECEIPTS.subList(20, 25));
+        reopened.close();
+    }
+
+    /**
+     * Checks that every receipt is found by its vehicle and rental time with its full text.
+     */
+    private static void assertAllFound(ReceiptJournal journal, List<Receipt> receipts) throws IOException
+    {
+        for(Receipt receipt : receipts)
+        {
+            assertEquals(receipt.getReceiptText(),
+                    journal.find(receipt.getRental().getRentalVehicleId(), receipt.getRental().getRentalDateTime()));
+        }
+    }
+}
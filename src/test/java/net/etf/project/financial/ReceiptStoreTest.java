@@ -0,0 +1,115 @@
+package net.etf.project.financial;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the time range queries of {@link ReceiptStore}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class ReceiptStoreTest
+{
+    private ReceiptStore store;
+
+    private Receipt early;
+    private Receipt atNoon;
+    private Receipt alsoAtNoon;
+    private Receipt otherUserAtNoon;
+    private Receipt late;
+
+    @BeforeAll
+    static void configure()
+    {
+        ReceiptFixtures.configure();
+    }
+
+    @BeforeEach
+    void fillStore()
+    {
+        store = new ReceiptStore();
+        early = receipt(1, 600, "K1", "A1");
+        atNoon = receipt(1, 720, "K1", "A1");
+        alsoAtNoon = receipt(1, 720, "K1", "B1");
+        otherUserAtNoon = receipt(1, 720, "K2", "A1");
+        late = receipt(2, 720, "K1", "A1");
+        // Added out of time order, so the store has to sort them
+        store.add(late);
+        store.add(atNoon);
+        store.add(early);
+        store.add(alsoAtNoon);
+        store.add(otherUserAtNoon);
+    }
+
+    @Test
+    void rangesIncludeTheStartAndExcludeTheEnd()
+    {
+        assertEquals(List.of(atNoon, alsoAtNoon, otherUserAtNoon), store.findBetween(time(1, 720), time(2, 720)));
+        assertEquals(List.of(early), store.findBetween(time(1, 600), time(1, 720)));
+        assertEquals(List.of(atNoon, alsoAtNoon, otherUserAtNoon, late), store.findBetween(time(1, 601), time(2, 721)));
+
+        assertEquals(List.of(atNoon, alsoAtNoon), store.findByUser("K1", time(1, 720), time(2, 720)));
+        assertEquals(List.of(early), store.findByUser("K1", time(1, 600), time(1, 720)));
+
+        assertEquals(List.of(atNoon, otherUserAtNoon), store.findByVehicle("A1", time(1, 720), time(2, 720)));
+        assertEquals(List.of(late), store.findByVehicle("A1", time(2, 720), time(2, 721)));
+    }
+
+    @Test
+    void emptyAndReversedRangesReturnNothing()
+    {
+        assertTrue(store.findBetween(time(1, 720), time(1, 720)).isEmpty());
+        assertTrue(store.findBetween(time(2, 720), time(1, 600)).isEmpty());
+        assertTrue(store.findByUser("K1", time(1, 720), time(1, 720)).isEmpty());
+        assertTrue(store.findByUser("K1", time(2, 720), time(1, 600)).isEmpty());
+        assertTrue(store.findByVehicle("A1", time(1, 720), time(1, 720)).isEmpty());
+        assertTrue(store.findByVehicle("A1", time(2, 720), time(1, 600)).isEmpty());
+    }
+
+    @Test
+    void receiptsWithTheSameTimeAreAllKeptInTheOrderTheyWereAdded()
+    {
+        Receipt first = receipt(3, 0, "K3", "T1");
+        Receipt second = receipt(3, 0, "K3", "T1");
+        Receipt third = receipt(3, 0, "K3", "T1");
+        store.add(first);
+        store.add(second);
+        store.add(third);
+
+        List<Receipt> expected = List.of(first, second, third);
+        assertEquals(expected, store.findBetween(time(3, 0), time(3, 1)));
+        assertEquals(expected, store.findByUser("K3", time(3, 0), time(3, 1)));
+        assertEquals(expected, store.findByVehicle("T1", time(3, 0), time(3, 1)));
+        assertEquals(expected, store.findByUser("K3"));
+        assertEquals(8, store.size());
+    }
+
+    @Test
+    void unknownUsersAndVehiclesHaveNoReceipts()
+    {
+        assertTrue(store.findByUser("K9", time(1, 0), time(3, 0)).isEmpty());
+        assertTrue(store.findByUser("K9").isEmpty());
+        assertTrue(store.findByVehicle("T9", time(1, 0), time(3, 0)).isEmpty());
+        assertTrue(store.findByVehicle("T9").isEmpty());
+        assertTrue(store.findByUser("K2", time(2, 0), time(3, 0)).isEmpty());
+    }
+
+    private static Receipt receipt(int day, int minute, String user, String vehicleId)
+    {
+        return new Receipt(ReceiptFixtures.rental(day, minute, user, vehicleId,
+                new int[]{ 0, 0 }, new int[]{ 10, 10 }, 5, false, false));
+    }
+
+    private static Date time(int day, int minute)
+    {
+        return ReceiptFixtures.rental(day, minute, "K0", "A1", new int[]{ 0, 0 }, new int[]{ 0, 0 }, 1, false, false)
+                .getRentalDateTime();
+    }
+}
@@ -0,0 +1,143 @@
+package net.etf.project.financial;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ReceiptWriter}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class ReceiptWriterTest
+{
+    private static final List<Receipt> RECEIPTS = new ArrayList<>();
+
+    @BeforeAll
+    static void createReceipts()
+    {
+        ReceiptFixtures.configure();
+        for(int i = 0; i < 200; i++)
+        {
+            RECEIPTS.add(ReceiptFixtures.receipt(i));
+        }
+    }
+
+    @Test
+    void writesEveryReceiptSubmittedBeforeShutdownInOrder()
+    {
+        MemoryStorage storage = new MemoryStorage(1);
+        ReceiptWriter writer = new ReceiptWriter(storage, 4, 3);
+
+        for(Receipt receipt : RECEIPTS)
+        {
+            writer.submit(receipt);
+        }
+        writer.shutdown();
+
+        assertEquals(RECEIPTS, storage.stored);
+        assertEquals(RECEIPTS.size(), writer.getWrittenReceipts());
+        assertEquals(0, writer.getQueueDepth());
+        assertTrue(writer.getMaxQueueDepth() >= 1 && writer.getMaxQueueDepth() <= 4);
+        assertTrue(storage.closed);
+    }
+
+    @Test
+    void rejectsReceiptsAfterShutdown()
+    {
+        ReceiptWriter writer = new ReceiptWriter(new MemoryStorage(0), 4, 2);
+        writer.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> writer.submit(RECEIPTS.get(0)));
+    }
+
+    @Test
+    void neverLosesAReceiptSubmittedWhileShuttingDown() throws InterruptedException
+    {
+        for(int round = 0; round < 20; round++)
+        {
+            MemoryStorage storage = new MemoryStorage(0);
+            ReceiptWriter writer = new ReceiptWriter(storage, 2, 2);
+            AtomicInteger accepted = new AtomicInteger();
+            CountDownLatch submitting = new CountDownLatch(4);
+            List<Thread> threads = new ArrayList<>();
+            for(int t = 0; t < 4; t++)
+            {
+                Thread thread = new Thread(() -> {
+                    submitting.countDown();
+                    try {
+                        for(int i = 0; ; i = (i + 1) % RECEIPTS.size())
+                        {
+                            writer.submit(RECEIPTS.get(i));
+                            accepted.incrementAndGet();
+                        }
+                    } catch (IllegalStateException e) {
+                        // The writer has been shut down
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            submitting.await();
+            writer.shutdown();
+            for(Thread thread : threads)
+            {
+                thread.join(5000);
+                assertFalse(thread.isAlive(), "A submitting thread is still waiting after shutdown");
+            }
+
+            assertEquals(accepted.get(), storage.stored.size());
+            assertEquals(accepted.get(), writer.getWrittenReceipts());
+        }
+    }
+
+    /**
+     * A storage that keeps the written receipts in memory and can take some time for every batch.
+     */
+    private static class MemoryStorage implements ReceiptStorage
+    {
+        private final List<Receipt> stored = Collections.synchronizedList(new ArrayList<>());
+        private final long delay;
+        private volatile boolean closed;
+
+        MemoryStorage(long delay)
+        {
+            this.delay = delay;
+        }
+
+        @Override
+        public void store(List<Receipt> batch)
+        {
+            assertFalse(closed, "Receipts written after the storage was closed");
+            stored.addAll(batch);
+            if(delay > 0)
+            {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void clear()
+        {
+            stored.clear();
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+    }
+}
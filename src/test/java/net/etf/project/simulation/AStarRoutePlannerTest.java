@@ -0,0 +1,192 @@
+package net.etf.project.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link AStarRoutePlanner}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class AStarRoutePlannerTest
+{
+    private static final int SIZE = 20;
+
+    @Test
+    void matchesTheLShapedRouteOnAMapWithoutBlockedFields()
+    {
+        ZoneMap zoneMap = ZoneMap.withWideBorder(SIZE, SIZE, 5);
+        RoutePlanner planner = new AStarRoutePlanner(zoneMap);
+        RoutePlanner lShaped = new LShapedRoutePlanner();
+
+        assertEquals(lShaped.plan(2, 3, 17, 11), planner.plan(2, 3, 17, 11));
+        assertEquals(lShaped.plan(17, 11, 2, 3), planner.plan(17, 11, 2, 3));
+        assertEquals(lShaped.plan(4, 4, 4, 15), planner.plan(4, 4, 4, 15));
+        assertEquals(lShaped.plan(6, 6, 6, 6), planner.plan(6, 6, 6, 6));
+    }
+
+    @Test
+    void goesAroundAWallThroughItsGap()
+    {
+        BitSet blocked = new BitSet();
+        // A wall along x = 10 with a gap at y = 18
+        for(int y = 0; y < SIZE; y++)
+        {
+            if(y != 18)
+            {
+                blocked.set(10 * SIZE + y);
+            }
+        }
+        ZoneMap zoneMap = withBlocked(blocked);
+
+        Route route = new AStarRoutePlanner(zoneMap).plan(2, 2, 17, 2);
+
+        assertPassable(route, zoneMap);
+        assertEquals(shortestSteps(zoneMap, 2, 2, 17, 2), route.getStepCount());
+        assertEquals(15 + 2 * 16, route.getStepCount());
+    }
+
+    @Test
+    void findsAShortestPassableRouteOnRandomMaps()
+    {
+        Random random = new Random(17);
+        for(int map = 0; map < 20; map++)
+        {
+            BitSet blocked = new BitSet();
+            for(int field = 0; field < SIZE * SIZE; field++)
+            {
+                if(random.nextInt(100) < 25)
+                {
+                    blocked.set(field);
+                }
+            }
+            ZoneMap zoneMap = withBlocked(blocked);
+            RoutePlanner planner = new AStarRoutePlanner(zoneMap);
+            for(int rental = 0; rental < 20; rental++)
+            {
+                int startX = random.nextInt(SIZE);
+                int startY = random.nextInt(SIZE);
+                int endX = random.nextInt(SIZE);
+                int endY = random.nextInt(SIZE);
+                int shortest = shortestSteps(zoneMap, startX, startY, endX, endY);
+                if(shortest < 0)
+                {
+                    continue;
+                }
+
+                Route route = planner.plan(startX, startY, endX, endY);
+
+                assertEquals(startX, route.getX(0));
+                assertEquals(startY, route.getY(0));
+                assertEquals(endX, route.getX(route.getWaypointCount() - 1));
+                assertEquals(endY, route.getY(route.getWaypointCount() - 1));
+                assertPassable(route, zoneMap);
+                assertEquals(shortest, route.getStepCount(), route.toString());
+            }
+        }
+    }
+
+    @Test
+    void allowsBlockedStartAndEndFields()
+    {
+        BitSet blocked = new BitSet();
+        blocked.set(3 * SIZE + 3);
+        blocked.set(8 * SIZE + 9);
+        ZoneMap zoneMap = withBlocked(blocked);
+
+        Route route = new AStarRoutePlanner(zoneMap).plan(3, 3, 8, 9);
+
+        assertEquals(11, route.getStepCount());
+    }
+
+    @Test
+    void usesTheLShapedRouteWhenTheEndCannotBeReached()
+    {
+        BitSet blocked = new BitSet();
+        // Close in the field (15, 15)
+        blocked.set(14 * SIZE + 15);
+        blocked.set(16 * SIZE + 15);
+        blocked.set(15 * SIZE + 14);
+        blocked.set(15 * SIZE + 16);
+        ZoneMap zoneMap = withBlocked(blocked);
+
+        Route route = new AStarRoutePlanner(zoneMap).plan(1, 1, 15, 15);
+
+        assertEquals(new LShapedRoutePlanner().plan(1, 1, 15, 15), route);
+    }
+
+    /**
+     * Returns a narrow map of the test size with the given blocked fields.
+     */
+    private static ZoneMap withBlocked(BitSet blocked)
+    {
+        Zone[] zones = { new Zone("NARROW", "Narrow area", false), new Zone("WIDE", "Wide area", true) };
+        return new ZoneMap(SIZE, SIZE, zones, new byte[SIZE * SIZE], blocked);
+    }
+
+    /**
+     * Checks that no field of the route between the start and the end is blocked.
+     */
+    private static void assertPassable(Route route, ZoneMap zoneMap)
+    {
+        for(int i = 1; i < route.getWaypointCount(); i++)
+        {
+            int x = route.getX(i - 1);
+            int y = route.getY(i - 1);
+            int endX = route.getX(i);
+            int endY = route.getY(i);
+            while(x != endX || y != endY)
+            {
+                x += Integer.signum(endX - x);
+                y += Integer.signum(endY - y);
+                boolean last = i == route.getWaypointCount() - 1 && x == endX && y == endY;
+                assertFalse(!last && zoneMap.isBlocked(x, y), "Route " + route + " passes the blocked field (" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    /**
+     * Returns the number of steps of a shortest route found by a breadth-first search, or -1 if there is none.
+     */
+    private static int shortestSteps(ZoneMap zoneMap, int startX, int startY, int endX, int endY)
+    {
+        int[] steps = new int[SIZE * SIZE];
+        Arrays.fill(steps, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int end = endX * SIZE + endY;
+        steps[startX * SIZE + startY] = 0;
+        queue.add(startX * SIZE + startY);
+        while(!queue.isEmpty())
+        {
+            int field = queue.poll();
+            if(field == end)
+            {
+                return steps[field];
+            }
+            int x = field / SIZE;
+            int y = field % SIZE;
+            int[][] moves = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+            for(int[] move : moves)
+            {
+                int nx = x + move[0];
+                int ny = y + move[1];
+                int next = nx * SIZE + ny;
+                if(nx < 0 || nx >= SIZE || ny < 0 || ny >= SIZE || steps[next] >= 0
+                        || (next != end && zoneMap.isBlocked(nx, ny)))
+                {
+                    continue;
+                }
+                steps[next] = steps[field] + 1;
+                queue.add(next);
+            }
+        }
+        return -1;
+    }
+}
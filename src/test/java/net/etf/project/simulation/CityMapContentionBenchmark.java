@@ -0,0 +1,178 @@
+package net.etf.project.simulation;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.vehicles.Car;
+import net.etf.project.model.vehicles.Vehicle;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The CityMapContentionBenchmark class measures how the striped locks of {@link CityMap} hold up when thousands of
+ * threads move vehicles at the same time. Every thread owns one vehicle and moves it step by step with
+ * {@link CityMap#removeVehicle} and {@link CityMap#addVehicle}, like a rental does. Each size is run once with the
+ * vehicles spread over the whole map and once with all of them crowded into a few fields, so that most of the moves
+ * compete for the same locks. A crowded field also holds many vehicles, so part of the crowded time is the
+ * search for the vehicle that is removed, not only the wait for the lock.
+ * <p>
+ * After every run the counts of the map are checked: every vehicle must be on exactly one field, and the block
+ * counts must add up to the same number. A lost or doubled vehicle is reported as a failure.
+ * <p>
+ * It is a standalone harness, not a unit test, and is run from the project folder with the test classpath:
+ * {@code java -cp target/classes:target/test-classes:<dependencies> net.etf.project.simulation.CityMapContentionBenchmark [threads moves]}
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class CityMapContentionBenchmark
+{
+    /**
+     * The numbers of moving threads that are run when no number is given.
+     */
+    private static final int[] DEFAULT_THREADS = {1_000, 2_000, 4_000};
+
+    /**
+     * The number of moves every thread makes when no number is given.
+     */
+    private static final int DEFAULT_MOVES = 2_000;
+
+    /**
+     * The side of the square of fields the vehicles are kept in when they are crowded.
+     */
+    private static final int CROWDED_SIDE = 4;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of threads and the number of moves per thread, optional
+     * @throws InterruptedException if the benchmark is interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException
+    {
+        int[] threads = DEFAULT_THREADS;
+        int moves = DEFAULT_MOVES;
+        if(args.length > 0)
+        {
+            threads = new int[]{Integer.parseInt(args[0])};
+        }
+        if(args.length > 1)
+        {
+            moves = Integer.parseInt(args[1]);
+        }
+        if(MainApplication.MAP_WIDTH <= 0 || MainApplication.MAP_HEIGHT <= 0)
+        {
+            MainApplication.MAP_WIDTH = 20;
+            MainApplication.MAP_HEIGHT = 20;
+        }
+
+        // Warm up the map before measuring
+        run(threads[0], moves / 10, MainApplication.MAP_WIDTH, false);
+        boolean consistent = true;
+        for(int count : threads)
+        {
+            consistent &= run(count, moves, MainApplication.MAP_WIDTH, true);
+            consistent &= run(count, moves, CROWDED_SIDE, true);
+        }
+        if(!consistent)
+        {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts the given number of threads, lets all of them move their vehicle at once and checks the map afterwards.
+     *
+     * @param threads the number of threads
+     * @param moves the number of moves every thread makes
+     * @param side the side of the square of fields, starting at (0, 0), the vehicles move in
+     * @param print {@code true} if the time should be printed
+     * @return {@code true} if every vehicle is on the map exactly once after the run
+     * @throws InterruptedException if the benchmark is interrupted while waiting for the threads
+     */
+    private static boolean run(int threads, int moves, int side, boolean print) throws InterruptedException
+    {
+        CityMap map = new CityMap();
+        int width = Math.min(side, map.getWidth());
+        int height = Math.min(side, map.getHeight());
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] movers = new Thread[threads];
+        for(int i = 0; i < threads; i++)
+        {
+            Vehicle vehicle = new Car("BENCH" + i, 0, "", "", new Date(0), "");
+            Random random = new Random(i);
+            int x = random.nextInt(width);
+            int y = random.nextInt(height);
+            map.addVehicle(x, y, vehicle);
+            movers[i] = new Thread(() -> move(map, vehicle, x, y, width, height, moves, random, start));
+            movers[i].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for(Thread mover : movers)
+        {
+            mover.join();
+        }
+        long time = System.nanoTime() - begin;
+
+        int onFields = 0;
+        for(int x = 0; x < map.getWidth(); x++)
+        {
+            for(int y = 0; y < map.getHeight(); y++)
+            {
+                onFields += map.getVehicleCount(x, y);
+            }
+        }
+        int inBlocks = 0;
+        for(int blockX = 0; blockX * CityMap.BLOCK_SIZE < map.getWidth(); blockX++)
+        {
+            for(int blockY = 0; blockY * CityMap.BLOCK_SIZE < map.getHeight(); blockY++)
+            {
+                inBlocks += map.getBlockVehicleCount(blockX, blockY);
+            }
+        }
+        boolean consistent = onFields == threads && inBlocks == threads;
+
+        if(print)
+        {
+            long operations = 2L * threads * moves;
+            System.err.printf("%6d threads on %3d x %-3d fields: %6d ms, %6d ns/operation%s%n",
+                    threads, width, height, time / 1_000_000, time / operations,
+                    consistent ? "" : ", INCONSISTENT: " + onFields + " on fields, " + inBlocks + " in blocks");
+        }
+        else if(!consistent)
+        {
+            System.err.println("Warm-up left " + onFields + " vehicles on fields and " + inBlocks + " in blocks instead of " + threads);
+        }
+        return consistent;
+    }
+
+    /**
+     * Moves the vehicle one field at a time in a random direction, staying inside the given square of fields.
+     */
+    private static void move(CityMap map, Vehicle vehicle, int x, int y, int width, int height, int moves,
+                             Random random, CountDownLatch start)
+    {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for(int i = 0; i < moves; i++)
+        {
+            map.removeVehicle(x, y, vehicle);
+            int step = random.nextBoolean() ? 1 : -1;
+            if(random.nextBoolean())
+            {
+                x = Math.floorMod(x + step, width);
+            }
+            else
+            {
+                y = Math.floorMod(y + step, height);
+            }
+            map.addVehicle(x, y, vehicle);
+        }
+    }
+}
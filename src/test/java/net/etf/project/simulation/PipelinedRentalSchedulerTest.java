@@ -0,0 +1,80 @@
+package net.etf.project.simulation;
+
+import net.etf.project.model.rental.Location;
+import net.etf.project.model.rental.Rental;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PipelinedRentalScheduler}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class PipelinedRentalSchedulerTest
+{
+    @Test
+    void rentalsOfTheSameVehicleNeverMoveAtTheSameTime() throws InterruptedException
+    {
+        List<Rental> rentals = new ArrayList<>();
+        for(int group = 0; group < 5; group++)
+        {
+            Date time = new Date(group * 60_000L);
+            for(int vehicle = 0; vehicle < 4; vehicle++)
+            {
+                rentals.add(new Rental(time, "K" + group, "V" + vehicle, new Location(0, 0), new Location(1, 1), 1, false, false));
+            }
+        }
+        MovementRecorder executor = new MovementRecorder();
+
+        new PipelinedRentalScheduler(executor, new RealTimeClock(SimulationClock.MAX_SPEED)).run(rentals);
+        executor.shutdown();
+
+        assertEquals(rentals.size(), executor.started.get());
+        assertEquals(1, executor.maxMovingPerVehicle.get());
+    }
+
+    /**
+     * An executor whose movements only take some time and record how many rentals of a vehicle move at once.
+     * The movements report that the vehicle was not found, so the rentals are not completed.
+     */
+    private static class MovementRecorder implements RentalExecutor
+    {
+        private final Map<String, AtomicInteger> movingPerVehicle = new ConcurrentHashMap<>();
+        private final AtomicInteger maxMovingPerVehicle = new AtomicInteger();
+        private final AtomicInteger started = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<Boolean> submitMovement(Rental rental)
+        {
+            return CompletableFuture.supplyAsync(() -> {
+                AtomicInteger moving = movingPerVehicle.computeIfAbsent(rental.getRentalVehicleId(), id -> new AtomicInteger());
+                started.incrementAndGet();
+                maxMovingPerVehicle.accumulateAndGet(moving.incrementAndGet(), Math::max);
+                try {
+                    // Much longer than the pause between groups, so the groups overlap
+                    Thread.sleep(40);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    moving.decrementAndGet();
+                }
+                return false;
+            });
+        }
+
+        @Override
+        public void shutdown()
+        {
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package net.etf.project.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RealTimeClock}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class RealTimeClockTest
+{
+    /**
+     * A simulated time that is far longer than any of the tests may take at real speed.
+     */
+    private static final long HOUR = 60 * 60 * 1000;
+
+    @Test
+    void sleepsForTheSimulatedTimeAtTheCurrentSpeed() throws InterruptedException
+    {
+        RealTimeClock clock = new RealTimeClock(100);
+        long start = clock.now();
+        long realStart = System.nanoTime();
+
+        clock.sleep(2000);
+
+        assertTrue(clock.now() - start >= 2000);
+        long realMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - realStart);
+        assertTrue(realMillis >= 19 && realMillis < 2000, "slept " + realMillis + " ms");
+    }
+
+    @Test
+    void skipWakesUpSleepingThreads() throws Exception
+    {
+        RealTimeClock clock = new RealTimeClock();
+        CompletableFuture<Void> sleeper = sleepAsync(clock, HOUR);
+        assertStillSleeping(sleeper);
+
+        clock.skipTo(clock.now() + HOUR);
+
+        sleeper.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void speedChangeWakesUpSleepingThreads() throws Exception
+    {
+        RealTimeClock clock = new RealTimeClock();
+        CompletableFuture<Void> sleeper = sleepAsync(clock, 60_000);
+        assertStillSleeping(sleeper);
+
+        clock.setSpeed(SimulationClock.MAX_SPEED);
+
+        sleeper.get(5, TimeUnit.SECONDS);
+        assertEquals(SimulationClock.MAX_SPEED, clock.getSpeed());
+    }
+
+    @Test
+    void pauseHoldsSleepingThreadsUntilResumed() throws Exception
+    {
+        RealTimeClock clock = new RealTimeClock(SimulationClock.MAX_SPEED);
+        clock.pause();
+        long pausedAt = clock.now();
+        CompletableFuture<Void> sleeper = sleepAsync(clock, 10);
+        assertStillSleeping(sleeper);
+        assertTrue(clock.isPaused());
+        assertEquals(pausedAt, clock.now());
+
+        clock.resume();
+
+        sleeper.get(5, TimeUnit.SECONDS);
+        assertFalse(clock.isPaused());
+        assertTrue(clock.now() >= pausedAt + 10);
+    }
+
+    @Test
+    void interruptStopsTheSleep() throws Exception
+    {
+        RealTimeClock clock = new RealTimeClock();
+        CompletableFuture<Throwable> thrown = new CompletableFuture<>();
+        Thread sleeper = new Thread(() -> {
+            try {
+                clock.sleep(HOUR);
+                thrown.complete(null);
+            } catch (Throwable e) {
+                thrown.complete(e);
+            }
+        });
+        sleeper.start();
+        Thread.sleep(50);
+
+        sleeper.interrupt();
+
+        assertInstanceOf(InterruptedException.class, thrown.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timeNeverGoesBackWhileItIsChanged() throws InterruptedException
+    {
+        RealTimeClock clock = new RealTimeClock();
+        Thread changer = new Thread(() -> {
+            for(int i = 0; i < 2000; i++)
+            {
+                clock.setSpeed(i % 2 == 0 ? SimulationClock.MAX_SPEED : SimulationClock.MIN_SPEED);
+                clock.skipTo(clock.now() + 5);
+            }
+        });
+        changer.start();
+        long last = clock.now();
+        while(changer.isAlive())
+        {
+            long now = clock.now();
+            assertTrue(now >= last - 1, now + " after " + last);
+            last = Math.max(last, now);
+        }
+        changer.join();
+    }
+
+    private static CompletableFuture<Void> sleepAsync(RealTimeClock clock, long millis)
+    {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                clock.sleep(millis);
+                done.complete(null);
+            } catch (InterruptedException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return done;
+    }
+
+    private static void assertStillSleeping(CompletableFuture<Void> sleeper) throws Exception
+    {
+        assertThrows(TimeoutException.class, () -> sleeper.get(100, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,128 @@
+package net.etf.project.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RouteCache}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class RouteCacheTest
+{
+    @Test
+    void plansEveryRouteOnceAndSharesIt()
+    {
+        CountingPlanner planner = new CountingPlanner();
+        RouteCache cache = new RouteCache(planner, 16);
+
+        Route first = cache.plan(1, 2, 7, 8);
+        Route second = cache.plan(1, 2, 7, 8);
+
+        assertSame(first, second);
+        assertEquals(new LShapedRoutePlanner().plan(1, 2, 7, 8), first);
+        assertEquals(1, planner.calls.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void keepsRoutesInDifferentDirectionsApart()
+    {
+        CountingPlanner planner = new CountingPlanner();
+        RouteCache cache = new RouteCache(planner, 16);
+
+        Route there = cache.plan(1, 2, 7, 8);
+        Route back = cache.plan(7, 8, 1, 2);
+        Route swapped = cache.plan(2, 1, 8, 7);
+
+        assertNotEquals(there, back);
+        assertNotEquals(there, swapped);
+        assertEquals(3, planner.calls.get());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void removesTheLeastRecentlyUsedRouteWhenFull()
+    {
+        CountingPlanner planner = new CountingPlanner();
+        RouteCache cache = new RouteCache(planner, 2);
+
+        cache.plan(0, 0, 1, 1);
+        cache.plan(0, 0, 2, 2);
+        cache.plan(0, 0, 1, 1);
+        cache.plan(0, 0, 3, 3);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, planner.calls.get());
+        cache.plan(0, 0, 1, 1);
+        assertEquals(3, planner.calls.get());
+        cache.plan(0, 0, 2, 2);
+        assertEquals(4, planner.calls.get());
+    }
+
+    @Test
+    void rejectsCapacityThatIsNotPositive()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new RouteCache(new LShapedRoutePlanner(), 0));
+    }
+
+    @Test
+    void givesTheSameRoutesToConcurrentRentals() throws InterruptedException
+    {
+        CountingPlanner planner = new CountingPlanner();
+        RouteCache cache = new RouteCache(planner, 64);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for(int i = 0; i < 8; i++)
+        {
+            Thread thread = new Thread(() -> {
+                for(int n = 0; n < 1000; n++)
+                {
+                    int end = n % 10;
+                    Route route = cache.plan(0, 0, end, 19 - end);
+                    if(!route.equals(new LShapedRoutePlanner().plan(0, 0, end, 19 - end)))
+                    {
+                        synchronized (failures)
+                        {
+                            failures.add(new AssertionError("Wrong route " + route));
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(10, cache.size());
+        assertEquals(8000, cache.getHits() + cache.getMisses());
+        assertEquals(planner.calls.get(), cache.getMisses());
+    }
+
+    /**
+     * An L-shaped planner that counts how many routes it has planned.
+     */
+    private static class CountingPlanner implements RoutePlanner
+    {
+        private final RoutePlanner planner = new LShapedRoutePlanner();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Route plan(int startX, int startY, int endX, int endY)
+        {
+            calls.incrementAndGet();
+            return planner.plan(startX, startY, endX, endY);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package net.etf.project.statistics;
+
+import net.etf.project.financial.Receipt;
+import net.etf.project.financial.ReceiptFixtures;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link ReportAccumulator} gives the same totals when the receipts are collected in parallel
+ * and merged as when they are added one by one.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class ReportAccumulatorTest
+{
+    private static final String[] VEHICLES = { "A1", "A2", "B1", "B3", "T1", "T7" };
+
+    private static final List<Receipt> RECEIPTS = new ArrayList<>();
+
+    @BeforeAll
+    static void createReceipts()
+    {
+        ReceiptFixtures.configure();
+        Random random = new Random(25);
+        // More receipts than the parallel threshold, so collect() takes the parallel path
+        for(int i = 0; i < 40_000; i++)
+        {
+            boolean narrow = random.nextBoolean();
+            int[] start = narrow ? new int[]{ 6, 6 } : new int[]{ 0, random.nextInt(20) };
+            int[] end = narrow ? new int[]{ 5 + random.nextInt(10), 5 + random.nextInt(10) } : new int[]{ 19, random.nextInt(20) };
+            RECEIPTS.add(new Receipt(ReceiptFixtures.rental(1 + i / 1440 % 28, i % 1440, "K" + i % 300,
+                    VEHICLES[random.nextInt(VEHICLES.length)], start, end, 1 + random.nextInt(30) + random.nextInt(4) * 0.25,
+                    random.nextInt(8) == 0, random.nextInt(3) == 0)));
+        }
+    }
+
+    @Test
+    void parallelCollectMatchesASequentialFold()
+    {
+        ReportAccumulator sequential = new ReportAccumulator();
+        for(Receipt receipt : RECEIPTS)
+        {
+            sequential.add(receipt);
+        }
+
+        ReportAccumulator parallel = ReportAccumulator.collect(RECEIPTS);
+
+        assertSameTotals(sequential, parallel);
+        assertEquals(RECEIPTS.size(), parallel.getCount());
+        assertEquals(RECEIPTS.stream().mapToLong(Receipt::getTotalPrice).sum(), parallel.getIncome());
+        assertEquals(RECEIPTS.stream().mapToLong(Receipt::getDiscount).sum(), parallel.getDiscounts());
+        assertEquals(RECEIPTS.stream().mapToLong(Receipt::getPromotion).sum(), parallel.getPromotions());
+        assertEquals(parallel.getIncome(), parallel.getWideAreaIncome() + parallel.getNarrowAreaIncome());
+        assertTrue(parallel.getWideAreaIncome() > 0 && parallel.getNarrowAreaIncome() > 0);
+        assertTrue(parallel.getPromotions() > 0 && parallel.getRepairCosts() > 0);
+    }
+
+    @Test
+    void mergingPartsInAnyGroupingGivesTheSameTotals()
+    {
+        ReportAccumulator whole = ReportAccumulator.collect(RECEIPTS.subList(0, 5000));
+        Random random = new Random(7);
+        for(int round = 0; round < 10; round++)
+        {
+            List<ReportAccumulator> parts = new ArrayList<>();
+            int from = 0;
+            while(from < 5000)
+            {
+                int to = Math.min(5000, from + random.nextInt(700));
+                parts.add(ReportAccumulator.collect(RECEIPTS.subList(from, to)));
+                from = to;
+            }
+            // Merge from the right, the opposite of the order in which the parts were collected
+            ReportAccumulator merged = new ReportAccumulator();
+            for(int i = parts.size() - 1; i >= 0; i--)
+            {
+                parts.get(i).merge(merged);
+                merged = parts.get(i);
+            }
+            assertSameTotals(whole, merged);
+        }
+    }
+
+    @Test
+    void mergingAnEmptyAccumulatorChangesNothing()
+    {
+        ReportAccumulator accumulator = ReportAccumulator.collect(RECEIPTS.subList(0, 100));
+        ReportAccumulator expected = ReportAccumulator.collect(RECEIPTS.subList(0, 100));
+
+        accumulator.merge(new ReportAccumulator());
+
+        assertSameTotals(expected, accumulator);
+        assertEquals(0, ReportAccumulator.collect(List.of()).getCount());
+    }
+
+    private static void assertSameTotals(ReportAccumulator expected, ReportAccumulator actual)
+    {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getIncome(), actual.getIncome());
+        assertEquals(expected.getDiscounts(), actual.getDiscounts());
+        assertEquals(expected.getPromotions(), actual.getPromotions());
+        assertEquals(expected.getWideAreaIncome(), actual.getWideAreaIncome());
+        assertEquals(expected.getNarrowAreaIncome(), actual.getNarrowAreaIncome());
+        assertEquals(expected.getRepairCosts(), actual.getRepairCosts());
+    }
+}
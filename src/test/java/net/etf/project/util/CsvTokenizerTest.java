@@ -0,0 +1,95 @@
+package net.etf.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CsvTokenizer}.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class CsvTokenizerTest
+{
+    @Test
+    void splitsOnCommasOutsideQuotesAndDropsTheQuotes()
+    {
+        CsvTokenizer fields = new CsvTokenizer().reset("1.6.2024 09:00,K1,T1,\"0,0\",\"7,8\",5,ne,da");
+
+        assertEquals(8, fields.fieldCount());
+        assertEquals("1.6.2024 09:00", fields.field(0));
+        assertEquals("0,0", fields.field(3));
+        assertEquals("7,8", fields.field(4));
+        assertEquals("da", fields.field(7));
+        assertEquals(fields.start(3) + 1, fields.indexOf(3, ','));
+    }
+
+    @Test
+    void keepsEmptyFieldsIncludingTheLastOne()
+    {
+        CsvTokenizer fields = new CsvTokenizer().reset("B1,B,,  ,");
+
+        assertEquals(5, fields.fieldCount());
+        assertTrue(fields.isEmpty(2));
+        assertFalse(fields.isEmpty(3));
+        assertTrue(fields.isBlank(3));
+        assertTrue(fields.isEmpty(4));
+        assertEquals("", fields.field(4));
+    }
+
+    @Test
+    void reuseReplacesTheFieldsOfThePreviousLine()
+    {
+        CsvTokenizer fields = new CsvTokenizer();
+        fields.reset("a,b,c,d,e,f,g,h,i,j,k,l,m,n,o,p,q,r,s,t");
+        assertEquals(20, fields.fieldCount());
+        assertEquals("t", fields.field(19));
+
+        fields.reset("x,y");
+        assertEquals(2, fields.fieldCount());
+        assertEquals("y", fields.field(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> fields.field(2));
+    }
+
+    @Test
+    void comparesFieldsIgnoringCase()
+    {
+        CsvTokenizer fields = new CsvTokenizer().reset("DA,ne,nee");
+
+        assertTrue(fields.equalsIgnoreCase(0, "da"));
+        assertTrue(fields.equalsIgnoreCase(1, "NE"));
+        assertFalse(fields.equalsIgnoreCase(2, "ne"));
+    }
+
+    @Test
+    void parsesIntegersLikeIntegerParseInt()
+    {
+        CsvTokenizer fields = new CsvTokenizer().reset("42,-7,+3,2147483647,-2147483648,2147483648,1x,-,");
+
+        assertEquals(42, fields.parseInt(0));
+        assertEquals(-7, fields.parseInt(1));
+        assertEquals(3, fields.parseInt(2));
+        assertEquals(Integer.MAX_VALUE, fields.parseInt(3));
+        assertEquals(Integer.MIN_VALUE, fields.parseInt(4));
+        for(int index = 5; index < fields.fieldCount(); index++)
+        {
+            int field = index;
+            assertThrows(NumberFormatException.class, () -> fields.parseInt(field));
+        }
+    }
+
+    @Test
+    void parsesDoublesLikeDoubleParseDouble()
+    {
+        String[] values = {"0", "50000", "123456789012345", "1234567890123456789", "3.5", "-2", "1e3"};
+        CsvTokenizer fields = new CsvTokenizer().reset(String.join(",", values) + ",abc,");
+
+        for(int i = 0; i < values.length; i++)
+        {
+            assertEquals(Double.parseDouble(values[i]), fields.parseDouble(i), values[i]);
+        }
+        assertThrows(NumberFormatException.class, () -> fields.parseDouble(values.length));
+        assertThrows(NumberFormatException.class, () -> fields.parseDouble(values.length + 1));
+    }
+}
@@ -0,0 +1,152 @@
+package net.etf.project.util;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.vehicles.Vehicle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * The RentalLoaderBenchmark class measures how the loading time of the rental file grows with the number of lines.
+ * It writes rental files of growing size, with a few duplicate lines, and loads each of them with the sequential
+ * loader, the sequential loader with a parallel sort and the parallel loader. For a near-linear loader the time
+ * per line stays about the same when the file doubles.
+ * <p>
+ * It is a standalone harness, not a unit test, and is run from the project folder with the test classpath:
+ * {@code java -cp target/classes:target/test-classes:<dependencies> net.etf.project.util.RentalLoaderBenchmark [lines...]}
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+public class RentalLoaderBenchmark
+{
+    /**
+     * The numbers of lines that are loaded when no sizes are given.
+     */
+    private static final int[] DEFAULT_SIZES = {25_000, 50_000, 100_000, 200_000, 400_000};
+
+    /**
+     * Every line with this index modulo is written a second time, so duplicate detection is part of the work.
+     */
+    private static final int DUPLICATE_EVERY = 100;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the numbers of lines to load, optional
+     * @throws IOException if a rental file cannot be written
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int[] sizes = DEFAULT_SIZES;
+        if(args.length > 0)
+        {
+            sizes = new int[args.length];
+            for(int i = 0; i < args.length; i++)
+            {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        MainApplication.VEHICLE_DATA_PATH = "data/PJ2 - projektni zadatak 2024 - Prevozna sredstva.csv";
+        VehicleLoader.loadVehicles();
+        List<Vehicle> vehicles = MainApplication.vehicleRegistry.getVehicles();
+        if(vehicles.isEmpty())
+        {
+            System.out.println("No vehicles loaded from " + MainApplication.VEHICLE_DATA_PATH + ", run from the project folder.");
+            return;
+        }
+
+        // Warm up the loaders before measuring
+        run(sizes[0], vehicles, false);
+        for(int size : sizes)
+        {
+            run(size, vehicles, true);
+        }
+    }
+
+    /**
+     * Writes a rental file with the given number of lines and loads it in every mode.
+     *
+     * @param lines the number of unique lines
+     * @param vehicles the vehicles the rentals use
+     * @param print {@code true} if the times should be printed
+     * @throws IOException if the rental file cannot be written
+     */
+    private static void run(int lines, List<Vehicle> vehicles, boolean print) throws IOException
+    {
+        Path file = Files.createTempFile("rentals", ".csv");
+        try {
+            writeRentals(file, lines, vehicles);
+            MainApplication.RENTAL_DATA_PATH = file.toString();
+
+            long sequential = measure(() -> RentalLoader.loadRentals(false));
+            long parallelSort = measure(() -> RentalLoader.loadRentals(true));
+            long parallel = measure(RentalLoader::loadRentalsParallel);
+            if(print)
+            {
+                System.err.printf("%9d lines: sequential %6d ms (%5d ns/line), parallel sort %6d ms (%5d ns/line), parallel %6d ms (%5d ns/line)%n",
+                        lines, sequential / 1_000_000, sequential / lines, parallelSort / 1_000_000, parallelSort / lines,
+                        parallel / 1_000_000, parallel / lines);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Loads the rental file once into an empty list of rentals and returns the time it took.
+     *
+     * @param loader the load to measure
+     * @return the time in nanoseconds
+     */
+    private static long measure(Runnable loader)
+    {
+        MainApplication.rentals.clear();
+        long start = System.nanoTime();
+        loader.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Writes a rental file. Every line has its own minute, so the lines are unique except for the duplicates
+     * that are written on purpose, and the lines are shuffled in blocks so the final sort has work to do.
+     *
+     * @param file the file to write
+     * @param lines the number of unique lines
+     * @param vehicles the vehicles the rentals use
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeRentals(Path file, int lines, List<Vehicle> vehicles) throws IOException
+    {
+        Calendar calendar = Calendar.getInstance();
+        try(BufferedWriter writer = Files.newBufferedWriter(file))
+        {
+            writer.write("Datum,Korisnik,ID prevoznog sredstva,Pocetna lokacija,Odrediste,Trajanje,Kvar,Promocija");
+            writer.newLine();
+            for(int i = 0; i < lines; i++)
+            {
+                // Reverse the order inside blocks of 1000 lines
+                int minute = (i / 1000) * 1000 + (999 - i % 1000);
+                calendar.clear();
+                calendar.set(2024, Calendar.JUNE, 1, 0, 0);
+                calendar.add(Calendar.MINUTE, minute);
+                String line = calendar.get(Calendar.DAY_OF_MONTH) + "." + (calendar.get(Calendar.MONTH) + 1) + "."
+                        + calendar.get(Calendar.YEAR) + " " + calendar.get(Calendar.HOUR_OF_DAY) + ":"
+                        + String.format("%02d", calendar.get(Calendar.MINUTE)) + ",K" + (i % 500) + ","
+                        + vehicles.get(i % vehicles.size()).getVehicleID() + ",\"1,2\",\"8,9\",10,ne," + (i % 7 == 0 ? "da" : "ne");
+                writer.write(line);
+                writer.newLine();
+                if(i % DUPLICATE_EVERY == 0)
+                {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+}
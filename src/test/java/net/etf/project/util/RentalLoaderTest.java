@@ -0,0 +1,132 @@
+package net.etf.project.util;
+
+import net.etf.project.gui.MainApplication;
+import net.etf.project.model.rental.Rental;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the sequential and the parallel {@link RentalLoader} read the same rentals from the same file.
+ *
+ * @author Jovana Šikanjić
+ * @version 1.0
+ */
+class RentalLoaderTest
+{
+    private static final String HEADER = "Datum,Korisnik,ID prevoznog sredstva,Pocetna lokacija,Odrediste,Trajanje,Kvar,Promocija";
+
+    private Path file;
+
+    @BeforeAll
+    static void loadVehicles()
+    {
+        MainApplication.MAP_WIDTH = 20;
+        MainApplication.MAP_HEIGHT = 20;
+        if(!MainApplication.vehicleRegistry.contains("A1"))
+        {
+            MainApplication.VEHICLE_DATA_PATH = "data/PJ2 - projektni zadatak 2024 - Prevozna sredstva.csv";
+            VehicleLoader.loadVehicles();
+        }
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException
+    {
+        MainApplication.rentals.clear();
+        if(file != null)
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void bothModesEndLinesAtLineFeedCarriageReturnOrBoth() throws IOException
+    {
+        List<Rental> rentals = loadBothWays(bytes(HEADER + "\r\n"
+                + "1.6.2024 09:00,K1,A1,\"0,0\",\"7,8\",5,ne,da\n"
+                + "1.6.2024 10:00,K2,B1,\"1,1\",\"3,4\",6,ne,ne\r"
+                + "1.6.2024 11:00,K3,T1,\"2,2\",\"5,5\",7,ne,ne\r\n"
+                + "\r"
+                + "1.6.2024 12:00,K4,A2,\"3,3\",\"6,6\",8,ne,da"));
+
+        assertEquals(4, rentals.size());
+        assertEquals("T1", rentals.get(2).getRentalVehicleId());
+        assertEquals("A2", rentals.get(3).getRentalVehicleId());
+    }
+
+    @Test
+    void bothModesSkipOnlyTheLinesThatAreNotValidUtf8() throws IOException
+    {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.writeBytes(bytes(HEADER + "\n"
+                + "1.6.2024 09:00,K1,A1,\"0,0\",\"7,8\",5,ne,da\n"
+                + "1.6.2024 10:00,K"));
+        content.write(0xC3);
+        content.writeBytes(bytes(",B1,\"1,1\",\"3,4\",6,ne,ne\n"
+                + "1.6.2024 11:00,K3,T1,\"2,2\",\"5,5\",7,ne,ne\n"));
+
+        List<Rental> rentals = loadBothWays(content.toByteArray());
+
+        assertEquals(2, rentals.size());
+        assertEquals("A1", rentals.get(0).getRentalVehicleId());
+        assertEquals("T1", rentals.get(1).getRentalVehicleId());
+    }
+
+    @Test
+    void bothModesReadValidUtf8Names() throws IOException
+    {
+        List<Rental> rentals = loadBothWays(bytes(HEADER + "\n"
+                + "1.6.2024 09:00,Šikanjić,A1,\"0,0\",\"7,8\",5,ne,da\n"));
+
+        assertEquals(1, rentals.size());
+        assertEquals("Šikanjić", rentals.get(0).getUserName());
+    }
+
+    /**
+     * Loads the file sequentially and in parallel, checks that both loads give the same rentals and returns them.
+     */
+    private List<Rental> loadBothWays(byte[] content) throws IOException
+    {
+        file = Files.createTempFile("rentals", ".csv");
+        Files.write(file, content);
+        MainApplication.RENTAL_DATA_PATH = file.toString();
+
+        MainApplication.rentals.clear();
+        RentalLoader.loadRentals();
+        List<Rental> sequential = new ArrayList<>(MainApplication.rentals);
+
+        MainApplication.rentals.clear();
+        RentalLoader.loadRentalsParallel();
+        List<Rental> parallel = new ArrayList<>(MainApplication.rentals);
+
+        assertEquals(sequential.size(), parallel.size());
+        for(int i = 0; i < sequential.size(); i++)
+        {
+            Rental expected = sequential.get(i);
+            Rental actual = parallel.get(i);
+            assertEquals(expected, actual);
+            assertEquals(expected.getUserName(), actual.getUserName());
+            assertEquals(expected.getRentalDuration(), actual.getRentalDuration());
+            assertEquals(expected.getStartLocation().getX(), actual.getStartLocation().getX());
+            assertEquals(expected.getEndLocation().getY(), actual.getEndLocation().getY());
+            assertEquals(expected.isHasPromotion(), actual.isHasPromotion());
+        }
+        return sequential;
+    }
+
+    private static byte[] bytes(String text)
+    {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}